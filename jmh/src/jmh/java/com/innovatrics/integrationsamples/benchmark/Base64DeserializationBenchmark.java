@@ -0,0 +1,53 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
+import com.innovatrics.integrationsamples.client.DisJson;
+import com.innovatrics.integrationsamples.testhelper.DataTypeDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of image crops, comparing the tree based {@link DataTypeDeserializer} with the streaming
+ * Base64 type adapter used by the API clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Base64DeserializationBenchmark {
+
+    @Param({"1048576", "5242880"})
+    int imageSize;
+
+    private Gson dataTypeDeserializerGson;
+    private Gson streamingGson;
+    private String imageCropJson;
+
+    @Setup
+    public void setup() {
+        dataTypeDeserializerGson = new GsonBuilder().registerTypeAdapter(byte[].class, new DataTypeDeserializer()).create();
+        streamingGson = DisJson.getGson(false);
+        imageCropJson = "{\"data\":\"" + Base64.getEncoder().encodeToString(BenchmarkImages.jpeg(imageSize)) + "\"}";
+    }
+
+    @Benchmark
+    public ImageCrop dataTypeDeserializer() {
+        return dataTypeDeserializerGson.fromJson(new StringReader(imageCropJson), ImageCrop.class);
+    }
+
+    @Benchmark
+    public ImageCrop streamingTypeAdapter() {
+        return streamingGson.fromJson(new StringReader(imageCropJson), ImageCrop.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Creates JPEG images for the benchmarks. Images are filled with noise, so they do not compress well and their
+ * size is close to photos of a document or a face taken by a phone camera.
+ */
+final class BenchmarkImages {
+
+    private BenchmarkImages() {
+    }
+
+    /**
+     * Creates a JPEG image of roughly the given size.
+     *
+     * @param sizeBytes the requested size of the encoded image in bytes
+     * @return the encoded JPEG image
+     */
+    static byte[] jpeg(final int sizeBytes) {
+        // noise compresses to about 1.5 bytes per pixel
+        final int pixels = (int) (sizeBytes / 1.5);
+        final int width = (int) Math.sqrt(pixels * 4.0 / 3.0);
+        final int height = pixels / width;
+        return jpeg(width, height, sizeBytes);
+    }
+
+    /**
+     * Creates a JPEG image of the given dimensions, e.g. of a phone camera with 4000x3000 pixels.
+     *
+     * @param width  the width of the image in pixels
+     * @param height the height of the image in pixels
+     * @return the encoded JPEG image
+     */
+    static byte[] jpeg(final int width, final int height) {
+        return jpeg(width, height, (int) (width * height * 1.5));
+    }
+
+    private static byte[] jpeg(final int width, final int height, final int sizeBytes) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(sizeBytes)) {
+            ImageIO.write(image, "jpeg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.dot.integrationsamples.disapi.JSON;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentMetadataResponse;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataIndex.DocumentSummary;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataReader;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataReader.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a synthetic {@code /api/v1/metadata} catalogue into the generated model ({@code model}), as done by
+ * {@code MetadataApi.metadata()}, and by the streaming {@link DocumentMetadataReader}, either into summaries of all
+ * documents ({@code streaming}) or with the documents of one country with MRZ pushed down as a filter
+ * ({@code streamingFiltered}). Run with the {@code gc} profiler to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocumentMetadataReaderBenchmark {
+    private static final String[] COUNTRIES = {"AUT", "BEL", "CZE", "DEU", "ESP", "FRA", "HUN", "ITA", "POL", "SVK"};
+    private static final String[] TYPES = {"identity-card", "passport", "drivers-licence", "residence-permit"};
+    private static final int FIELDS_PER_PAGE = 24;
+
+    @Param({"1000", "10000"})
+    int documents;
+
+    private String catalogue;
+
+    @Setup
+    public void setup() {
+        final StringBuilder json = new StringBuilder("{\"documents\":[");
+        for (int i = 0; i < documents; i++) {
+            final String type = TYPES[i % TYPES.length];
+            json.append(i > 0 ? "," : "")
+                    .append("{\"documentType\":{\"country\":\"").append(COUNTRIES[i % COUNTRIES.length])
+                    .append("\",\"edition\":\"").append(2000 + i / COUNTRIES.length)
+                    .append("\",\"type\":\"").append(type)
+                    .append("\",\"machineReadableTravelDocument\":\"").append(type.equals("passport") ? "TD3" : "TD1")
+                    .append("\"},\"pages\":{");
+            appendPage(json, "front", false);
+            json.append(',');
+            appendPage(json, "back", !type.equals("drivers-licence"));
+            json.append("}}");
+        }
+        catalogue = json.append("]}").toString();
+    }
+
+    @Benchmark
+    public DocumentMetadataResponse model() {
+        return JSON.deserialize(catalogue, DocumentMetadataResponse.class);
+    }
+
+    @Benchmark
+    public List<DocumentSummary> streaming() throws IOException {
+        final List<DocumentSummary> summaries = new ArrayList<>();
+        DocumentMetadataReader.read(new StringReader(catalogue), Filter.ALL, summaries::add);
+        return summaries;
+    }
+
+    @Benchmark
+    public List<DocumentSummary> streamingFiltered() throws IOException {
+        final List<DocumentSummary> summaries = new ArrayList<>();
+        DocumentMetadataReader.read(new StringReader(catalogue), Filter.ALL.withCountry("CZE").withMrz(), summaries::add);
+        return summaries;
+    }
+
+    private static void appendPage(final StringBuilder json, final String page, final boolean mrz) {
+        json.append('"').append(page).append("\":{\"classificationAdviceRequired\":false,\"portrait\":{\"present\":")
+                .append(page.equals("front")).append("},\"visualZone\":{");
+        for (int field = 0; field < FIELDS_PER_PAGE; field++) {
+            json.append(field > 0 ? "," : "").append("\"field").append(field)
+                    .append("\":{\"label\":\"Field ").append(field).append("\",\"valueNormalized\":").append(field % 2 == 0).append('}');
+        }
+        if (mrz) {
+            json.append(",\"machineReadableZone\":{\"label\":\"MRZ\",\"valueNormalized\":false}");
+        }
+        json.append("}}");
+    }
+}
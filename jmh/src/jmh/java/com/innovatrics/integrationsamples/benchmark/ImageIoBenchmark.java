@@ -0,0 +1,115 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
+import com.innovatrics.integrationsamples.testhelper.ImageWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading of sample images and saving of image crops as done by {@link BaseApiTest}. Saving a JPEG crop as it is
+ * ({@code saveImage}) is compared with decoding it and re-encoding it as PNG ({@code saveImageConverted}), as the
+ * samples did before the {@link ImageWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImageIoBenchmark {
+    private static final String DOCUMENT_IMAGE = "images/documents/L2/document-front.jpeg";
+
+    @Param({"1048576", "5242880"})
+    int imageSize;
+
+    private ImageIoApiTest apiTest;
+    private ImageWriter convertingWriter;
+    private byte[] image;
+    private Path outputDirectory;
+
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        apiTest = new ImageIoApiTest(new Configuration());
+        convertingWriter = new ImageWriter(1, 1, true);
+        image = BenchmarkImages.jpeg(imageSize);
+        outputDirectory = Files.createTempDirectory("image-io-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        convertingWriter.shutdown();
+        try (Stream<Path> paths = Files.walk(outputDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Reads the classpath resource on every call, as the samples did before the image cache.
+     */
+    @Benchmark
+    public byte[] readClasspathResource() throws IOException {
+        try (InputStream is = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(DOCUMENT_IMAGE))) {
+            return is.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public byte[] loadImageFromLocation() throws IOException {
+        return apiTest.loadImage(DOCUMENT_IMAGE);
+    }
+
+    /**
+     * Waits for the write queued to the image writer, so the time to write the image is measured.
+     */
+    @Benchmark
+    public Path saveImage() throws IOException {
+        return apiTest.saveImage(image, outputDirectory.toString(), "crop.jpg").join();
+    }
+
+    /**
+     * Baseline of {@link #saveImage()}: the JPEG crop is decoded and re-encoded as PNG before it is written.
+     */
+    @Benchmark
+    public Path saveImageConverted() throws IOException {
+        return convertingWriter.write(image, outputDirectory.resolve("crop.png")).join();
+    }
+
+    /**
+     * Exposes the image helpers of {@link BaseApiTest} to the benchmark.
+     */
+    static class ImageIoApiTest extends BaseApiTest<FaceOperationsApi> {
+
+        ImageIoApiTest(final Configuration configuration) throws ReflectiveOperationException {
+            super(configuration);
+        }
+
+        byte[] loadImage(final String location) throws IOException {
+            return loadImageFromLocation(location);
+        }
+
+        @Override
+        protected CompletableFuture<Path> saveImage(final byte[] image, final String outputFolder, final String fileName) throws IOException {
+            return super.saveImage(image, outputFolder, fileName);
+        }
+
+        @Override
+        protected void doTest() {
+        }
+    }
+}
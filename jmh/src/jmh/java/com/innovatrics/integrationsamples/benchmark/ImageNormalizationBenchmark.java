@@ -0,0 +1,65 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.integrationsamples.testhelper.ImageNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalization of phone photos before upload by {@link ImageNormalizer}. The image is copied on every call, as the
+ * normalizer remembers the normalized image for the source array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageNormalizationBenchmark {
+    private static final int MAX_EDGE = 1600;
+    private static final int PARALLEL_IMAGES = 4;
+
+    @Param({"3", "12"})
+    int megapixels;
+
+    private ImageNormalizer normalizer;
+    private byte[] image;
+
+    @Setup
+    public void setup() {
+        normalizer = new ImageNormalizer(0, 0.9f);
+        final int height = (int) Math.sqrt(megapixels * 1_000_000 * 3.0 / 4.0);
+        image = BenchmarkImages.jpeg(height * 4 / 3, height);
+    }
+
+    @Benchmark
+    public byte[] normalize() {
+        return normalizer.normalize(image.clone(), MAX_EDGE);
+    }
+
+    /**
+     * Normalizes the selfie and document pages of one onboarding at once on the normalizer threads.
+     */
+    @Benchmark
+    public Object normalizeParallel() {
+        final CompletableFuture<?>[] normalized = new CompletableFuture<?>[PARALLEL_IMAGES];
+        for (int i = 0; i < PARALLEL_IMAGES; i++) {
+            normalized[i] = normalizer.normalizeAsync(image.clone(), MAX_EDGE);
+        }
+        return CompletableFuture.allOf(normalized).join();
+    }
+
+    /**
+     * Reads the dimensions of an image that is already small enough, which is the cost paid by every upload when
+     * normalization is enabled.
+     */
+    @Benchmark
+    public byte[] skipSmallImage() {
+        return normalizer.normalize(image.clone(), Integer.MAX_VALUE);
+    }
+}
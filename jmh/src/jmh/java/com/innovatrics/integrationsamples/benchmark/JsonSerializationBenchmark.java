@@ -0,0 +1,55 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.google.gson.Gson;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.client.DisJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of request bodies carrying images, as done by the API clients for every upload in the JSON
+ * image transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"1048576", "5242880"})
+    int imageSize;
+
+    @Param({"false", "true"})
+    boolean prettyPrint;
+
+    private Gson gson;
+    private CreateDocumentPageRequest documentPageRequest;
+    private CreateSelfieRequest selfieRequest;
+
+    @Setup
+    public void setup() {
+        gson = DisJson.getGson(prettyPrint);
+        final byte[] image = BenchmarkImages.jpeg(imageSize);
+        documentPageRequest = new CreateDocumentPageRequest().image(new Image().data(image));
+        selfieRequest = new CreateSelfieRequest().image(new Image().data(image));
+    }
+
+    @Benchmark
+    public String createDocumentPageRequest() {
+        return gson.toJson(documentPageRequest);
+    }
+
+    @Benchmark
+    public String createSelfieRequest() {
+        return gson.toJson(selfieRequest);
+    }
+}
@@ -0,0 +1,113 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessRecordResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.standin.DisStandInServer;
+import com.innovatrics.integrationsamples.standin.OpenApiSpec;
+import com.innovatrics.integrationsamples.standin.OperationBehavior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload of a liveness record to an in-process {@link DisStandInServer} from the sources a record may come from. A
+ * record received as a stream is spilled to a temporary file for the generated API ({@code tempFile}), read to the
+ * heap ({@code heap}) or streamed as it is read ({@code stream}). A record stored in a file is memory-mapped
+ * ({@code mapped}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LivenessRecordUploadBenchmark {
+
+    @Param({"4194304", "16777216"})
+    int recordSize;
+
+    private DisStandInServer server;
+    private CustomerOnboardingApi customerOnboardingApi;
+    private BinaryUploadApi binaryUploadApi;
+    private String customerId;
+    private byte[] record;
+    private Path recordFile;
+    private Path tempFile;
+
+    @Setup
+    public void setup() throws IOException, ApiException {
+        server = new DisStandInServer(OpenApiSpec.load(), "127.0.0.1", 0, new OperationBehavior(0, 0, 0), Map.of(), 500, null);
+        final ApiClient apiClient = DisHttpClientProvider.getInstance(new Configuration()).newApiClient();
+        apiClient.setBasePath(server.getUrl());
+        customerOnboardingApi = new CustomerOnboardingApi(apiClient);
+        binaryUploadApi = new BinaryUploadApi(apiClient);
+        customerId = customerOnboardingApi.createCustomer().getId();
+
+        record = new byte[recordSize];
+        new Random(42).nextBytes(record);
+        recordFile = Files.createTempFile("liveness-record", ".bin");
+        Files.write(recordFile, record);
+        tempFile = Files.createTempFile("liveness-record-spill", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop();
+        Files.deleteIfExists(recordFile);
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Benchmark
+    public CreateCustomerLivenessRecordResponse tempFile() throws ApiException, IOException {
+        try (InputStream stream = receive()) {
+            Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return customerOnboardingApi.createLivenessRecord(customerId, tempFile.toFile());
+    }
+
+    @Benchmark
+    public CreateCustomerLivenessRecordResponse heap() throws ApiException, IOException {
+        try (InputStream stream = receive()) {
+            return binaryUploadApi.createLivenessRecord(customerId, ByteBuffer.wrap(stream.readAllBytes()));
+        }
+    }
+
+    @Benchmark
+    public CreateCustomerLivenessRecordResponse stream() throws ApiException, IOException {
+        try (InputStream stream = receive()) {
+            return binaryUploadApi.createLivenessRecord(customerId, stream, recordSize);
+        }
+    }
+
+    @Benchmark
+    public CreateCustomerLivenessRecordResponse mapped() throws ApiException, IOException {
+        return binaryUploadApi.createLivenessRecord(customerId, recordFile);
+    }
+
+    /**
+     * The record as received from a capture service. The stream is backed by the heap, so that no benchmark pays for
+     * the transfer of the record to the client.
+     */
+    private InputStream receive() {
+        return new ByteArrayInputStream(record);
+    }
+}
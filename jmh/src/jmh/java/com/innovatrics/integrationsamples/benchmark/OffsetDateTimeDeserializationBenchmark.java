@@ -0,0 +1,37 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.google.gson.Gson;
+import com.innovatrics.dot.integrationsamples.disapi.model.BuildInfo;
+import com.innovatrics.integrationsamples.client.DisJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a response containing a timestamp handled by the OffsetDateTimeDeserializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OffsetDateTimeDeserializationBenchmark {
+    private static final String BUILD_INFO_JSON =
+            "{\"artifact\":\"dot-identity-service\",\"name\":\"dot-identity-service\",\"time\":\"2024-05-14T09:21:37.512Z\",\"version\":\"1.0.0\",\"group\":\"com.innovatrics.dot\"}";
+
+    private Gson gson;
+
+    @Setup
+    public void setup() {
+        gson = DisJson.getGson(false);
+    }
+
+    @Benchmark
+    public BuildInfo buildInfo() {
+        return gson.fromJson(BUILD_INFO_JSON, BuildInfo.class);
+    }
+}
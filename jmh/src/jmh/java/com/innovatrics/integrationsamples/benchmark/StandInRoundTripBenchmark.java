@@ -0,0 +1,73 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.GetCustomerResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.standin.DisStandInServer;
+import com.innovatrics.integrationsamples.standin.OpenApiSpec;
+import com.innovatrics.integrationsamples.standin.OperationBehavior;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of a request round trip through the shared HTTP client and the generated API, measured against an
+ * in-process {@link DisStandInServer} without injected latency, so that the benchmark runs without a deployed DIS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StandInRoundTripBenchmark {
+    private static final int IMAGE_SIZE = 1024 * 1024;
+
+    private DisStandInServer server;
+    private CustomerOnboardingApi customerOnboardingApi;
+    private FaceOperationsApi faceOperationsApi;
+    private String customerId;
+    private CreateFaceRequest createFaceRequest;
+
+    @Setup
+    public void setup() throws IOException, ApiException {
+        server = new DisStandInServer(OpenApiSpec.load(), "127.0.0.1", 0, new OperationBehavior(0, 0, 0), Map.of(), 500, null);
+        final ApiClient apiClient = DisHttpClientProvider.getInstance(new Configuration()).newApiClient();
+        apiClient.setBasePath(server.getUrl());
+        customerOnboardingApi = new CustomerOnboardingApi(apiClient);
+        faceOperationsApi = new FaceOperationsApi(apiClient);
+        customerId = customerOnboardingApi.createCustomer().getId();
+        createFaceRequest = new CreateFaceRequest().image(new Image().data(BenchmarkImages.jpeg(IMAGE_SIZE)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public GetCustomerResponse getCustomer() throws ApiException {
+        return customerOnboardingApi.getCustomer(customerId);
+    }
+
+    /**
+     * Uploads a 1 MB image in a JSON body, which adds the Base64 encoding and serialization to the round trip.
+     */
+    @Benchmark
+    public CreateFaceResponse detectFace() throws ApiException {
+        return faceOperationsApi.detectFace(createFaceRequest);
+    }
+}
@@ -1,7 +1,7 @@
 package com.innovatrics.integrationsamples;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -14,6 +14,9 @@ public class Configuration {
     public final String DOT_AUTH0_CLIENT_SECRET;
     public final String DOT_AUTH0_TOKEN_ENDPOINT;
     public final String DOT_AUTH0_AUDIENCE;
+    public final Boolean DOT_AUTH0_ENABLED;
+    public final Integer DOT_AUTH0_TOKEN_EXPIRY_SKEW_SECONDS;
+    public final Integer DOT_AUTH0_TOKEN_REFRESH_AHEAD_SECONDS;
     public final String LIVENESS_RECORDS_MAGNIFEYE_LIVENESS_BINARY_FILE;
     public final String SIMILARITY_PROBE_IMAGE_URL;
     public final String SIMILARITY_REFERENCE_IMAGE_URL;
@@ -29,6 +32,69 @@ public class Configuration {
     public final Double QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_LOW;
     public final Double QUALITY_GLASS_CONDITIONS_YAW_ANGLE_HIGH;
     public final Double QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_HIGH;
+    public final Integer HTTP_CLIENT_MAX_IDLE_CONNECTIONS;
+    public final Integer HTTP_CLIENT_KEEP_ALIVE_SECONDS;
+    public final Integer HTTP_CLIENT_MAX_REQUESTS;
+    public final Integer HTTP_CLIENT_MAX_REQUESTS_PER_HOST;
+    public final String HTTP_CLIENT_PROTOCOL;
+    public final Boolean CUSTOMER_ONBOARDING_PARALLEL_BRANCHES;
+    public final String IMAGE_TRANSPORT;
+    public final Boolean JSON_PRETTY_PRINT;
+    public final Long IMAGE_CACHE_MAX_BYTES;
+    public final Boolean IMAGE_CACHE_REVALIDATE_REMOTE;
+    public final Integer CUSTOMER_ONBOARDING_ASYNC_CONCURRENT_ONBOARDINGS;
+    public final String LOAD_DRIVER_FLOW;
+    public final String LOAD_DRIVER_MODE;
+    public final Integer LOAD_DRIVER_VIRTUAL_USERS;
+    public final Double LOAD_DRIVER_ARRIVAL_RATE;
+    public final Integer LOAD_DRIVER_MAX_IN_FLIGHT;
+    public final Integer LOAD_DRIVER_WARMUP_SECONDS;
+    public final Integer LOAD_DRIVER_DURATION_SECONDS;
+    public final String LOAD_DRIVER_SAMPLE_LOG_LEVEL;
+    public final Boolean METRICS_JMX_ENABLED;
+    public final Integer METRICS_PROMETHEUS_PORT;
+    public final String METRICS_PROMETHEUS_ADDRESS;
+    public final String BATCH_ONBOARDING_MANIFEST;
+    public final String BATCH_ONBOARDING_RESULTS;
+    public final Integer BATCH_ONBOARDING_CONCURRENCY;
+    public final Boolean BATCH_ONBOARDING_DELETE_CUSTOMERS;
+    public final String FACE_IDENTIFICATION_GALLERY_FILE;
+    public final String FACE_IDENTIFICATION_GALLERY_IMAGES;
+    public final Integer FACE_IDENTIFICATION_TOP_K;
+    public final Double FACE_IDENTIFICATION_STOP_THRESHOLD;
+    public final Integer FACE_IDENTIFICATION_PARALLELISM;
+    public final String FACE_TEMPLATE_CACHE_DIRECTORY;
+    public final Integer FACE_TEMPLATE_CACHE_MAX_ENTRIES;
+    public final Integer FACE_TEMPLATE_CACHE_VERSION_CHECK_SECONDS;
+    public final String CLEANUP_JOURNAL;
+    public final Integer CLEANUP_CONCURRENCY;
+    public final Integer CLEANUP_MAX_ATTEMPTS;
+    public final Long CLEANUP_RETRY_BACKOFF_MILLIS;
+    public final Integer CLEANUP_SHUTDOWN_TIMEOUT_SECONDS;
+    public final Integer IMAGE_WRITER_THREADS;
+    public final Integer IMAGE_WRITER_QUEUE_CAPACITY;
+    public final Boolean IMAGE_WRITER_CONVERT;
+    public final Boolean REQUEST_POLICY_ENABLED;
+    public final String REQUEST_POLICY_HEDGED_OPERATIONS;
+    public final Long REQUEST_POLICY_HEDGE_MIN_DELAY_MILLIS;
+    public final Integer REQUEST_POLICY_HEDGE_MAX_PERCENT;
+    public final Integer REQUEST_POLICY_MAX_RETRIES;
+    public final Long REQUEST_POLICY_RETRY_BACKOFF_MILLIS;
+    public final Boolean IMAGE_NORMALIZATION_ENABLED;
+    public final Integer IMAGE_NORMALIZATION_FACE_MAX_EDGE;
+    public final Integer IMAGE_NORMALIZATION_DOCUMENT_MAX_EDGE;
+    public final Double IMAGE_NORMALIZATION_JPEG_QUALITY;
+    public final Integer IMAGE_NORMALIZATION_THREADS;
+    public final String STAND_IN_ADDRESS;
+    public final Integer STAND_IN_PORT;
+    public final String STAND_IN_LATENCY;
+    public final String STAND_IN_OPERATION_LATENCY;
+    public final Double STAND_IN_ERROR_RATE;
+    public final String STAND_IN_OPERATION_ERROR_RATE;
+    public final Integer STAND_IN_ERROR_STATUS;
+    public final String STAND_IN_RESPONSES_DIRECTORY;
+    public final String METADATA_CACHE_DIRECTORY;
+    public final Integer METADATA_CACHE_VERSION_CHECK_SECONDS;
 
     public Configuration() throws IOException {
         this(APPLICATION_PROPERTIES);
@@ -46,6 +112,9 @@ public class Configuration {
         DOT_AUTH0_CLIENT_SECRET = appProps.getProperty("dot-auth0-client-secret");
         DOT_AUTH0_TOKEN_ENDPOINT = appProps.getProperty("dot-auth0-token-endpoint");
         DOT_AUTH0_AUDIENCE = appProps.getProperty("dot-auth0-audience");
+        DOT_AUTH0_ENABLED = Boolean.parseBoolean(appProps.getProperty("dot-auth0-enabled", "false"));
+        DOT_AUTH0_TOKEN_EXPIRY_SKEW_SECONDS = Integer.parseInt(appProps.getProperty("dot-auth0-token-expiry-skew-seconds", "30"));
+        DOT_AUTH0_TOKEN_REFRESH_AHEAD_SECONDS = Integer.parseInt(appProps.getProperty("dot-auth0-token-refresh-ahead-seconds", "300"));
         LIVENESS_RECORDS_MAGNIFEYE_LIVENESS_BINARY_FILE = appProps.getProperty("liveness-records.magnifeye-liveness.binary-file");
         EXAMPLE_IMAGE_URL = appProps.getProperty("example-image-url");
         SIMILARITY_PROBE_IMAGE_URL = appProps.getProperty("similarity.probe.example-image-url");
@@ -61,11 +130,74 @@ public class Configuration {
         QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_LOW = Double.parseDouble(appProps.getProperty("quality.glass-conditions.pitch-angle.low"));
         QUALITY_GLASS_CONDITIONS_YAW_ANGLE_HIGH = Double.parseDouble(appProps.getProperty("quality.glass-conditions.yaw-angle.high"));
         QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_HIGH = Double.parseDouble(appProps.getProperty("quality.glass-conditions.pitch-angle.high"));
+        HTTP_CLIENT_MAX_IDLE_CONNECTIONS = Integer.parseInt(appProps.getProperty("http-client.max-idle-connections", "64"));
+        HTTP_CLIENT_KEEP_ALIVE_SECONDS = Integer.parseInt(appProps.getProperty("http-client.keep-alive-seconds", "300"));
+        HTTP_CLIENT_MAX_REQUESTS = Integer.parseInt(appProps.getProperty("http-client.max-requests", "256"));
+        HTTP_CLIENT_MAX_REQUESTS_PER_HOST = Integer.parseInt(appProps.getProperty("http-client.max-requests-per-host", "128"));
+        HTTP_CLIENT_PROTOCOL = appProps.getProperty("http-client.protocol", "http1.1");
+        CUSTOMER_ONBOARDING_PARALLEL_BRANCHES = Boolean.parseBoolean(appProps.getProperty("customer-onboarding.parallel-branches", "false"));
+        IMAGE_TRANSPORT = appProps.getProperty("image-transport", "json");
+        JSON_PRETTY_PRINT = Boolean.parseBoolean(appProps.getProperty("json.pretty-print", "false"));
+        IMAGE_CACHE_MAX_BYTES = Long.parseLong(appProps.getProperty("image-cache.max-bytes", "67108864"));
+        IMAGE_CACHE_REVALIDATE_REMOTE = Boolean.parseBoolean(appProps.getProperty("image-cache.revalidate-remote", "false"));
+        CUSTOMER_ONBOARDING_ASYNC_CONCURRENT_ONBOARDINGS = Integer.parseInt(appProps.getProperty("customer-onboarding.async.concurrent-onboardings", "10"));
+        LOAD_DRIVER_FLOW = appProps.getProperty("load-driver.flow", "com.innovatrics.integrationsamples.onboarding.CustomerOnboarding");
+        LOAD_DRIVER_MODE = appProps.getProperty("load-driver.mode", "closed");
+        LOAD_DRIVER_VIRTUAL_USERS = Integer.parseInt(appProps.getProperty("load-driver.virtual-users", "10"));
+        LOAD_DRIVER_ARRIVAL_RATE = Double.parseDouble(appProps.getProperty("load-driver.arrival-rate", "5"));
+        LOAD_DRIVER_MAX_IN_FLIGHT = Integer.parseInt(appProps.getProperty("load-driver.max-in-flight", "1000"));
+        LOAD_DRIVER_WARMUP_SECONDS = Integer.parseInt(appProps.getProperty("load-driver.warmup-seconds", "10"));
+        LOAD_DRIVER_DURATION_SECONDS = Integer.parseInt(appProps.getProperty("load-driver.duration-seconds", "60"));
+        LOAD_DRIVER_SAMPLE_LOG_LEVEL = appProps.getProperty("load-driver.sample-log-level", "WARN");
+        METRICS_JMX_ENABLED = Boolean.parseBoolean(appProps.getProperty("metrics.jmx.enabled", "false"));
+        METRICS_PROMETHEUS_PORT = Integer.parseInt(appProps.getProperty("metrics.prometheus.port", "0"));
+        METRICS_PROMETHEUS_ADDRESS = appProps.getProperty("metrics.prometheus.address", "127.0.0.1");
+        BATCH_ONBOARDING_MANIFEST = appProps.getProperty("batch-onboarding.manifest", "manifest.jsonl");
+        BATCH_ONBOARDING_RESULTS = appProps.getProperty("batch-onboarding.results", "batch-onboarding-results.jsonl");
+        BATCH_ONBOARDING_CONCURRENCY = Integer.parseInt(appProps.getProperty("batch-onboarding.concurrency", "16"));
+        BATCH_ONBOARDING_DELETE_CUSTOMERS = Boolean.parseBoolean(appProps.getProperty("batch-onboarding.delete-customers", "false"));
+        FACE_IDENTIFICATION_GALLERY_FILE = appProps.getProperty("face-identification.gallery-file", "face-gallery.bin");
+        FACE_IDENTIFICATION_GALLERY_IMAGES = appProps.getProperty("face-identification.gallery-images", "");
+        FACE_IDENTIFICATION_TOP_K = Integer.parseInt(appProps.getProperty("face-identification.top-k", "5"));
+        FACE_IDENTIFICATION_STOP_THRESHOLD = Double.parseDouble(appProps.getProperty("face-identification.stop-threshold", "1.1"));
+        FACE_IDENTIFICATION_PARALLELISM = Integer.parseInt(appProps.getProperty("face-identification.parallelism", "32"));
+        FACE_TEMPLATE_CACHE_DIRECTORY = appProps.getProperty("face-template-cache.directory", "face-template-cache");
+        FACE_TEMPLATE_CACHE_MAX_ENTRIES = Integer.parseInt(appProps.getProperty("face-template-cache.max-entries", "10000"));
+        FACE_TEMPLATE_CACHE_VERSION_CHECK_SECONDS = Integer.parseInt(appProps.getProperty("face-template-cache.version-check-seconds", "300"));
+        CLEANUP_JOURNAL = appProps.getProperty("cleanup.journal", "dis-cleanup.journal");
+        CLEANUP_CONCURRENCY = Integer.parseInt(appProps.getProperty("cleanup.concurrency", "8"));
+        CLEANUP_MAX_ATTEMPTS = Integer.parseInt(appProps.getProperty("cleanup.max-attempts", "5"));
+        CLEANUP_RETRY_BACKOFF_MILLIS = Long.parseLong(appProps.getProperty("cleanup.retry-backoff-millis", "200"));
+        CLEANUP_SHUTDOWN_TIMEOUT_SECONDS = Integer.parseInt(appProps.getProperty("cleanup.shutdown-timeout-seconds", "30"));
+        IMAGE_WRITER_THREADS = Integer.parseInt(appProps.getProperty("image-writer.threads", "2"));
+        IMAGE_WRITER_QUEUE_CAPACITY = Integer.parseInt(appProps.getProperty("image-writer.queue-capacity", "64"));
+        IMAGE_WRITER_CONVERT = Boolean.parseBoolean(appProps.getProperty("image-writer.convert", "false"));
+        REQUEST_POLICY_ENABLED = Boolean.parseBoolean(appProps.getProperty("request-policy.enabled", "true"));
+        REQUEST_POLICY_HEDGED_OPERATIONS = appProps.getProperty("request-policy.hedged-operations", "doCrop,doCropRemoveBackground,documentPageCrop,documentPageQuality,checkQuality");
+        REQUEST_POLICY_HEDGE_MIN_DELAY_MILLIS = Long.parseLong(appProps.getProperty("request-policy.hedge-min-delay-millis", "10"));
+        REQUEST_POLICY_HEDGE_MAX_PERCENT = Integer.parseInt(appProps.getProperty("request-policy.hedge-max-percent", "10"));
+        REQUEST_POLICY_MAX_RETRIES = Integer.parseInt(appProps.getProperty("request-policy.max-retries", "2"));
+        REQUEST_POLICY_RETRY_BACKOFF_MILLIS = Long.parseLong(appProps.getProperty("request-policy.retry-backoff-millis", "100"));
+        IMAGE_NORMALIZATION_ENABLED = Boolean.parseBoolean(appProps.getProperty("image-normalization.enabled", "false"));
+        IMAGE_NORMALIZATION_FACE_MAX_EDGE = Integer.parseInt(appProps.getProperty("image-normalization.face-max-edge", "1600"));
+        IMAGE_NORMALIZATION_DOCUMENT_MAX_EDGE = Integer.parseInt(appProps.getProperty("image-normalization.document-max-edge", "2000"));
+        IMAGE_NORMALIZATION_JPEG_QUALITY = Double.parseDouble(appProps.getProperty("image-normalization.jpeg-quality", "0.9"));
+        IMAGE_NORMALIZATION_THREADS = Integer.parseInt(appProps.getProperty("image-normalization.threads", "0"));
+        STAND_IN_ADDRESS = appProps.getProperty("stand-in.address", "127.0.0.1");
+        STAND_IN_PORT = Integer.parseInt(appProps.getProperty("stand-in.port", "18080"));
+        STAND_IN_LATENCY = appProps.getProperty("stand-in.latency", "20/100");
+        STAND_IN_OPERATION_LATENCY = appProps.getProperty("stand-in.operation-latency", "");
+        STAND_IN_ERROR_RATE = Double.parseDouble(appProps.getProperty("stand-in.error-rate", "0"));
+        STAND_IN_OPERATION_ERROR_RATE = appProps.getProperty("stand-in.operation-error-rate", "");
+        STAND_IN_ERROR_STATUS = Integer.parseInt(appProps.getProperty("stand-in.error-status", "500"));
+        STAND_IN_RESPONSES_DIRECTORY = appProps.getProperty("stand-in.responses-directory", "");
+        METADATA_CACHE_DIRECTORY = appProps.getProperty("metadata-cache.directory", "dis-metadata-cache");
+        METADATA_CACHE_VERSION_CHECK_SECONDS = Integer.parseInt(appProps.getProperty("metadata-cache.version-check-seconds", "300"));
     }
 
     private void loadProperties(Properties appProps, String propertyFile) throws IOException {
-        try (FileInputStream fis = new FileInputStream(Objects.requireNonNull(Configuration.class.getClassLoader().getResource(propertyFile)).getPath())) {
-            appProps.load(fis);
+        try (InputStream is = Objects.requireNonNull(Configuration.class.getClassLoader().getResourceAsStream(propertyFile))) {
+            appProps.load(is);
         } catch (Exception e) {
             throw new IOException("Property file not found or incorrect: " + propertyFile, e);
         }
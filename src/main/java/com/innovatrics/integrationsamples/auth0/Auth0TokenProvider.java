@@ -0,0 +1,238 @@
+package com.innovatrics.integrationsamples.auth0;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.innovatrics.integrationsamples.Configuration;
+import okhttp3.Authenticator;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Credentials;
+import okhttp3.Dispatcher;
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.Route;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Provides Auth0 access tokens for the Digital Identity Service (DIS) API.
+ * <p>
+ * The token is cached until shortly before it expires according to {@code expires_in}. Once the token enters
+ * the refresh-ahead window, the first caller starts a refresh in the background and keeps using the still valid
+ * token, so callers block only when there is no usable token at all. Concurrent refreshes are coalesced into
+ * a single request to the token endpoint.
+ * <p>
+ * Only the refresh-ahead runs as an asynchronous call, on a dispatcher of its own. A caller without a usable token
+ * requests the token on its own thread, so a refresh never waits for a dispatcher saturated by the DIS calls that
+ * are themselves waiting for the token.
+ * <p>
+ * The provider is used as the bearer token {@link Supplier} of the API clients and as the {@link Authenticator}
+ * of the HTTP client, so a 401 response rejecting the cached token triggers one refresh and one retry of the
+ * request.
+ */
+public class Auth0TokenProvider implements Supplier<String>, Authenticator {
+    private static final Logger LOG = LogManager.getLogger(Auth0TokenProvider.class);
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 86400;
+
+    private final OkHttpClient httpClient;
+    private final String clientId;
+    private final String clientSecret;
+    private final String tokenEndpoint;
+    private final String audience;
+    private final long expirySkewNanos;
+    private final long refreshAheadNanos;
+
+    private final Object lock = new Object();
+    private volatile Token current;
+    private CompletableFuture<Token> refreshInFlight;
+
+    private record Token(String accessToken, long usableUntilNanos, long refreshAtNanos) {
+    }
+
+    /**
+     * Creates a token provider configured by the {@code dot-auth0-*} properties.
+     *
+     * @param configuration the configuration with Auth0 client credentials, token endpoint and audience
+     * @param httpClient    the HTTP client used for requests to the token endpoint, must not use this provider
+     *                      as its authenticator, its connection pool is shared but not its dispatcher
+     */
+    public Auth0TokenProvider(final Configuration configuration, final OkHttpClient httpClient) {
+        this.httpClient = httpClient.newBuilder()
+                .dispatcher(new Dispatcher(Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("auth0-token-", 0).factory())))
+                .build();
+        this.clientId = configuration.DOT_AUTH0_CLIENT_ID;
+        this.clientSecret = configuration.DOT_AUTH0_CLIENT_SECRET;
+        this.tokenEndpoint = configuration.DOT_AUTH0_TOKEN_ENDPOINT;
+        this.audience = configuration.DOT_AUTH0_AUDIENCE;
+        this.expirySkewNanos = TimeUnit.SECONDS.toNanos(configuration.DOT_AUTH0_TOKEN_EXPIRY_SKEW_SECONDS);
+        this.refreshAheadNanos = TimeUnit.SECONDS.toNanos(configuration.DOT_AUTH0_TOKEN_REFRESH_AHEAD_SECONDS);
+    }
+
+    /**
+     * Returns a valid access token, requesting a new one only if there is no usable token cached.
+     *
+     * @return the access token
+     * @throws IllegalStateException if the token cannot be obtained
+     */
+    @Override
+    public String get() {
+        final Token token = current;
+        final long now = System.nanoTime();
+        if (token != null && now - token.usableUntilNanos() < 0) {
+            if (now - token.refreshAtNanos() >= 0) {
+                refresh(token, false);
+            }
+            return token.accessToken();
+        }
+        return await(refresh(token, true)).accessToken();
+    }
+
+    /**
+     * Retries a request rejected with 401 once, with a refreshed token if the rejected token is still the cached one,
+     * or with the token another thread has refreshed in the meantime.
+     */
+    @Override
+    public Request authenticate(final Route route, final Response response) throws IOException {
+        if (response.priorResponse() != null) {
+            LOG.error("Request to {} rejected also with the refreshed Auth0 token.", response.request().url());
+            return null;
+        }
+
+        final String rejectedHeader = response.request().header(AUTHORIZATION);
+        Token token = current;
+        if (token == null || (BEARER + token.accessToken()).equals(rejectedHeader)) {
+            try {
+                token = await(refresh(token, true));
+            } catch (IllegalStateException e) {
+                throw new IOException(e.getMessage(), e.getCause());
+            }
+        }
+        return response.request().newBuilder()
+                .header(AUTHORIZATION, BEARER + token.accessToken())
+                .build();
+    }
+
+    /**
+     * Refreshes the given token, unless it has been refreshed already. Concurrent callers share the refresh in flight.
+     *
+     * @param stale    the token to be replaced, null if there is none
+     * @param blocking whether the token is requested on the calling thread, otherwise the request is enqueued
+     * @return the future completed with the refreshed token
+     */
+    private CompletableFuture<Token> refresh(final Token stale, final boolean blocking) {
+        final CompletableFuture<Token> refresh;
+        synchronized (lock) {
+            if (current != stale) {
+                return CompletableFuture.completedFuture(current);
+            }
+            if (refreshInFlight != null) {
+                return refreshInFlight;
+            }
+            refresh = new CompletableFuture<>();
+            refreshInFlight = refresh;
+            refresh.whenComplete((token, failure) -> {
+                synchronized (lock) {
+                    if (token != null) {
+                        current = token;
+                    }
+                    refreshInFlight = null;
+                }
+            });
+        }
+
+        final Call call = httpClient.newCall(tokenRequest());
+        if (blocking) {
+            try (Response response = call.execute()) {
+                refresh.complete(readToken(response));
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Failed to obtain Auth0 token.", e);
+                refresh.completeExceptionally(e);
+            }
+        } else {
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(final Call call, final IOException e) {
+                    LOG.error("Request for Auth0 token failed.", e);
+                    refresh.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(final Call call, final Response response) {
+                    try (response) {
+                        refresh.complete(readToken(response));
+                    } catch (IOException | RuntimeException e) {
+                        LOG.error("Failed to obtain Auth0 token.", e);
+                        refresh.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+        return refresh;
+    }
+
+    private Request tokenRequest() {
+        return new Request.Builder()
+                .url(tokenEndpoint)
+                .header(AUTHORIZATION, Credentials.basic(clientId, clientSecret))
+                .post(new FormBody.Builder()
+                        .add("grant_type", "client_credentials")
+                        .add("audience", audience)
+                        .build())
+                .build();
+    }
+
+    private Token readToken(final Response response) throws IOException {
+        final ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            throw new IOException("Error getting Auth0 token. Response code: " + response.code());
+        }
+        return parseToken(body.string(), System.nanoTime());
+    }
+
+    /**
+     * Parses the token response, e.g. {@code {"access_token":"...","expires_in":86400,"token_type":"Bearer"}}.
+     *
+     * @param responseBody the body of the token response
+     * @param issuedAtNanos the time the response was received
+     * @return the parsed token
+     */
+    private Token parseToken(final String responseBody, final long issuedAtNanos) throws IOException {
+        final JsonObject json;
+        try {
+            json = JsonParser.parseString(responseBody).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed Auth0 token response.", e);
+        }
+        if (!json.has("access_token")) {
+            throw new IOException("Auth0 token response does not contain access_token.");
+        }
+
+        final long expiresInSeconds = json.has("expires_in") ? json.get("expires_in").getAsLong() : DEFAULT_EXPIRES_IN_SECONDS;
+        final long lifetimeNanos = TimeUnit.SECONDS.toNanos(expiresInSeconds);
+        final long usableUntil = issuedAtNanos + Math.max(0, lifetimeNanos - expirySkewNanos);
+        final long refreshAt = issuedAtNanos + Math.max(0, lifetimeNanos - refreshAheadNanos);
+        LOG.info("Obtained Auth0 token expiring in {} s.", expiresInSeconds);
+        return new Token(json.get("access_token").getAsString(), usableUntil, Math.min(refreshAt, usableUntil));
+    }
+
+    private static Token await(final CompletableFuture<Token> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to obtain Auth0 token.", e.getCause());
+        }
+    }
+}
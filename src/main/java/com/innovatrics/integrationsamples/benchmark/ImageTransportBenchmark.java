@@ -0,0 +1,168 @@
+package com.innovatrics.integrationsamples.benchmark;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.client.ImageTransport;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the JSON and binary image transports. For each transport the benchmark uploads the same selfie and
+ * detects a face on the same image a number of times, then reports the bytes sent and received on the wire and the
+ * latency percentiles of the upload requests.
+ * <p>
+ * Usage: {@code ImageTransportBenchmark [iterations] [warmup-iterations]}
+ */
+public class ImageTransportBenchmark {
+    private static final Logger log = LogManager.getLogger(ImageTransportBenchmark.class);
+
+    private static final String FACE_IMAGE = "images/faces/face.jpeg";
+
+    private final ApiClient apiClient;
+    private final ApiClient measuredApiClient;
+    private final WireBytesListener wireBytes = new WireBytesListener();
+    private final byte[] image;
+
+    public ImageTransportBenchmark(final Configuration configuration) throws IOException {
+        final DisHttpClientProvider clientProvider = DisHttpClientProvider.getInstance(configuration);
+        apiClient = clientProvider.newApiClient();
+        measuredApiClient = clientProvider.newApiClient();
+        measuredApiClient.setHttpClient(clientProvider.getHttpClient().newBuilder().eventListener(wireBytes).build());
+
+        try (final InputStream is = Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream(FACE_IMAGE))) {
+            image = is.readAllBytes();
+        }
+    }
+
+    /**
+     * Runs the benchmark for both transports and logs the results.
+     *
+     * @param iterations the number of measured uploads per operation and transport
+     * @param warmupIterations the number of uploads per operation and transport that are not measured
+     * @throws ApiException if the API request fails
+     */
+    public void run(final int iterations, final int warmupIterations) throws ApiException {
+        log.info("Image size: {} bytes, iterations: {}, warmup iterations: {}", image.length, iterations, warmupIterations);
+
+        final String customerId = new CustomerOnboardingApi(apiClient).createCustomer().getId();
+        try {
+            for (ImageTransport transport : ImageTransport.values()) {
+                measure(transport, "create selfie", iterations, warmupIterations, () -> createSelfie(transport, customerId));
+                measure(transport, "detect face", iterations, warmupIterations, () -> detectFace(transport));
+            }
+        } finally {
+            new CustomerOnboardingApi(apiClient).deleteCustomer(customerId);
+        }
+    }
+
+    private void measure(final ImageTransport transport, final String operation, final int iterations, final int warmupIterations, final Upload upload) throws ApiException {
+        for (int i = 0; i < warmupIterations; i++) {
+            upload.run();
+        }
+
+        wireBytes.reset();
+        final long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            final long start = System.nanoTime();
+            upload.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        log.info("{} {}: sent {} bytes/request, received {} bytes/response, latency p50: {} ms, p95: {} ms, max: {} ms",
+                transport, operation,
+                wireBytes.sent.sum() / iterations,
+                wireBytes.received.sum() / iterations,
+                millis(percentile(latencies, 0.50)),
+                millis(percentile(latencies, 0.95)),
+                millis(latencies[latencies.length - 1]));
+    }
+
+    private void createSelfie(final ImageTransport transport, final String customerId) throws ApiException {
+        if (transport == ImageTransport.BINARY) {
+            new BinaryUploadApi(measuredApiClient).createSelfieBinary(customerId, image);
+        } else {
+            new CustomerOnboardingApi(measuredApiClient).createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(image)));
+        }
+    }
+
+    private void detectFace(final ImageTransport transport) throws ApiException {
+        final String faceId;
+        if (transport == ImageTransport.BINARY) {
+            faceId = new BinaryUploadApi(measuredApiClient).detectFaceBinary(image).getId();
+        } else {
+            faceId = new FaceOperationsApi(measuredApiClient).detectFace(new CreateFaceRequest().image(new Image().data(image))).getId();
+        }
+        new FaceOperationsApi(apiClient).deleteFace(faceId);
+    }
+
+    private static long percentile(final long[] sortedValues, final double percentile) {
+        return sortedValues[(int) Math.ceil(percentile * sortedValues.length) - 1];
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws ApiException;
+    }
+
+    /**
+     * Counts bytes of request and response headers and bodies as they are written to and read from the connection.
+     */
+    private static class WireBytesListener extends EventListener {
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder received = new LongAdder();
+
+        @Override
+        public void requestHeadersEnd(final Call call, final Request request) {
+            sent.add(request.headers().byteCount());
+        }
+
+        @Override
+        public void requestBodyEnd(final Call call, final long byteCount) {
+            sent.add(byteCount);
+        }
+
+        @Override
+        public void responseHeadersEnd(final Call call, final Response response) {
+            received.add(response.headers().byteCount());
+        }
+
+        @Override
+        public void responseBodyEnd(final Call call, final long byteCount) {
+            received.add(byteCount);
+        }
+
+        void reset() {
+            sent.reset();
+            received.reset();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ApiException {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final int warmupIterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        new ImageTransportBenchmark(new Configuration()).run(iterations, warmupIterations);
+    }
+}
@@ -0,0 +1,151 @@
+package com.innovatrics.integrationsamples.cleanup;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Local journal of DIS resources waiting for deletion, so that resources left over by a crashed or killed process
+ * can be deleted on the next start.
+ * <p>
+ * The journal is a text file with one line per event: {@code + TYPE id} when a resource is created or its deletion is
+ * requested and {@code - TYPE id} when it was deleted. Pending resources are those added and not deleted. Lines are flushed to
+ * the file as they are written, a line truncated by a crash is ignored. The file is rewritten with the pending
+ * resources only when it is opened and whenever completed events outnumber pending resources, so it stays small.
+ * Safe for use by concurrent threads, not by concurrent processes.
+ */
+public class CleanupJournal implements Closeable {
+    private static final int MIN_COMPACTION_LINES = 1024;
+
+    private final Path file;
+    private final Set<Entry> pending = new LinkedHashSet<>();
+    private BufferedWriter writer;
+    private int lines;
+
+    /**
+     * A journaled resource.
+     *
+     * @param type the type of the resource
+     * @param id   the id of the resource
+     */
+    public record Entry(ResourceType type, String id) {
+    }
+
+    private CleanupJournal(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the journal, creating it if it does not exist, and compacts it.
+     *
+     * @param file the journal file
+     * @return the opened journal
+     * @throws IOException if the journal cannot be read or written
+     */
+    public static CleanupJournal open(final Path file) throws IOException {
+        final CleanupJournal journal = new CleanupJournal(file);
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                journal.replay(line);
+            }
+        }
+        journal.compact();
+        return journal;
+    }
+
+    /**
+     * Returns the resources added and not deleted.
+     *
+     * @return a snapshot of the pending resources in the order they were requested
+     */
+    public synchronized List<Entry> getPending() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * Records a resource to be deleted.
+     *
+     * @param entry the resource
+     * @throws IOException if the event cannot be written
+     */
+    public synchronized void add(final Entry entry) throws IOException {
+        if (pending.add(entry)) {
+            append('+', entry);
+        }
+    }
+
+    /**
+     * Records a completed deletion.
+     *
+     * @param entry the resource
+     * @throws IOException if the event cannot be written
+     */
+    public synchronized void remove(final Entry entry) throws IOException {
+        if (pending.remove(entry)) {
+            append('-', entry);
+            if (lines > MIN_COMPACTION_LINES && lines > 2 * pending.size()) {
+                compact();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void replay(final String line) {
+        final String[] parts = line.split(" ", 3);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            return;
+        }
+        final Entry entry;
+        try {
+            entry = new Entry(ResourceType.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        switch (parts[0]) {
+            case "+" -> pending.add(entry);
+            case "-" -> pending.remove(entry);
+            default -> {
+            }
+        }
+    }
+
+    private void append(final char event, final Entry entry) throws IOException {
+        writer.write(event + " " + entry.type().name() + " " + entry.id());
+        writer.newLine();
+        writer.flush();
+        lines++;
+    }
+
+    /**
+     * Rewrites the journal with the pending resources. The new journal is written next to the old one and moved in
+     * place, so a crash during compaction leaves one of them intact.
+     */
+    private void compact() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        final Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Entry entry : pending) {
+                out.write("+ " + entry.type().name() + " " + entry.id());
+                out.newLine();
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        lines = pending.size();
+    }
+}
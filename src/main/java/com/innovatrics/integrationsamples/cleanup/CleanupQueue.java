@@ -0,0 +1,328 @@
+package com.innovatrics.integrationsamples.cleanup;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.PalmOperationsApi;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.ApiFailure;
+import com.innovatrics.integrationsamples.client.AsyncApi;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide queue of deletions of DIS resources, taking the deletion of customers, faces and palms off the
+ * critical path of the flows.
+ * <p>
+ * A resource is recorded in the {@link CleanupJournal} as soon as it is created, see {@link #track(ResourceType, String)},
+ * and removed from it once it is deleted. A deletion returns immediately. Queued deletions are sent through the
+ * asynchronous API with at most the configured number of deletions in flight, no thread is blocked while waiting for
+ * responses. Deletions failing with a connection error, 429 or 5xx are retried with exponential backoff and jitter.
+ * A resource that no longer exists counts as deleted. A resource that could not be deleted stays in the journal.
+ * <p>
+ * When the queue is created, the resources left in the journal by a previous process, whether their deletion was queued
+ * or the process crashed before it got to it, are queued for deletion.
+ * A shutdown hook waits for the queued deletions to complete, bounded by the configured timeout.
+ */
+public class CleanupQueue {
+    private static final Logger log = LogManager.getLogger(CleanupQueue.class);
+
+    private static volatile CleanupQueue instance;
+
+    private final AsyncApi<CustomerOnboardingApi> customerApi;
+    private final AsyncApi<FaceOperationsApi> faceApi;
+    private final AsyncApi<PalmOperationsApi> palmApi;
+    private final CleanupJournal journal;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("dis-cleanup-retry").factory());
+
+    private final Queue<Deletion> queued = new ArrayDeque<>();
+    private int inFlight;
+    private int outstanding;
+
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private record Deletion(CleanupJournal.Entry entry, int attempt) {
+    }
+
+    /**
+     * Snapshot of the queue counters.
+     *
+     * @param deleted     number of resources deleted or found already deleted
+     * @param retried     number of retried deletions
+     * @param failed      number of resources that could not be deleted
+     * @param outstanding number of deletions queued, in flight or waiting for a retry
+     */
+    public record Statistics(long deleted, long retried, long failed, int outstanding) {
+    }
+
+    /**
+     * @param apiClient          the API client used for the deletions
+     * @param journal            the journal of pending deletions
+     * @param concurrency        the maximum number of deletions in flight
+     * @param maxAttempts        the maximum number of attempts to delete one resource
+     * @param retryBackoffMillis the delay before the first retry, doubled for every further retry
+     */
+    public CleanupQueue(final ApiClient apiClient, final CleanupJournal journal, final int concurrency, final int maxAttempts, final long retryBackoffMillis) {
+        this.customerApi = new AsyncApi<>(new CustomerOnboardingApi(apiClient));
+        this.faceApi = new AsyncApi<>(new FaceOperationsApi(apiClient));
+        this.palmApi = new AsyncApi<>(new PalmOperationsApi(apiClient));
+        this.journal = journal;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /**
+     * Returns the process-wide queue, creating it from the {@code cleanup.*} properties on the first call. Creating
+     * the queue reaps the resources left in the journal by a previous process and registers the shutdown hook.
+     *
+     * @param configuration the configuration
+     * @return the process-wide queue
+     * @throws UncheckedIOException if the journal cannot be opened
+     */
+    public static CleanupQueue getInstance(final Configuration configuration) {
+        CleanupQueue queue = instance;
+        if (queue == null) {
+            synchronized (CleanupQueue.class) {
+                queue = instance;
+                if (queue == null) {
+                    final CleanupJournal journal;
+                    try {
+                        journal = CleanupJournal.open(Path.of(configuration.CLEANUP_JOURNAL));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to open cleanup journal " + configuration.CLEANUP_JOURNAL, e);
+                    }
+                    queue = new CleanupQueue(DisHttpClientProvider.getInstance(configuration).newApiClient(), journal,
+                            configuration.CLEANUP_CONCURRENCY, configuration.CLEANUP_MAX_ATTEMPTS, configuration.CLEANUP_RETRY_BACKOFF_MILLIS);
+                    queue.reap();
+                    final CleanupQueue created = queue;
+                    final Duration timeout = Duration.ofSeconds(configuration.CLEANUP_SHUTDOWN_TIMEOUT_SECONDS);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> created.shutdown(timeout), "dis-cleanup-shutdown"));
+                    instance = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
+    public void trackCustomer(final String id) {
+        track(ResourceType.CUSTOMER, id);
+    }
+
+    public void trackFace(final String id) {
+        track(ResourceType.FACE, id);
+    }
+
+    public void deleteCustomer(final String id) {
+        delete(ResourceType.CUSTOMER, id);
+    }
+
+    public void deleteFace(final String id) {
+        delete(ResourceType.FACE, id);
+    }
+
+    public void deletePalm(final String id) {
+        delete(ResourceType.PALM, id);
+    }
+
+    /**
+     * Records a resource just created, so that it is deleted by the next process if this one ends before deleting it.
+     * Call it right after the resource is created and queue its deletion by {@link #delete(ResourceType, String)}.
+     *
+     * @param type the type of the resource
+     * @param id   the id of the resource
+     * @throws IllegalArgumentException if the id is null
+     */
+    public void track(final ResourceType type, final String id) {
+        journal(entry(type, id));
+    }
+
+    /**
+     * Queues the deletion of the resource and returns without waiting for it. A resource not tracked yet is recorded
+     * in the journal now.
+     *
+     * @param type the type of the resource
+     * @param id   the id of the resource
+     * @throws IllegalArgumentException if the id is null
+     */
+    public void delete(final ResourceType type, final String id) {
+        final CleanupJournal.Entry entry = entry(type, id);
+        journal(entry);
+        synchronized (this) {
+            outstanding++;
+        }
+        submit(new Deletion(entry, 1));
+    }
+
+    private void journal(final CleanupJournal.Entry entry) {
+        try {
+            journal.add(entry);
+        } catch (IOException e) {
+            log.warn("Failed to journal {} {}, it is not reaped after a crash.", entry.type(), entry.id(), e);
+        }
+    }
+
+    /**
+     * Waits until all queued deletions complete.
+     *
+     * @param timeout the maximum time to wait
+     * @return true if all deletions completed, false if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitCompletion(final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (outstanding > 0) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(deleted.sum(), retried.sum(), failed.sum(), outstanding);
+    }
+
+    /**
+     * Queues the deletion of the resources left in the journal by a previous process.
+     */
+    private void reap() {
+        final List<CleanupJournal.Entry> leftovers = journal.getPending();
+        if (leftovers.isEmpty()) {
+            return;
+        }
+        log.info("Reaping {} resources left over by a previous run.", leftovers.size());
+        synchronized (this) {
+            outstanding += leftovers.size();
+        }
+        leftovers.forEach(entry -> submit(new Deletion(entry, 1)));
+    }
+
+    private void submit(final Deletion deletion) {
+        synchronized (this) {
+            if (inFlight >= concurrency) {
+                queued.add(deletion);
+                return;
+            }
+            inFlight++;
+        }
+        start(deletion);
+    }
+
+    private void start(final Deletion deletion) {
+        send(deletion.entry()).whenComplete((ignored, failure) -> {
+            final ApiFailure apiFailure = failure != null ? ApiFailure.unwrap(failure) : null;
+            if (failure == null || apiFailure != null && apiFailure.getCode() == 404) {
+                deleted.increment();
+                complete(deletion.entry());
+            } else if (deletion.attempt() < maxAttempts && isRetryable(apiFailure)) {
+                retried.increment();
+                final long backoff = retryBackoffMillis << Math.min(deletion.attempt() - 1, 16);
+                final long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                retryScheduler.schedule(() -> submit(new Deletion(deletion.entry(), deletion.attempt() + 1)), delay, TimeUnit.MILLISECONDS);
+            } else {
+                failed.increment();
+                log.warn("Failed to delete {} {} after {} attempts, left in journal: {}", deletion.entry().type(), deletion.entry().id(),
+                        deletion.attempt(), apiFailure != null ? apiFailure : failure);
+                finish();
+            }
+            release();
+        });
+    }
+
+    private CompletableFuture<Void> send(final CleanupJournal.Entry entry) {
+        final String id = entry.id();
+        return switch (entry.type()) {
+            case CUSTOMER -> customerApi.call((api, callback) -> api.deleteCustomerAsync(id, callback));
+            case FACE -> faceApi.call((api, callback) -> api.deleteFaceAsync(id, callback));
+            case PALM -> palmApi.call((api, callback) -> api.deletePalmAsync(id, callback));
+        };
+    }
+
+    private void complete(final CleanupJournal.Entry entry) {
+        try {
+            journal.remove(entry);
+        } catch (IOException e) {
+            log.warn("Failed to journal completed deletion of {} {}.", entry.type(), entry.id(), e);
+        }
+        log.debug("Deleted {} {}", entry.type(), entry.id());
+        finish();
+    }
+
+    private synchronized void finish() {
+        if (--outstanding == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Releases the slot of a completed attempt and starts the next queued deletion in it.
+     */
+    private void release() {
+        final Deletion next;
+        synchronized (this) {
+            next = queued.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    private static boolean isRetryable(final ApiFailure failure) {
+        if (failure == null) {
+            return false;
+        }
+        final int code = failure.getCode();
+        return code == 0 || code == 429 || code >= 500;
+    }
+
+    private void shutdown(final Duration timeout) {
+        try {
+            if (!awaitCompletion(timeout)) {
+                log.warn("Cleanup did not complete in {} s, {} deletions are left in the journal.", timeout.toSeconds(), getStatistics().outstanding());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        retryScheduler.shutdownNow();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Failed to close cleanup journal.", e);
+        }
+    }
+
+    /**
+     * A null id would be journalled as the id {@code null} and deleted by every following process.
+     */
+    private static CleanupJournal.Entry entry(final ResourceType type, final String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Missing id of the " + type + " to clean up.");
+        }
+        return new CleanupJournal.Entry(type, id);
+    }
+}
@@ -0,0 +1,10 @@
+package com.innovatrics.integrationsamples.cleanup;
+
+/**
+ * Types of DIS resources deleted by the {@link CleanupQueue}.
+ */
+public enum ResourceType {
+    CUSTOMER,
+    FACE,
+    PALM
+}
@@ -0,0 +1,98 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.google.gson.JsonParseException;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.ErrorResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Failure of an asynchronous call to Digital Identity Service (DIS).
+ * <p>
+ * Wraps the {@link ApiException} reported by the generated client into an unchecked exception, so it can complete
+ * a {@link java.util.concurrent.CompletableFuture}, and exposes the error code of the DIS error response, if any.
+ */
+public class ApiFailure extends RuntimeException {
+    private final int code;
+    private final String responseBody;
+    private final Map<String, List<String>> responseHeaders;
+    private final ErrorResponse.ErrorCodeEnum errorCode;
+    private final String errorMessage;
+
+    public ApiFailure(final ApiException cause) {
+        super(cause.getMessage(), cause);
+        this.code = cause.getCode();
+        this.responseBody = cause.getResponseBody();
+        this.responseHeaders = cause.getResponseHeaders();
+
+        final ErrorResponse errorResponse = parseErrorResponse(responseBody);
+        this.errorCode = errorResponse != null ? errorResponse.getErrorCode() : null;
+        this.errorMessage = errorResponse != null ? errorResponse.getErrorMessage() : null;
+    }
+
+    /**
+     * Returns the HTTP status code of the response, or 0 if the request failed without a response.
+     *
+     * @return the HTTP status code
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public Map<String, List<String>> getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Returns the error code of the DIS error response.
+     *
+     * @return the error code, or null if the response did not contain one
+     */
+    public ErrorResponse.ErrorCodeEnum getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Finds the API failure in the cause chain of an exception thrown by a completed future.
+     *
+     * @param throwable the exception, e.g. {@link CompletionException} or {@link ExecutionException}
+     * @return the API failure, or null if the exception was not caused by one
+     */
+    public static ApiFailure unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof ApiFailure apiFailure) {
+                return apiFailure;
+            }
+            cause = cause.getCause();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiFailure{code=" + code + ", errorCode=" + errorCode + ", errorMessage=" + errorMessage + ", message=" + getMessage() + "}";
+    }
+
+    private static ErrorResponse parseErrorResponse(final String responseBody) {
+        if (responseBody == null || responseBody.isBlank()) {
+            return null;
+        }
+        try {
+            return DisJson.getGson(false).fromJson(responseBody, ErrorResponse.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
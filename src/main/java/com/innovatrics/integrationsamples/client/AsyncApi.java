@@ -0,0 +1,101 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiCallback;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import okhttp3.Call;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base of the {@link CompletableFuture} facades over the generated DIS API classes.
+ * <p>
+ * Calls are enqueued to the dispatcher of the HTTP client, no thread is blocked while waiting for the response.
+ * Futures are completed on the dispatcher threads, so dependent stages should not block; blocking work should be
+ * moved to another executor with the {@code *Async} variants of the composition methods. Cancelling a returned
+ * future cancels the underlying HTTP call. Failures complete the future with {@link ApiFailure}.
+ * <p>
+ * A call started within a {@link SessionContext} scope completes its future within the same session, so calls
+ * started by dependent stages run on the dispatcher threads carry the session too.
+ *
+ * @param <A> the type of the generated API
+ */
+public class AsyncApi<A> {
+
+    /**
+     * An asynchronous operation of the generated API, typically a method reference to one of its
+     * {@code *Async} methods.
+     *
+     * @param <A> the type of the generated API
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    public interface Operation<A, R> {
+        Call start(A api, ApiCallback<R> callback) throws ApiException;
+    }
+
+    private final A api;
+
+    public AsyncApi(final A api) {
+        this.api = api;
+    }
+
+    public A getApi() {
+        return api;
+    }
+
+    /**
+     * Starts the given operation of the generated API.
+     *
+     * @param operation the operation to start
+     * @param <R>       the type of the result
+     * @return the future completed with the result of the operation
+     */
+    public <R> CompletableFuture<R> call(final Operation<A, R> operation) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        final Call call;
+        try {
+            call = operation.start(api, new FutureCallback<>(future, SessionContext.current()));
+        } catch (ApiException e) {
+            future.completeExceptionally(new ApiFailure(e));
+            return future;
+        }
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    private record FutureCallback<R>(CompletableFuture<R> future, SessionContext session) implements ApiCallback<R> {
+        @Override
+        public void onFailure(final ApiException e, final int statusCode, final Map<String, List<String>> responseHeaders) {
+            complete(() -> future.completeExceptionally(new ApiFailure(e)));
+        }
+
+        @Override
+        public void onSuccess(final R result, final int statusCode, final Map<String, List<String>> responseHeaders) {
+            complete(() -> future.complete(result));
+        }
+
+        private void complete(final Runnable completion) {
+            if (session == null) {
+                completion.run();
+                return;
+            }
+            try (SessionContext.Scope ignored = SessionContext.bind(session)) {
+                completion.run();
+            }
+        }
+
+        @Override
+        public void onUploadProgress(final long bytesWritten, final long contentLength, final boolean done) {
+        }
+
+        @Override
+        public void onDownloadProgress(final long bytesRead, final long contentLength, final boolean done) {
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessRecordResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentChipDataResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentChipResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerInspectDiscloseResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerInspectResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentInspectDiscloseResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentInspectResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentPageQuality;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateExtendedLivenessRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateExtendedLivenessResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.GetCustomerResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.GetDocumentChipDataResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
+import com.innovatrics.dot.integrationsamples.disapi.model.LivenessChallengeRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.LivenessChallengeResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.RetrieveLivenessSelfiesRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.RetrieveLivenessSelfiesResponse;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CompletableFuture} facade over the generated {@link CustomerOnboardingApi} for customer onboarding.
+ * See {@link AsyncApi} for threading, cancellation and failure handling.
+ */
+public class AsyncCustomerOnboardingApi extends AsyncApi<CustomerOnboardingApi> {
+
+    public AsyncCustomerOnboardingApi(final CustomerOnboardingApi api) {
+        super(api);
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createCustomer()}.
+     */
+    public CompletableFuture<CreateCustomerResponse> createCustomer() {
+        return call((api, callback) -> api.createCustomerAsync(callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createCustomerWithUuid(String)}.
+     */
+    public CompletableFuture<CreateCustomerResponse> createCustomerWithUuid(final String id) {
+        return call((api, callback) -> api.createCustomerWithUuidAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createDocument(String, CreateDocumentRequest)}.
+     */
+    public CompletableFuture<CreateDocumentResponse> createDocument(final String id, final CreateDocumentRequest createDocumentRequest) {
+        return call((api, callback) -> api.createDocumentAsync(id, createDocumentRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createDocumentChipChallenge(String)}.
+     */
+    public CompletableFuture<CreateDocumentChipResponse> createDocumentChipChallenge(final String id) {
+        return call((api, callback) -> api.createDocumentChipChallengeAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createDocumentChipData(String, File)}.
+     */
+    public CompletableFuture<CreateDocumentChipDataResponse> createDocumentChipData(final String id, final File body) {
+        return call((api, callback) -> api.createDocumentChipDataAsync(id, body, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createDocumentPage(String, CreateDocumentPageRequest)}.
+     */
+    public CompletableFuture<CreateDocumentPageResponse> createDocumentPage(final String id, final CreateDocumentPageRequest createDocumentPageRequest) {
+        return call((api, callback) -> api.createDocumentPageAsync(id, createDocumentPageRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createDocumentPageBinary(String, File)}.
+     */
+    public CompletableFuture<CreateDocumentPageResponse> createDocumentPageBinary(final String id, final File body) {
+        return call((api, callback) -> api.createDocumentPageBinaryAsync(id, body, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createLiveness(String)}.
+     */
+    public CompletableFuture<CreateCustomerLivenessResponse> createLiveness(final String id) {
+        return call((api, callback) -> api.createLivenessAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createLivenessRecord(String, File)}.
+     */
+    public CompletableFuture<CreateCustomerLivenessRecordResponse> createLivenessRecord(final String id, final File body) {
+        return call((api, callback) -> api.createLivenessRecordAsync(id, body, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createLivenessRecordChallenge(String, LivenessChallengeRequest)}.
+     */
+    public CompletableFuture<LivenessChallengeResponse> createLivenessRecordChallenge(final String id, final LivenessChallengeRequest livenessChallengeRequest) {
+        return call((api, callback) -> api.createLivenessRecordChallengeAsync(id, livenessChallengeRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createLivenessSelfie(String, CreateCustomerLivenessSelfieRequest)}.
+     */
+    public CompletableFuture<CreateCustomerLivenessSelfieResponse> createLivenessSelfie(final String id, final CreateCustomerLivenessSelfieRequest createCustomerLivenessSelfieRequest) {
+        return call((api, callback) -> api.createLivenessSelfieAsync(id, createCustomerLivenessSelfieRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createSelfie(String, CreateSelfieRequest)}.
+     */
+    public CompletableFuture<CreateSelfieResponse> createSelfie(final String id, final CreateSelfieRequest createSelfieRequest) {
+        return call((api, callback) -> api.createSelfieAsync(id, createSelfieRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#createSelfieBinary(String, File)}.
+     */
+    public CompletableFuture<CreateSelfieResponse> createSelfieBinary(final String id, final File body) {
+        return call((api, callback) -> api.createSelfieBinaryAsync(id, body, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#customerLivenessRecordSelfie(String, String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> customerLivenessRecordSelfie(final String id, final String recordId, final Integer width, final Integer height) {
+        return call((api, callback) -> api.customerLivenessRecordSelfieAsync(id, recordId, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#deleteCustomer(String)}.
+     */
+    public CompletableFuture<Void> deleteCustomer(final String id) {
+        return call((api, callback) -> api.deleteCustomerAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#deleteDocument(String)}.
+     */
+    public CompletableFuture<Void> deleteDocument(final String id) {
+        return call((api, callback) -> api.deleteDocumentAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#deleteLiveness(String)}.
+     */
+    public CompletableFuture<Void> deleteLiveness(final String id) {
+        return call((api, callback) -> api.deleteLivenessAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#deleteSelfie(String)}.
+     */
+    public CompletableFuture<Void> deleteSelfie(final String id) {
+        return call((api, callback) -> api.deleteSelfieAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentChipPortrait(String)}.
+     */
+    public CompletableFuture<ImageCrop> documentChipPortrait(final String id) {
+        return call((api, callback) -> api.documentChipPortraitAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentFingerprint(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> documentFingerprint(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.documentFingerprintAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentGhostPortrait(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> documentGhostPortrait(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.documentGhostPortraitAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentInspect(String)}.
+     */
+    public CompletableFuture<DocumentInspectResponse> documentInspect(final String id) {
+        return call((api, callback) -> api.documentInspectAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentInspectDisclose(String)}.
+     */
+    public CompletableFuture<DocumentInspectDiscloseResponse> documentInspectDisclose(final String id) {
+        return call((api, callback) -> api.documentInspectDiscloseAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentPageCrop(String, String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> documentPageCrop(final String id, final String pageType, final Integer width, final Integer height) {
+        return call((api, callback) -> api.documentPageCropAsync(id, pageType, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentPageQuality(String, String)}.
+     */
+    public CompletableFuture<DocumentPageQuality> documentPageQuality(final String id, final String pageType) {
+        return call((api, callback) -> api.documentPageQualityAsync(id, pageType, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentPortrait(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> documentPortrait(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.documentPortraitAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#documentSignature(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> documentSignature(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.documentSignatureAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#evaluateExtendedLiveness(String, EvaluateExtendedLivenessRequest)}.
+     */
+    public CompletableFuture<EvaluateExtendedLivenessResponse> evaluateExtendedLiveness(final String id, final EvaluateExtendedLivenessRequest evaluateExtendedLivenessRequest) {
+        return call((api, callback) -> api.evaluateExtendedLivenessAsync(id, evaluateExtendedLivenessRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#evaluateLiveness(String, EvaluateCustomerLivenessRequest)}.
+     */
+    public CompletableFuture<EvaluateCustomerLivenessResponse> evaluateLiveness(final String id, final EvaluateCustomerLivenessRequest evaluateCustomerLivenessRequest) {
+        return call((api, callback) -> api.evaluateLivenessAsync(id, evaluateCustomerLivenessRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#getCustomer(String)}.
+     */
+    public CompletableFuture<GetCustomerResponse> getCustomer(final String id) {
+        return call((api, callback) -> api.getCustomerAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#getDocumentChipData(String)}.
+     */
+    public CompletableFuture<GetDocumentChipDataResponse> getDocumentChipData(final String id) {
+        return call((api, callback) -> api.getDocumentChipDataAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#getSelfieImage(String)}.
+     */
+    public CompletableFuture<ImageCrop> getSelfieImage(final String id) {
+        return call((api, callback) -> api.getSelfieImageAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#inspect(String)}.
+     */
+    public CompletableFuture<CustomerInspectResponse> inspect(final String id) {
+        return call((api, callback) -> api.inspectAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#inspectDisclose(String)}.
+     */
+    public CompletableFuture<CustomerInspectDiscloseResponse> inspectDisclose(final String id) {
+        return call((api, callback) -> api.inspectDiscloseAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link CustomerOnboardingApi#retrieveLivenessSelfiesAndRecords(String, RetrieveLivenessSelfiesRequest)}.
+     */
+    public CompletableFuture<RetrieveLivenessSelfiesResponse> retrieveLivenessSelfiesAndRecords(final String id, final RetrieveLivenessSelfiesRequest retrieveLivenessSelfiesRequest) {
+        return call((api, callback) -> api.retrieveLivenessSelfiesAndRecordsAsync(id, retrieveLivenessSelfiesRequest, callback));
+    }
+}
@@ -0,0 +1,112 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CropCoordinatesResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceAspectsResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceMaskResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceQualityResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceTemplateResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.GlassesResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CompletableFuture} facade over the generated {@link FaceOperationsApi} for face operations.
+ * See {@link AsyncApi} for threading, cancellation and failure handling.
+ */
+public class AsyncFaceOperationsApi extends AsyncApi<FaceOperationsApi> {
+
+    public AsyncFaceOperationsApi(final FaceOperationsApi api) {
+        super(api);
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#checkFaceMask(String)}.
+     */
+    public CompletableFuture<FaceMaskResponse> checkFaceMask(final String id) {
+        return call((api, callback) -> api.checkFaceMaskAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#checkGlasses(String)}.
+     */
+    public CompletableFuture<GlassesResponse> checkGlasses(final String id) {
+        return call((api, callback) -> api.checkGlassesAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#checkQuality(String)}.
+     */
+    public CompletableFuture<FaceQualityResponse> checkQuality(final String id) {
+        return call((api, callback) -> api.checkQualityAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#checkSimilarity(String, FaceSimilarityRequest)}.
+     */
+    public CompletableFuture<FaceSimilarityResponse> checkSimilarity(final String probeFaceId, final FaceSimilarityRequest faceSimilarityRequest) {
+        return call((api, callback) -> api.checkSimilarityAsync(probeFaceId, faceSimilarityRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#createTemplate(String)}.
+     */
+    public CompletableFuture<FaceTemplateResponse> createTemplate(final String id) {
+        return call((api, callback) -> api.createTemplateAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#deleteFace(String)}.
+     */
+    public CompletableFuture<Void> deleteFace(final String id) {
+        return call((api, callback) -> api.deleteFaceAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#detectFace(CreateFaceRequest)}.
+     */
+    public CompletableFuture<CreateFaceResponse> detectFace(final CreateFaceRequest createFaceRequest) {
+        return call((api, callback) -> api.detectFaceAsync(createFaceRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#detectFaceBinary(File)}.
+     */
+    public CompletableFuture<CreateFaceResponse> detectFaceBinary(final File body) {
+        return call((api, callback) -> api.detectFaceBinaryAsync(body, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#doCrop(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> doCrop(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.doCropAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#doCropCoordinates(String)}.
+     */
+    public CompletableFuture<CropCoordinatesResponse> doCropCoordinates(final String id) {
+        return call((api, callback) -> api.doCropCoordinatesAsync(id, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#doCropRemoveBackground(String, Integer, Integer)}.
+     */
+    public CompletableFuture<ImageCrop> doCropRemoveBackground(final String id, final Integer width, final Integer height) {
+        return call((api, callback) -> api.doCropRemoveBackgroundAsync(id, width, height, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link FaceOperationsApi#evaluateAspects(String)}.
+     */
+    public CompletableFuture<FaceAspectsResponse> evaluateAspects(final String id) {
+        return call((api, callback) -> api.evaluateAspectsAsync(id, callback));
+    }
+}
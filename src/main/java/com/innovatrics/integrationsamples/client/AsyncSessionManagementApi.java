@@ -0,0 +1,32 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSessionRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSessionResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.SessionManagementApi;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CompletableFuture} facade over the generated {@link SessionManagementApi} for session management.
+ * See {@link AsyncApi} for threading, cancellation and failure handling.
+ */
+public class AsyncSessionManagementApi extends AsyncApi<SessionManagementApi> {
+
+    public AsyncSessionManagementApi(final SessionManagementApi api) {
+        super(api);
+    }
+
+    /**
+     * Asynchronous variant of {@link SessionManagementApi#createSession(CreateSessionRequest)}.
+     */
+    public CompletableFuture<CreateSessionResponse> createSession(final CreateSessionRequest createSessionRequest) {
+        return call((api, callback) -> api.createSessionAsync(createSessionRequest, callback));
+    }
+
+    /**
+     * Asynchronous variant of {@link SessionManagementApi#deleteSession(String)}.
+     */
+    public CompletableFuture<Void> deleteSession(final String xInnSessionToken) {
+        return call((api, callback) -> api.deleteSessionAsync(xInnSessionToken, callback));
+    }
+}
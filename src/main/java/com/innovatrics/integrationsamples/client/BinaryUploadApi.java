@@ -0,0 +1,158 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.google.gson.reflect.TypeToken;
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.Pair;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessRecordResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreatePalmResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uploads images held in memory to the binary endpoints of Digital Identity Service (DIS).
+ * <p>
+ * The generated API exposes the binary endpoints with {@link java.io.File} parameters only. This API sends the image
+ * bytes directly as an {@code application/octet-stream} body, so images loaded from the classpath or a remote
+ * location do not need to be written to a temporary file nor Base64 encoded into JSON. Liveness records can be sent
+ * from streams, buffers and memory-mapped files, see {@link StreamingRequestBodies}.
+ */
+public class BinaryUploadApi {
+    private static final String[] AUTH_NAMES = new String[]{"api"};
+    private static final String[] ACCEPTS = new String[]{"application/json"};
+    private static final String[] CONTENT_TYPES = new String[]{"application/octet-stream"};
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+    private final ApiClient apiClient;
+
+    public BinaryUploadApi(final ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    public ApiClient getApiClient() {
+        return apiClient;
+    }
+
+    /**
+     * Provides customer's selfie.
+     *
+     * @param id    the ID of the customer
+     * @param image the encoded image
+     * @return the selfie response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreateSelfieResponse createSelfieBinary(final String id, final byte[] image) throws ApiException {
+        return upload("PUT", "/api/v1/customers/" + apiClient.escapeString(id) + "/selfie/binary", image,
+                new TypeToken<CreateSelfieResponse>() {}.getType());
+    }
+
+    /**
+     * Provides a page of customer's document.
+     *
+     * @param id    the ID of the customer
+     * @param image the encoded image of the page
+     * @return the document page response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreateDocumentPageResponse createDocumentPageBinary(final String id, final byte[] image) throws ApiException {
+        return upload("PUT", "/api/v1/customers/" + apiClient.escapeString(id) + "/document/pages/binary", image,
+                new TypeToken<CreateDocumentPageResponse>() {}.getType());
+    }
+
+    /**
+     * Detects a face on the image.
+     *
+     * @param image the encoded image
+     * @return the face response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreateFaceResponse detectFaceBinary(final byte[] image) throws ApiException {
+        return upload("POST", "/api/v1/faces/binary", image, new TypeToken<CreateFaceResponse>() {}.getType());
+    }
+
+    /**
+     * Detects a palm on the image.
+     *
+     * @param image the encoded image
+     * @return the palm response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreatePalmResponse createPalmBinary(final byte[] image) throws ApiException {
+        return upload("POST", "/api/v1/palms/binary", image, new TypeToken<CreatePalmResponse>() {}.getType());
+    }
+
+    /**
+     * Provides a liveness record of the customer read from a stream, e.g. as received from a capture service, without
+     * buffering the whole record in memory or in a temporary file.
+     *
+     * @param id            the ID of the customer
+     * @param record        the stream positioned at the start of the record, it is not closed
+     * @param contentLength the size of the record in bytes
+     * @return the liveness record response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreateCustomerLivenessRecordResponse createLivenessRecord(final String id, final InputStream record, final long contentLength) throws ApiException {
+        return uploadLivenessRecord(id, StreamingRequestBodies.of(OCTET_STREAM, record, contentLength));
+    }
+
+    /**
+     * Provides a liveness record of the customer held in a buffer, e.g. a direct or memory-mapped buffer. The
+     * remaining bytes of the buffer are sent without copying them to the heap.
+     *
+     * @param id     the ID of the customer
+     * @param record the buffer with the record
+     * @return the liveness record response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     */
+    public CreateCustomerLivenessRecordResponse createLivenessRecord(final String id, final ByteBuffer record) throws ApiException {
+        return uploadLivenessRecord(id, StreamingRequestBodies.of(OCTET_STREAM, record));
+    }
+
+    /**
+     * Provides a liveness record of the customer stored in a file, which is mapped into memory instead of being read
+     * to the heap.
+     *
+     * @param id     the ID of the customer
+     * @param record the file with the record
+     * @return the liveness record response
+     * @throws ApiException if the request fails or the response cannot be deserialized
+     * @throws IOException  if the file cannot be mapped
+     */
+    public CreateCustomerLivenessRecordResponse createLivenessRecord(final String id, final Path record) throws ApiException, IOException {
+        return uploadLivenessRecord(id, StreamingRequestBodies.mapped(OCTET_STREAM, record));
+    }
+
+    private CreateCustomerLivenessRecordResponse uploadLivenessRecord(final String id, final RequestBody record) throws ApiException {
+        return upload("POST", "/api/v1/customers/" + apiClient.escapeString(id) + "/liveness/records", record,
+                new TypeToken<CreateCustomerLivenessRecordResponse>() {}.getType());
+    }
+
+    private <R> R upload(final String method, final String path, final Object body, final Type returnType) throws ApiException {
+        if (body == null) {
+            throw new ApiException("Missing the required body when calling " + method + " " + path);
+        }
+
+        final Map<String, String> headerParams = new HashMap<>();
+        headerParams.put("Accept", apiClient.selectHeaderAccept(ACCEPTS));
+        headerParams.put("Content-Type", apiClient.selectHeaderContentType(CONTENT_TYPES));
+        final List<Pair> queryParams = new ArrayList<>();
+        final List<Pair> collectionQueryParams = new ArrayList<>();
+
+        final okhttp3.Call call = apiClient.buildCall(null, path, method, queryParams, collectionQueryParams, body,
+                headerParams, new HashMap<>(), new HashMap<>(), AUTH_NAMES, null);
+        return apiClient.<R>execute(call, returnType).getData();
+    }
+}
@@ -0,0 +1,137 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.innovatrics.dot.integrationsamples.disapi.ApiCallback;
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.Pair;
+import com.innovatrics.dot.integrationsamples.disapi.ProgressRequestBody;
+import com.innovatrics.integrationsamples.Configuration;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.internal.http.HttpMethod;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * API client for Digital Identity Service (DIS) bound to an externally managed {@link OkHttpClient}.
+ * <p>
+ * Instances are cheap to create: they hold only per-client settings such as base path, authentication and
+ * default headers, while connections and threads are owned by the shared HTTP client.
+ * <p>
+ * JSON bodies are handled by the Gson bound to the client, see {@link DisJson}, instead of the process-global
+ * Gson of the generated {@code JSON} class.
+ */
+public class DisApiClient extends ApiClient {
+    private final Gson gson;
+
+    public DisApiClient(final OkHttpClient httpClient, final Configuration configuration) {
+        this(httpClient, configuration, () -> configuration.DOT_AUTHENTICATION_TOKEN);
+    }
+
+    public DisApiClient(final OkHttpClient httpClient, final Configuration configuration, final Supplier<String> bearerToken) {
+        super(httpClient);
+        gson = DisJson.getGson(configuration.JSON_PRETTY_PRINT);
+        setBasePath(configuration.DOT_IDENTITY_SERVICE_URL);
+        setBearerToken(bearerToken);
+    }
+
+    /**
+     * Builds the HTTP request the same way as the generated client, except that the serialized body is not copied
+     * into a string for the authentication. The generated client does that for every request, although bearer
+     * authentication never reads the payload, which doubles the memory needed for each uploaded image. The request
+     * carries the {@link SessionContext} bound to the calling thread, if any.
+     */
+    @Override
+    public Request buildRequest(String baseUrl, String path, String method, List<Pair> queryParams, List<Pair> collectionQueryParams, Object body, Map<String, String> headerParams, Map<String, String> cookieParams, Map<String, Object> formParams, String[] authNames, ApiCallback callback) throws ApiException {
+        final String url = buildUrl(baseUrl, path, queryParams, collectionQueryParams);
+
+        final RequestBody reqBody;
+        final String contentType = headerParams.get("Content-Type");
+        String contentTypePure = contentType;
+        if (contentTypePure != null && contentTypePure.contains(";")) {
+            contentTypePure = contentType.substring(0, contentType.indexOf(";"));
+        }
+        if (!HttpMethod.permitsRequestBody(method)) {
+            reqBody = null;
+        } else if ("application/x-www-form-urlencoded".equals(contentTypePure)) {
+            reqBody = buildRequestBodyFormEncoding(formParams);
+        } else if ("multipart/form-data".equals(contentTypePure)) {
+            reqBody = buildRequestBodyMultipart(formParams);
+        } else if (body == null) {
+            reqBody = "DELETE".equals(method) ? null : RequestBody.create("", contentType == null ? null : MediaType.parse(contentType));
+        } else {
+            reqBody = serialize(body, contentType);
+        }
+
+        final List<Pair> updatedQueryParams = new ArrayList<>(queryParams);
+        updateParamsForAuth(authNames, updatedQueryParams, headerParams, cookieParams, null, method, URI.create(url));
+
+        final Request.Builder reqBuilder = new Request.Builder().url(buildUrl(baseUrl, path, updatedQueryParams, collectionQueryParams));
+        processHeaderParams(headerParams, reqBuilder);
+        processCookieParams(cookieParams, reqBuilder);
+        reqBuilder.tag(callback);
+        final SessionContext session = SessionContext.current();
+        if (session != null) {
+            reqBuilder.tag(SessionContext.class, session);
+        }
+
+        if (callback != null && reqBody != null) {
+            return reqBuilder.method(method, new ProgressRequestBody(reqBody, callback)).build();
+        }
+        return reqBuilder.method(method, reqBody).build();
+    }
+
+    /**
+     * Serializes JSON request bodies with the Gson bound to this client. A {@link RequestBody} is sent as is, e.g. a
+     * streaming body of {@link BinaryUploadApi}. Other bodies are handled by the generated client.
+     */
+    @Override
+    public RequestBody serialize(Object obj, String contentType) throws ApiException {
+        if (obj instanceof RequestBody requestBody) {
+            return requestBody;
+        }
+        if (obj instanceof byte[] || obj instanceof File || !isJsonMime(contentType)) {
+            return super.serialize(obj, contentType);
+        }
+        return RequestBody.create(gson.toJson(obj), MediaType.parse(contentType));
+    }
+
+    /**
+     * Deserializes JSON responses directly from the response body stream. The generated client first reads the whole
+     * body into a string, so for large responses such as document crops the body string and the decoded images
+     * are held in memory at the same time. Other responses are handled by the generated client.
+     */
+    @Override
+    public <T> T deserialize(Response response, Type returnType) throws ApiException {
+        if (response == null || returnType == null || response.body() == null
+                || returnType.equals(String.class) || returnType.equals(File.class) || "byte[]".equals(returnType.toString())) {
+            return super.deserialize(response, returnType);
+        }
+        final String contentType = response.headers().get("Content-Type");
+        if (contentType != null && !isJsonMime(contentType)) {
+            return super.deserialize(response, returnType);
+        }
+
+        final ResponseBody body = response.body();
+        try (Reader reader = body.charStream()) {
+            return gson.fromJson(new JsonReader(reader), returnType);
+        } catch (IOException | JsonParseException e) {
+            throw new ApiException(e);
+        }
+    }
+}
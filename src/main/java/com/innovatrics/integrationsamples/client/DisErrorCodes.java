@@ -0,0 +1,40 @@
+package com.innovatrics.integrationsamples.client;
+
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the DIS {@code errorCode} from HTTP responses seen by interceptors.
+ * <p>
+ * DIS reports some failures, e.g. no face detected on a selfie, with a successful status and an {@code errorCode} in
+ * the response body, so the code is looked up in the first bytes of every JSON response, without consuming the body.
+ */
+public final class DisErrorCodes {
+    private static final long PEEK_BYTES = 8192;
+    private static final Pattern ERROR_CODE = Pattern.compile("\"errorCode\"\\s*:\\s*\"([A-Za-z0-9_]+)\"");
+
+    private DisErrorCodes() {
+    }
+
+    /**
+     * Returns the error code of the response without consuming its body.
+     *
+     * @param response the response
+     * @return the error code, or null if the response is not JSON or does not contain an error code
+     * @throws IOException if the beginning of the body cannot be read
+     */
+    public static String peek(final Response response) throws IOException {
+        final ResponseBody body = response.body();
+        final MediaType contentType = body != null ? body.contentType() : null;
+        if (contentType == null || !contentType.subtype().endsWith("json")) {
+            return null;
+        }
+        final Matcher matcher = ERROR_CODE.matcher(response.peekBody(PEEK_BYTES).string());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
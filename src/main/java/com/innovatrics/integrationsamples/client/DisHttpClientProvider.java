@@ -0,0 +1,247 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.auth0.Auth0TokenProvider;
+import com.innovatrics.integrationsamples.metrics.DisMetrics;
+import com.innovatrics.integrationsamples.metrics.DisMetricsInterceptor;
+import com.innovatrics.integrationsamples.metrics.PrometheusEndpoint;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide provider of the HTTP client used for communication with Digital Identity Service (DIS).
+ * <p>
+ * A single {@link OkHttpClient} is built from the {@link Configuration} the first time the provider is requested.
+ * Every API client handed out by the provider is a lightweight view over this shared client, so all of them reuse
+ * the same connection pool and dispatcher instead of opening new TCP/TLS connections for every sample instance.
+ * <p>
+ * When Auth0 is enabled in the configuration, API clients authenticate with the tokens of a shared
+ * {@link Auth0TokenProvider} instead of the configured authentication token.
+ * <p>
+ * When metrics are enabled, every request is recorded into the process-wide {@link DisMetrics}, which are exposed via
+ * JMX and/or a Prometheus endpoint.
+ * <p>
+ * When the request policy is enabled, idempotent GET requests are retried and selected operations are hedged, see
+ * {@link RequestPolicyInterceptor}. Metrics and other interceptors see each such request once, with its total latency.
+ * <p>
+ * Requests built within a {@link SessionContext} scope carry the session token of that scope, so workflows with
+ * different request sessions can share every API client and connection.
+ */
+public final class DisHttpClientProvider {
+    private static final Logger log = LogManager.getLogger(DisHttpClientProvider.class);
+
+    public static final String PROTOCOL_HTTP_1_1 = "http1.1";
+    public static final String PROTOCOL_HTTP_2 = "http2";
+    public static final String PROTOCOL_H2C = "h2c";
+
+    private static volatile DisHttpClientProvider instance;
+
+    private final Configuration configuration;
+    private final OkHttpClient httpClient;
+    private final Supplier<String> bearerToken;
+
+    private DisHttpClientProvider(final Configuration configuration, final List<Interceptor> interceptors) {
+        this.configuration = configuration;
+        final OkHttpClient baseHttpClient = createHttpClient(configuration);
+        final Auth0TokenProvider tokenProvider = configuration.DOT_AUTH0_ENABLED ? new Auth0TokenProvider(configuration, baseHttpClient) : null;
+        final OkHttpClient.Builder builder = baseHttpClient.newBuilder().addInterceptor(new SessionTokenInterceptor());
+        if (configuration.METRICS_JMX_ENABLED || configuration.METRICS_PROMETHEUS_PORT > 0) {
+            builder.addInterceptor(new DisMetricsInterceptor(createMetrics(configuration)));
+        }
+        interceptors.forEach(builder::addInterceptor);
+        if (configuration.REQUEST_POLICY_ENABLED) {
+            builder.addInterceptor(createRequestPolicy(configuration, baseHttpClient, tokenProvider));
+        }
+        if (tokenProvider != null) {
+            this.httpClient = builder.authenticator(tokenProvider).build();
+            this.bearerToken = tokenProvider;
+        } else {
+            this.httpClient = builder.build();
+            this.bearerToken = () -> configuration.DOT_AUTHENTICATION_TOKEN;
+        }
+    }
+
+    /**
+     * Returns the process-wide provider, creating it from the given configuration on the first call.
+     * Configuration passed to subsequent calls is ignored, the shared client is created only once.
+     *
+     * @param configuration the configuration used to create the shared HTTP client
+     * @return the process-wide provider
+     */
+    public static DisHttpClientProvider getInstance(final Configuration configuration) {
+        DisHttpClientProvider provider = instance;
+        if (provider == null) {
+            synchronized (DisHttpClientProvider.class) {
+                provider = instance;
+                if (provider == null) {
+                    provider = new DisHttpClientProvider(configuration, List.of());
+                    instance = provider;
+                }
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Creates the process-wide provider with application interceptors added to the shared HTTP client, e.g. to
+     * measure every request made by the samples. Requests to the Auth0 token endpoint are not intercepted.
+     *
+     * @param configuration the configuration used to create the shared HTTP client
+     * @param interceptors  the interceptors of the shared HTTP client
+     * @return the process-wide provider
+     * @throws IllegalStateException if the provider has already been created
+     */
+    public static DisHttpClientProvider initialize(final Configuration configuration, final List<Interceptor> interceptors) {
+        synchronized (DisHttpClientProvider.class) {
+            if (instance != null) {
+                throw new IllegalStateException("Shared HTTP client has already been created.");
+            }
+            final DisHttpClientProvider provider = new DisHttpClientProvider(configuration, interceptors);
+            instance = provider;
+            return provider;
+        }
+    }
+
+    /**
+     * Returns the shared HTTP client. Clients derived from it via {@link OkHttpClient#newBuilder()} keep sharing
+     * its connection pool and dispatcher.
+     *
+     * @return the shared HTTP client
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Creates a new API client bound to the shared HTTP client, with the base path taken from the configuration
+     * and the bearer token from the configuration or the shared Auth0 token provider.
+     *
+     * @return a new API client sharing the connection pool and dispatcher of the process
+     */
+    public DisApiClient newApiClient() {
+        return new DisApiClient(httpClient, configuration, bearerToken);
+    }
+
+    /**
+     * Creates an instance of the given generated API wrapper (e.g. CustomerOnboardingApi, FaceOperationsApi)
+     * on top of a new API client bound to the shared HTTP client.
+     *
+     * @param apiType the generated API class, which must have a constructor accepting {@link ApiClient}
+     * @param <T>     the type of the API wrapper
+     * @return a new API wrapper instance
+     * @throws ReflectiveOperationException if the API wrapper cannot be instantiated
+     */
+    public <T> T newApi(final Class<T> apiType) throws ReflectiveOperationException {
+        return newApi(apiType, newApiClient());
+    }
+
+    /**
+     * Creates an instance of the given generated API wrapper on top of the given API client.
+     *
+     * @param apiType   the generated API class, which must have a constructor accepting {@link ApiClient}
+     * @param apiClient the API client the wrapper should use
+     * @param <T>       the type of the API wrapper
+     * @return a new API wrapper instance
+     * @throws ReflectiveOperationException if the API wrapper cannot be instantiated
+     */
+    public static <T> T newApi(final Class<T> apiType, final ApiClient apiClient) throws ReflectiveOperationException {
+        return apiType.getConstructor(ApiClient.class).newInstance(apiClient);
+    }
+
+    private static OkHttpClient createHttpClient(final Configuration configuration) {
+        final Dispatcher dispatcher = createDispatcher(configuration, "dis-http-");
+
+        final ConnectionPool connectionPool = new ConnectionPool(
+                configuration.HTTP_CLIENT_MAX_IDLE_CONNECTIONS,
+                configuration.HTTP_CLIENT_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS);
+
+        log.info("Creating shared HTTP client with protocol: {}, max idle connections: {}, keep-alive: {}s, max requests: {}, max requests per host: {}",
+                configuration.HTTP_CLIENT_PROTOCOL,
+                configuration.HTTP_CLIENT_MAX_IDLE_CONNECTIONS,
+                configuration.HTTP_CLIENT_KEEP_ALIVE_SECONDS,
+                configuration.HTTP_CLIENT_MAX_REQUESTS,
+                configuration.HTTP_CLIENT_MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .protocols(resolveProtocols(configuration.HTTP_CLIENT_PROTOCOL))
+                .build();
+    }
+
+    /**
+     * Creates a dispatcher of asynchronous calls running on daemon threads. The default dispatcher keeps its idle
+     * threads alive for 60 s and they would keep the JVM of a finished sample running. Pending calls, such as queued
+     * deletions, are awaited by their owners before exit.
+     */
+    private static Dispatcher createDispatcher(final Configuration configuration, final String threadNamePrefix) {
+        final Dispatcher dispatcher = new Dispatcher(Executors.newCachedThreadPool(
+                Thread.ofPlatform().daemon().name(threadNamePrefix, 0).factory()));
+        dispatcher.setMaxRequests(configuration.HTTP_CLIENT_MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(configuration.HTTP_CLIENT_MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
+    private static RequestPolicyInterceptor createRequestPolicy(final Configuration configuration, final OkHttpClient baseHttpClient,
+                                                                final Auth0TokenProvider tokenProvider) {
+        final Dispatcher dispatcher = createDispatcher(configuration, "dis-http-hedge-");
+        final OkHttpClient.Builder hedgeClient = baseHttpClient.newBuilder().dispatcher(dispatcher);
+        if (tokenProvider != null) {
+            hedgeClient.authenticator(tokenProvider);
+        }
+
+        final Set<DisOperation> hedgedOperations = Arrays.stream(configuration.REQUEST_POLICY_HEDGED_OPERATIONS.split(","))
+                .map(String::trim)
+                .filter(operationId -> !operationId.isEmpty())
+                .map(DisOperation::fromOperationId)
+                .collect(Collectors.toSet());
+        log.info("Request policy: hedged operations: {}, max retries: {}", hedgedOperations, configuration.REQUEST_POLICY_MAX_RETRIES);
+        return new RequestPolicyInterceptor(hedgeClient.build(), hedgedOperations, configuration.REQUEST_POLICY_HEDGE_MIN_DELAY_MILLIS,
+                configuration.REQUEST_POLICY_HEDGE_MAX_PERCENT, configuration.REQUEST_POLICY_MAX_RETRIES, configuration.REQUEST_POLICY_RETRY_BACKOFF_MILLIS);
+    }
+
+    private static DisMetrics createMetrics(final Configuration configuration) {
+        final DisMetrics metrics = DisMetrics.getInstance(configuration.METRICS_JMX_ENABLED);
+        if (configuration.METRICS_PROMETHEUS_PORT > 0) {
+            try {
+                new PrometheusEndpoint(metrics, configuration.METRICS_PROMETHEUS_ADDRESS, configuration.METRICS_PROMETHEUS_PORT);
+            } catch (IOException e) {
+                log.error("Failed to start Prometheus endpoint on port {}.", configuration.METRICS_PROMETHEUS_PORT, e);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Resolves the configured protocol name into the list of protocols OkHttp should negotiate.
+     * HTTP/2 over TLS is negotiated via ALPN with HTTP/1.1 fallback, while h2c uses HTTP/2 with prior knowledge
+     * against plain-HTTP endpoints.
+     *
+     * @param protocol the configured protocol name
+     * @return the list of protocols to use
+     */
+    private static List<Protocol> resolveProtocols(final String protocol) {
+        return switch (protocol) {
+            case PROTOCOL_HTTP_1_1 -> List.of(Protocol.HTTP_1_1);
+            case PROTOCOL_HTTP_2 -> List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+            case PROTOCOL_H2C -> List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+            default -> throw new IllegalArgumentException("Unsupported HTTP client protocol: " + protocol);
+        };
+    }
+}
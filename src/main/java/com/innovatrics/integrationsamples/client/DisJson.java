@@ -0,0 +1,41 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.Strictness;
+import com.innovatrics.integrationsamples.testhelper.Base64TypeAdapter;
+import com.innovatrics.integrationsamples.testhelper.OffsetDateTimeDeserializer;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Gson instances used by {@link DisApiClient} for JSON request and response bodies.
+ * <p>
+ * Both instances are built once and are immutable, so they are safely shared by all API clients of the process.
+ * The compact instance is used by default, pretty printing is meant only for debugging, as it inflates request
+ * bodies carrying Base64 image data.
+ */
+public final class DisJson {
+    private static final Gson COMPACT = createGsonBuilder().create();
+    private static final Gson PRETTY_PRINTING = createGsonBuilder().setPrettyPrinting().create();
+
+    private DisJson() {
+    }
+
+    /**
+     * Returns the shared Gson instance.
+     *
+     * @param prettyPrint whether the JSON should be pretty printed
+     * @return the compact Gson instance, or the pretty printing one if requested
+     */
+    public static Gson getGson(final boolean prettyPrint) {
+        return prettyPrint ? PRETTY_PRINTING : COMPACT;
+    }
+
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(byte[].class, new Base64TypeAdapter())
+                .registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeDeserializer())
+                .setStrictness(Strictness.LENIENT);
+    }
+}
@@ -0,0 +1,142 @@
+package com.innovatrics.integrationsamples.client;
+
+import java.util.regex.Pattern;
+
+/**
+ * Operations of the Digital Identity Service (DIS) API as declared in {@code swagger.json}, identified by their
+ * operationId.
+ * <p>
+ * Operations are resolved from the HTTP method and the path of a request, so that interceptors and tools that see only
+ * the raw HTTP traffic, such as the load driver, can attribute each request to the API operation it invokes.
+ */
+public enum DisOperation {
+    INFO("info", "GET", "/api/v1/info"),
+    HEALTH("health", "GET", "/api/v1/health"),
+    GET_SELFIE_IMAGE("getSelfieImage", "GET", "/api/v1/customers/{id}/selfie"),
+    CREATE_SELFIE("createSelfie", "PUT", "/api/v1/customers/{id}/selfie"),
+    DELETE_SELFIE("deleteSelfie", "DELETE", "/api/v1/customers/{id}/selfie"),
+    CREATE_SELFIE_BINARY("createSelfieBinary", "PUT", "/api/v1/customers/{id}/selfie/binary"),
+    CREATE_LIVENESS("createLiveness", "PUT", "/api/v1/customers/{id}/liveness"),
+    DELETE_LIVENESS("deleteLiveness", "DELETE", "/api/v1/customers/{id}/liveness"),
+    CREATE_LIVENESS_RECORD_CHALLENGE("createLivenessRecordChallenge", "PUT", "/api/v1/customers/{id}/liveness/records/challenge"),
+    CREATE_DOCUMENT("createDocument", "PUT", "/api/v1/customers/{id}/document"),
+    DELETE_DOCUMENT("deleteDocument", "DELETE", "/api/v1/customers/{id}/document"),
+    CREATE_DOCUMENT_PAGE("createDocumentPage", "PUT", "/api/v1/customers/{id}/document/pages"),
+    CREATE_DOCUMENT_PAGE_BINARY("createDocumentPageBinary", "PUT", "/api/v1/customers/{id}/document/pages/binary"),
+    GET_DOCUMENT_CHIP_DATA("getDocumentChipData", "GET", "/api/v1/customers/{id}/document/chip/data"),
+    CREATE_DOCUMENT_CHIP_DATA("createDocumentChipData", "PUT", "/api/v1/customers/{id}/document/chip/data"),
+    CREATE_DOCUMENT_CHIP_CHALLENGE("createDocumentChipChallenge", "PUT", "/api/v1/customers/{id}/document/chip/challenge"),
+    CREATE_SESSION("createSession", "POST", "/api/v1/sessions"),
+    DELETE_SESSION("deleteSession", "DELETE", "/api/v1/sessions"),
+    CREATE_PALM("createPalm", "POST", "/api/v1/palms"),
+    CHECK_PALM_SIMILARITY("checkPalmSimilarity", "POST", "/api/v1/palms/{probe_palm_id}/similarity"),
+    INSPECT_PALM("inspectPalm", "POST", "/api/v1/palms/{id}/inspect"),
+    CREATE_PALM_BINARY("createPalmBinary", "POST", "/api/v1/palms/binary"),
+    DETECT_FACE("detectFace", "POST", "/api/v1/faces"),
+    CHECK_SIMILARITY("checkSimilarity", "POST", "/api/v1/faces/{probe_face_id}/similarity"),
+    DETECT_FACE_BINARY("detectFaceBinary", "POST", "/api/v1/faces/binary"),
+    CREATE_CUSTOMER("createCustomer", "POST", "/api/v1/customers"),
+    GET_CUSTOMER("getCustomer", "GET", "/api/v1/customers/{id}"),
+    CREATE_CUSTOMER_WITH_UUID("createCustomerWithUuid", "POST", "/api/v1/customers/{id}"),
+    DELETE_CUSTOMER("deleteCustomer", "DELETE", "/api/v1/customers/{id}"),
+    STORE_IN_TRUST_PLATFORM("storeInTrustPlatform", "POST", "/api/v1/customers/{id}/store"),
+    CREATE_LIVENESS_SELFIE("createLivenessSelfie", "POST", "/api/v1/customers/{id}/liveness/selfies"),
+    RETRIEVE_LIVENESS_SELFIES_AND_RECORDS("retrieveLivenessSelfiesAndRecords", "POST", "/api/v1/customers/{id}/liveness/selfies/retrieve"),
+    CREATE_LIVENESS_RECORD("createLivenessRecord", "POST", "/api/v1/customers/{id}/liveness/records"),
+    EVALUATE_LIVENESS("evaluateLiveness", "POST", "/api/v1/customers/{id}/liveness/evaluation"),
+    EVALUATE_EXTENDED_LIVENESS("evaluateExtendedLiveness", "POST", "/api/v1/customers/{id}/liveness/evaluation/extended"),
+    INSPECT("inspect", "POST", "/api/v1/customers/{id}/inspect"),
+    INSPECT_DISCLOSE("inspectDisclose", "POST", "/api/v1/customers/{id}/inspect/disclose"),
+    DOCUMENT_INSPECT("documentInspect", "POST", "/api/v1/customers/{id}/document/inspect"),
+    DOCUMENT_INSPECT_DISCLOSE("documentInspectDisclose", "POST", "/api/v1/customers/{id}/document/inspect/disclose"),
+    GET_PALM_TEMPLATE("getPalmTemplate", "GET", "/api/v1/palms/{id}/template"),
+    METADATA("metadata", "GET", "/api/v1/metadata"),
+    CHECK_QUALITY("checkQuality", "GET", "/api/v1/faces/{id}/quality"),
+    CHECK_GLASSES("checkGlasses", "GET", "/api/v1/faces/{id}/glasses"),
+    CREATE_TEMPLATE("createTemplate", "GET", "/api/v1/faces/{id}/face-template"),
+    CHECK_FACE_MASK("checkFaceMask", "GET", "/api/v1/faces/{id}/face-mask"),
+    DO_CROP("doCrop", "GET", "/api/v1/faces/{id}/crop"),
+    DO_CROP_REMOVE_BACKGROUND("doCropRemoveBackground", "GET", "/api/v1/faces/{id}/crop/removed-background"),
+    DO_CROP_COORDINATES("doCropCoordinates", "GET", "/api/v1/faces/{id}/crop/coordinates"),
+    EVALUATE_ASPECTS("evaluateAspects", "GET", "/api/v1/faces/{id}/aspects"),
+    CUSTOMER_LIVENESS_RECORD_SELFIE("customerLivenessRecordSelfie", "GET", "/api/v1/customers/{id}/liveness/records/{recordId}/selfie"),
+    DOCUMENT_SIGNATURE("documentSignature", "GET", "/api/v1/customers/{id}/document/signature"),
+    DOCUMENT_PORTRAIT("documentPortrait", "GET", "/api/v1/customers/{id}/document/portrait"),
+    DOCUMENT_PAGE_CROP("documentPageCrop", "GET", "/api/v1/customers/{id}/document/pages/{page-type}"),
+    DOCUMENT_PAGE_QUALITY("documentPageQuality", "GET", "/api/v1/customers/{id}/document/pages/{page-type}/quality"),
+    DOCUMENT_GHOST_PORTRAIT("documentGhostPortrait", "GET", "/api/v1/customers/{id}/document/ghost-portrait"),
+    DOCUMENT_FINGERPRINT("documentFingerprint", "GET", "/api/v1/customers/{id}/document/fingerprint"),
+    DOCUMENT_CHIP_PORTRAIT("documentChipPortrait", "GET", "/api/v1/customers/{id}/document/chip/portrait"),
+    DELETE_PALM("deletePalm", "DELETE", "/api/v1/palms/{id}"),
+    DELETE_FACE("deleteFace", "DELETE", "/api/v1/faces/{id}");
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final DisOperation[] OPERATIONS = values();
+
+    private final String operationId;
+    private final String method;
+    private final String pathTemplate;
+    private final Pattern pathPattern;
+
+    DisOperation(final String operationId, final String method, final String pathTemplate) {
+        this.operationId = operationId;
+        this.method = method;
+        this.pathTemplate = pathTemplate;
+        this.pathPattern = Pattern.compile(pathTemplate.replaceAll("\\{[^}]+}", "[^/]+"));
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    /**
+     * Resolves the operation invoked by a request. The path may contain a prefix before {@code /api/v1/}, e.g. when DIS
+     * is deployed behind a reverse proxy under a context path.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the encoded path of the request URL
+     * @return the operation, or null if the request does not match any operation
+     */
+    public static DisOperation resolve(final String method, final String path) {
+        final int apiStart = path.indexOf(API_PREFIX);
+        if (apiStart < 0) {
+            return null;
+        }
+        final String apiPath = apiStart == 0 ? path : path.substring(apiStart);
+        for (DisOperation operation : OPERATIONS) {
+            if (operation.method.equals(method) && operation.pathPattern.matcher(apiPath).matches()) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the operation with the given operationId.
+     *
+     * @param operationId the operationId declared in {@code swagger.json}
+     * @return the operation
+     * @throws IllegalArgumentException if no operation has the operationId
+     */
+    public static DisOperation fromOperationId(final String operationId) {
+        for (DisOperation operation : OPERATIONS) {
+            if (operation.operationId.equals(operationId)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown DIS operation: " + operationId);
+    }
+
+    @Override
+    public String toString() {
+        return operationId;
+    }
+}
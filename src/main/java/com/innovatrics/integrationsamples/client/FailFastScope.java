@@ -0,0 +1,159 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent branches of a workflow concurrently on virtual threads and fails fast.
+ * <p>
+ * Branches use the API client provided by the scope and run within the {@link SessionContext} of the thread forking
+ * them. As soon as one branch reports an error or throws an exception,
+ * all other branches are interrupted and every HTTP call still in flight on the scope's API client is cancelled.
+ * The scope is meant to be used by a single owner thread in a try-with-resources block:
+ * fork the branches, {@link #join()} them and close the scope.
+ */
+public class FailFastScope implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(FailFastScope.class);
+
+    /**
+     * A branch of a workflow.
+     */
+    @FunctionalInterface
+    public interface Branch {
+        /**
+         * Runs the branch.
+         *
+         * @return true if the branch succeeded, false if it reported an error
+         * @throws Exception if the branch failed
+         */
+        boolean run() throws Exception;
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+    private final Map<Future<Boolean>, String> branches = new HashMap<>();
+    private final Set<Call> callsInFlight = ConcurrentHashMap.newKeySet();
+    private final ApiClient apiClient;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new scope with its own API client bound to the shared HTTP client of the given provider.
+     *
+     * @param clientProvider the provider of the shared HTTP client
+     */
+    public FailFastScope(final DisHttpClientProvider clientProvider) {
+        apiClient = clientProvider.newApiClient();
+        apiClient.setHttpClient(apiClient.getHttpClient().newBuilder()
+                .addInterceptor(this::trackCall)
+                .build());
+    }
+
+    /**
+     * Returns the API client whose calls are cancelled when the scope fails. Branches should create their API
+     * wrappers on top of this client.
+     *
+     * @return the API client of the scope
+     */
+    public ApiClient getApiClient() {
+        return apiClient;
+    }
+
+    /**
+     * Starts the given branch on a new virtual thread.
+     *
+     * @param name   the name of the branch used for logging
+     * @param branch the branch to run
+     */
+    public void fork(final String name, final Branch branch) {
+        branches.put(completionService.submit(SessionContext.wrap((Callable<Boolean>) branch::run)), name);
+    }
+
+    /**
+     * Waits until all branches complete, or until the first one fails. A failure cancels the remaining branches.
+     *
+     * @return true if all branches succeeded, false otherwise
+     */
+    public boolean join() {
+        for (int remaining = branches.size(); remaining > 0; remaining--) {
+            final Future<Boolean> completed;
+            try {
+                completed = completionService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                return false;
+            }
+
+            final String name = branches.get(completed);
+            try {
+                if (!completed.get()) {
+                    log.error("Branch {} reported an error, cancelling remaining branches.", name);
+                    cancel();
+                    return false;
+                }
+            } catch (CancellationException e) {
+                return false;
+            } catch (ExecutionException e) {
+                log.error("Branch {} failed, cancelling remaining branches.", name, e.getCause());
+                cancel();
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cancels all branches that are still running together with their HTTP calls in flight.
+     */
+    public void cancel() {
+        cancelled = true;
+        branches.keySet().forEach(branch -> branch.cancel(true));
+        callsInFlight.forEach(Call::cancel);
+    }
+
+    /**
+     * Cancels the remaining branches, if any, and waits until their threads terminate.
+     */
+    @Override
+    public void close() {
+        if (branches.keySet().stream().anyMatch(branch -> !branch.isDone())) {
+            cancel();
+        }
+        executor.close();
+    }
+
+    private Response trackCall(final Interceptor.Chain chain) throws IOException {
+        final Call call = chain.call();
+        callsInFlight.add(call);
+        try {
+            if (cancelled) {
+                call.cancel();
+            }
+            return chain.proceed(chain.request());
+        } finally {
+            callsInFlight.remove(call);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.innovatrics.integrationsamples.client;
+
+import java.util.Locale;
+
+/**
+ * Transport used to upload images to Digital Identity Service (DIS).
+ */
+public enum ImageTransport {
+    /**
+     * Images are sent Base64 encoded inside JSON request bodies. Required when the request carries additional
+     * fields, such as page advice, next to the image.
+     */
+    JSON,
+    /**
+     * Images are sent as raw bytes to the binary endpoints with {@code application/octet-stream} content type,
+     * saving the Base64 overhead and the JSON encoding work.
+     */
+    BINARY;
+
+    /**
+     * Resolves the transport from its configured name.
+     *
+     * @param name the configured name, {@code json} or {@code binary}
+     * @return the transport
+     */
+    public static ImageTransport fromName(final String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported image transport: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.innovatrics.integrationsamples.client;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.Pair;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import okhttp3.Call;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Uploads the selfies of a multi-segment liveness, such as eye-gaze or smile liveness, of one customer.
+ * <p>
+ * All selfies are loaded and serialized into their JSON request bodies, including the Base64 encoding of the images,
+ * in parallel before the first upload. The uploads are then sent strictly one after another in the order of the
+ * segments, as DIS evaluates the assertions in the order the selfies were received, each of them from the callback of
+ * the previous one. No loading or encoding happens between two uploads, so the wall time is close to the time of the
+ * uploads alone.
+ */
+public class LivenessSelfiePipeline {
+    private static final String[] AUTH_NAMES = new String[]{"api"};
+    private static final String[] ACCEPTS = new String[]{"application/json"};
+    private static final String[] CONTENT_TYPES = new String[]{"application/json"};
+    private static final Type RESPONSE_TYPE = new TypeToken<CreateCustomerLivenessSelfieResponse>() {}.getType();
+    private static final Executor PREPARATION_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * A selfie of the liveness.
+     *
+     * @param assertion the assertion of the selfie, e.g. the eye-gaze position or the face expression
+     * @param image     loads the encoded image of the selfie
+     */
+    public record Segment(CreateCustomerLivenessSelfieRequest.AssertionEnum assertion, Callable<byte[]> image) {
+    }
+
+    private final AsyncApi<ApiClient> api;
+    private final Gson gson;
+
+    /**
+     * @param apiClient the API client sending the uploads
+     * @param gson      the Gson serializing the request bodies, see {@link DisJson}
+     */
+    public LivenessSelfiePipeline(final ApiClient apiClient, final Gson gson) {
+        this.api = new AsyncApi<>(apiClient);
+        this.gson = gson;
+    }
+
+    /**
+     * Uploads the selfies and waits until the last one is acknowledged.
+     *
+     * @param customerId the ID of the customer with a created liveness
+     * @param segments   the selfies in the order required by the liveness
+     * @return the responses in the order of the segments
+     * @throws ApiException if an upload fails
+     * @throws IOException  if an image cannot be loaded
+     */
+    public List<CreateCustomerLivenessSelfieResponse> upload(final String customerId, final List<Segment> segments) throws ApiException, IOException {
+        try {
+            return uploadAsync(customerId, segments).join();
+        } catch (CompletionException e) {
+            final ApiFailure apiFailure = ApiFailure.unwrap(e);
+            if (apiFailure != null && apiFailure.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Uploads the selfies. An upload which fails, or whose image cannot be loaded, fails the returned future and no
+     * further selfies are uploaded.
+     *
+     * @param customerId the ID of the customer with a created liveness
+     * @param segments   the selfies in the order required by the liveness
+     * @return the future completed with the responses in the order of the segments when the last one is acknowledged
+     */
+    public CompletableFuture<List<CreateCustomerLivenessSelfieResponse>> uploadAsync(final String customerId, final List<Segment> segments) {
+        final String path = "/api/v1/customers/" + api.getApi().escapeString(customerId) + "/liveness/selfies";
+        // uploads started on the preparation threads carry the session of the caller
+        final Executor executor = SessionContext.wrap(PREPARATION_EXECUTOR);
+        final List<CompletableFuture<byte[]>> bodies = segments.stream()
+                .map(segment -> CompletableFuture.supplyAsync(() -> serialize(segment), executor))
+                .toList();
+
+        // the stages run one after another, so the list needs no synchronization
+        final List<CreateCustomerLivenessSelfieResponse> responses = new ArrayList<>(segments.size());
+        CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+        for (CompletableFuture<byte[]> body : bodies) {
+            previous = previous.thenCombine(body, (acknowledged, json) -> json)
+                    .thenCompose(json -> send(path, json))
+                    .thenAccept(responses::add);
+        }
+        return previous.thenApply(completed -> responses);
+    }
+
+    private byte[] serialize(final Segment segment) {
+        final byte[] image;
+        try {
+            image = segment.image().call();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        final CreateCustomerLivenessSelfieRequest request = new CreateCustomerLivenessSelfieRequest()
+                .image(new Image().data(image))
+                .assertion(segment.assertion());
+        return gson.toJson(request).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private CompletableFuture<CreateCustomerLivenessSelfieResponse> send(final String path, final byte[] json) {
+        return api.call((apiClient, callback) -> {
+            final Map<String, String> headerParams = new HashMap<>();
+            headerParams.put("Accept", apiClient.selectHeaderAccept(ACCEPTS));
+            headerParams.put("Content-Type", apiClient.selectHeaderContentType(CONTENT_TYPES));
+            final List<Pair> queryParams = new ArrayList<>();
+            final List<Pair> collectionQueryParams = new ArrayList<>();
+
+            // the serialized body is sent as is
+            final Call call = apiClient.buildCall(null, path, "POST", queryParams, collectionQueryParams, json,
+                    headerParams, new HashMap<>(), new HashMap<>(), AUTH_NAMES, callback);
+            apiClient.executeAsync(call, RESPONSE_TYPE, callback);
+            return call;
+        });
+    }
+}
@@ -0,0 +1,317 @@
+package com.innovatrics.integrationsamples.client;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation request policy of the requests to Digital Identity Service (DIS): hedging and retries of idempotent
+ * GET requests.
+ * <p>
+ * A request of a hedged operation is sent once more if it has not been answered within the 95th percentile of the
+ * recent latencies of the operation, and the first answer that is not a server error wins. A losing hedge is cancelled,
+ * a losing original request is left to complete, so that the latencies of the operation are those of the original
+ * requests and are not lowered by the hedges. Hedges are limited to a percentage of the requests of the hedged
+ * operations, so that a slow DIS does not receive twice the load. No request is hedged until enough latencies of the
+ * operation have been observed.
+ * <p>
+ * GET requests failing with a connection error or a 5xx response are retried with exponential backoff and full
+ * jitter. Requests of any other method, notably the PUT and POST calls of customer onboarding, are never hedged nor
+ * retried. The backoff blocks the thread executing the call, i.e. a dispatcher thread of the HTTP client for
+ * asynchronous calls.
+ */
+public class RequestPolicyInterceptor implements Interceptor {
+    private static final Logger log = LogManager.getLogger(RequestPolicyInterceptor.class);
+
+    private static final String IDEMPOTENT_METHOD = "GET";
+    private static final long CANCELLATION_CHECK_MILLIS = 100;
+
+    private final OkHttpClient hedgeClient;
+    private final Set<DisOperation> hedgedOperations;
+    private final long minHedgeDelayMillis;
+    private final int hedgeMaxPercent;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final Map<DisOperation, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedgeableRequests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * Snapshot of the policy counters.
+     *
+     * @param requests          number of GET requests subject to the policy
+     * @param hedgeableRequests number of requests of the hedged operations
+     * @param hedges            number of hedge requests sent
+     * @param hedgeWins         number of hedge requests answered before the original request
+     * @param retries           number of retried requests
+     */
+    public record Statistics(long requests, long hedgeableRequests, long hedges, long hedgeWins, long retries) {
+    }
+
+    /**
+     * @param hedgeClient         the client sending hedged requests, sharing the connection pool of the shared client
+     *                            but with its own dispatcher, so hedges never wait for the slot of the intercepted call
+     * @param hedgedOperations    the operations to hedge, each must be a GET operation
+     * @param minHedgeDelayMillis the minimum delay before a hedge request is sent
+     * @param hedgeMaxPercent     the maximum percentage of hedged requests
+     * @param maxRetries          the maximum number of retries of a GET request
+     * @param retryBackoffMillis  the backoff before the first retry, doubled for every further retry
+     */
+    public RequestPolicyInterceptor(final OkHttpClient hedgeClient, final Set<DisOperation> hedgedOperations, final long minHedgeDelayMillis,
+                                    final int hedgeMaxPercent, final int maxRetries, final long retryBackoffMillis) {
+        for (DisOperation operation : hedgedOperations) {
+            if (!IDEMPOTENT_METHOD.equals(operation.getMethod())) {
+                throw new IllegalArgumentException("Operation " + operation + " is not idempotent and cannot be hedged.");
+            }
+        }
+        this.hedgeClient = hedgeClient;
+        this.hedgedOperations = Set.copyOf(hedgedOperations);
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+        this.hedgeMaxPercent = hedgeMaxPercent;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!IDEMPOTENT_METHOD.equals(request.method())) {
+            return chain.proceed(request);
+        }
+        requests.increment();
+        final DisOperation operation = DisOperation.resolve(request.method(), request.url().encodedPath());
+        final boolean hedged = operation != null && hedgedOperations.contains(operation);
+
+        for (int attempt = 0; ; attempt++) {
+            final Response response;
+            try {
+                response = hedged ? proceedHedged(chain, operation) : chain.proceed(request);
+            } catch (IOException e) {
+                if (attempt >= maxRetries || chain.call().isCanceled()) {
+                    throw e;
+                }
+                log.debug("Retrying {} after failure: {}", operation, e.toString());
+                backoff(attempt);
+                continue;
+            }
+            if (response.code() < 500 || attempt >= maxRetries) {
+                return response;
+            }
+            response.close();
+            log.debug("Retrying {} after response code {}", operation, response.code());
+            backoff(attempt);
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), hedgeableRequests.sum(), hedges.sum(), hedgeWins.sum(), retries.sum());
+    }
+
+    private Response proceedHedged(final Chain chain, final DisOperation operation) throws IOException {
+        hedgeableRequests.increment();
+        final LatencyWindow window = latencies.computeIfAbsent(operation, key -> new LatencyWindow());
+        final long hedgeDelay = window.getPercentile95Millis();
+        if (hedgeDelay < 0) {
+            final long start = System.nanoTime();
+            final Response response = chain.proceed(chain.request());
+            window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return response;
+        }
+
+        final Race race = new Race(chain.request(), window);
+        race.start();
+        Response response = race.await(chain.call(), Math.max(hedgeDelay, minHedgeDelayMillis));
+        if (response == null && hedges.sum() * 100 < (long) hedgeMaxPercent * hedgeableRequests.sum()) {
+            hedges.increment();
+            race.start();
+            log.debug("Hedging {} after {} ms", operation, hedgeDelay);
+        }
+        if (response == null) {
+            response = race.await(chain.call(), Long.MAX_VALUE);
+        }
+        if (race.isWonByHedge()) {
+            hedgeWins.increment();
+        }
+        return response;
+    }
+
+    private void backoff(final int attempt) throws InterruptedIOException {
+        retries.increment();
+        final long ceiling = retryBackoffMillis << Math.min(attempt, 16);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff.");
+        }
+    }
+
+    /**
+     * Identical requests racing for the first answer that is not a server error. A server error or a failure wins only
+     * if it is the last answer. Answers of the losing requests are closed and the losing hedge is cancelled. The latency
+     * of the original request is recorded when it is answered, whether it has won or not.
+     */
+    private final class Race {
+        private final Request request;
+        private final LatencyWindow window;
+        private final long start = System.nanoTime();
+        private final Call[] calls = new Call[2];
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicBoolean decided = new AtomicBoolean();
+        private final CompletableFuture<Response> winner = new CompletableFuture<>();
+        private volatile int winnerIndex = -1;
+
+        Race(final Request request, final LatencyWindow window) {
+            this.request = request;
+            this.window = window;
+        }
+
+        /**
+         * Starts one more request of the race. Called only by the thread executing the intercepted call.
+         */
+        void start() {
+            final int index = started.get();
+            final Call call = hedgeClient.newCall(request);
+            calls[index] = call;
+            remaining.incrementAndGet();
+            started.set(index + 1);
+            call.enqueue(new Callback() {
+                @Override
+                public void onResponse(final Call call, final Response response) {
+                    complete(index, response, null);
+                }
+
+                @Override
+                public void onFailure(final Call call, final IOException e) {
+                    complete(index, null, e);
+                }
+            });
+        }
+
+        private void complete(final int index, final Response response, final IOException failure) {
+            if (index == 0 && response != null) {
+                window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            final boolean last = remaining.decrementAndGet() == 0;
+            final boolean good = response != null && response.code() < 500;
+            if ((good || last) && decided.compareAndSet(false, true)) {
+                winnerIndex = index;
+                if (response != null) {
+                    winner.complete(response);
+                } else {
+                    winner.completeExceptionally(failure);
+                }
+                return;
+            }
+            if (response != null) {
+                response.close();
+            }
+        }
+
+        /**
+         * Waits for the winner, cancelling the race if the intercepted call is cancelled.
+         *
+         * @return the winning response, or null if the timeout elapsed
+         */
+        Response await(final Call interceptedCall, final long timeoutMillis) throws IOException {
+            final long deadline = timeoutMillis == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                while (true) {
+                    if (interceptedCall.isCanceled()) {
+                        cancelAll();
+                        throw new IOException("Canceled");
+                    }
+                    final long remainingNanos = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    try {
+                        final Response response = winner.get(Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(CANCELLATION_CHECK_MILLIS)), TimeUnit.NANOSECONDS);
+                        cancelLosers();
+                        return response;
+                    } catch (TimeoutException e) {
+                        // check for cancellation and the deadline again
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new InterruptedIOException("Interrupted while waiting for the response.");
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+            }
+        }
+
+        boolean isWonByHedge() {
+            return winnerIndex > 0;
+        }
+
+        private void cancelLosers() {
+            // the original request is left to complete, its latency is recorded
+            for (int i = 1; i < started.get(); i++) {
+                if (i != winnerIndex) {
+                    calls[i].cancel();
+                }
+            }
+        }
+
+        private void cancelAll() {
+            Arrays.stream(calls, 0, started.get()).forEach(Call::cancel);
+        }
+    }
+
+    /**
+     * Latencies of the most recent requests of one operation, from which the 95th percentile is recomputed
+     * periodically.
+     */
+    private static final class LatencyWindow {
+        private static final int SIZE = 256;
+        private static final int MIN_SAMPLES = 32;
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final long[] samples = new long[SIZE];
+        private long count;
+        private volatile long percentile95 = -1;
+
+        synchronized void record(final long latencyMillis) {
+            samples[(int) (count++ % SIZE)] = latencyMillis;
+            if (count >= MIN_SAMPLES && count % RECOMPUTE_INTERVAL == 0) {
+                final long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, SIZE));
+                Arrays.sort(sorted);
+                percentile95 = sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+            }
+        }
+
+        /**
+         * @return the 95th percentile in milliseconds, or -1 if not enough latencies have been observed yet
+         */
+        long getPercentile95Millis() {
+            return percentile95;
+        }
+    }
+}
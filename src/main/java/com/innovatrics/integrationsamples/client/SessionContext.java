@@ -0,0 +1,138 @@
+package com.innovatrics.integrationsamples.client;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Request session of a single workflow, sent with every DIS request the workflow makes.
+ * <p>
+ * The session is bound to the current thread for the duration of a scope instead of being set as a default header of
+ * an API client, so that any number of workflows with different sessions can run concurrently on the same API client
+ * and the shared HTTP client. A request captures the session bound when it is built, see
+ * {@link DisApiClient#buildRequest}, and {@link SessionTokenInterceptor} adds the session token header to it on
+ * whichever thread the call is executed.
+ * <p>
+ * Scopes are opened in a try-with-resources block and closed by the thread that opened them. Work handed over to
+ * other threads keeps the session when wrapped with {@link #wrap(Runnable)}, {@link #wrap(Callable)} or
+ * {@link #wrap(Executor)}; branches of a {@link FailFastScope} and dependent stages of the futures returned by
+ * {@link AsyncApi} keep it without wrapping.
+ */
+public final class SessionContext {
+    public static final String SESSION_TOKEN_HEADER = "x-inn-session-token";
+
+    private static final ThreadLocal<SessionContext> CURRENT = new ThreadLocal<>();
+
+    private final String sessionToken;
+
+    private SessionContext(final String sessionToken) {
+        this.sessionToken = sessionToken;
+    }
+
+    /**
+     * Scope of a session bound to the current thread. Closing the scope restores the session bound before it.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final SessionContext previous;
+        private final Thread owner = Thread.currentThread();
+
+        private Scope(final SessionContext previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * @throws IllegalStateException if called by another thread than the one which opened the scope
+         */
+        @Override
+        public void close() {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Session scope must be closed by the thread which opened it.");
+            }
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds the session to the current thread until the returned scope is closed.
+     *
+     * @param sessionToken the token returned when the session was created
+     * @return the scope of the session
+     */
+    public static Scope open(final String sessionToken) {
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            throw new IllegalArgumentException("Session token must not be empty.");
+        }
+        return bind(new SessionContext(sessionToken));
+    }
+
+    /**
+     * @return the session bound to the current thread, or null if there is none
+     */
+    public static SessionContext current() {
+        return CURRENT.get();
+    }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    /**
+     * Returns a task which runs the given task with the session bound to the current thread, if any.
+     *
+     * @param task the task
+     * @return the task carrying the session
+     */
+    public static Runnable wrap(final Runnable task) {
+        final SessionContext session = current();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = bind(session)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Returns a task which calls the given task with the session bound to the current thread, if any.
+     *
+     * @param task the task
+     * @param <T>  the type of the result
+     * @return the task carrying the session
+     */
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final SessionContext session = current();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = bind(session)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Returns an executor which runs the submitted tasks with the session bound to the submitting thread.
+     *
+     * @param executor the executor running the tasks
+     * @return the executor carrying the session of the submitting threads
+     */
+    public static Executor wrap(final Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    static Scope bind(final SessionContext session) {
+        final Scope scope = new Scope(CURRENT.get());
+        restore(session);
+        return scope;
+    }
+
+    private static void restore(final SessionContext session) {
+        if (session == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(session);
+        }
+    }
+}
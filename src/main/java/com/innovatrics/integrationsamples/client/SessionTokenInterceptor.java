@@ -0,0 +1,28 @@
+package com.innovatrics.integrationsamples.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Adds the session token header to the requests built within a {@link SessionContext} scope. The session is taken from
+ * the request, not from the thread executing the call, so asynchronous calls executed on the dispatcher threads of the
+ * HTTP client carry the session of the workflow which started them. A session token header set explicitly by the
+ * caller, e.g. for deleting the session, is left unchanged.
+ */
+public class SessionTokenInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final SessionContext session = request.tag(SessionContext.class);
+        if (session == null || request.header(SessionContext.SESSION_TOKEN_HEADER) != null) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder()
+                .header(SessionContext.SESSION_TOKEN_HEADER, session.getSessionToken())
+                .build());
+    }
+}
@@ -0,0 +1,110 @@
+package com.innovatrics.integrationsamples.client;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Request bodies streamed from their source with a known content length, so that large uploads such as liveness
+ * records are neither copied to the heap as a whole nor spilled to a temporary file first. The body is written to the
+ * connection in chunks of {@value #CHUNK_SIZE} bytes.
+ */
+public final class StreamingRequestBodies {
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private StreamingRequestBodies() {
+    }
+
+    /**
+     * Creates a body reading the given number of bytes from the stream. The body can be written only once, so the
+     * request is not repeated e.g. on authentication challenges. The stream is not closed.
+     *
+     * @param contentType   the media type of the body
+     * @param stream        the stream positioned at the start of the body
+     * @param contentLength the number of bytes of the body
+     * @return the body
+     */
+    public static RequestBody of(final MediaType contentType, final InputStream stream, final long contentLength) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return true;
+            }
+
+            @Override
+            public void writeTo(final BufferedSink sink) throws IOException {
+                // fails with EOFException if the stream ends before the content length
+                sink.write(Okio.source(stream), contentLength);
+            }
+        };
+    }
+
+    /**
+     * Creates a body of the remaining bytes of the buffer, e.g. a {@link MappedByteBuffer} or a direct buffer filled
+     * by another component. The position of the buffer is not changed, so the body can be written repeatedly.
+     *
+     * @param contentType the media type of the body
+     * @param buffer      the buffer
+     * @return the body
+     */
+    public static RequestBody of(final MediaType contentType, final ByteBuffer buffer) {
+        final ByteBuffer content = buffer.slice();
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return content.remaining();
+            }
+
+            @Override
+            public void writeTo(final BufferedSink sink) throws IOException {
+                // writing the whole buffer at once would copy it into the sink's buffer before sending
+                final ByteBuffer source = content.duplicate();
+                while (source.hasRemaining()) {
+                    final int length = Math.min(CHUNK_SIZE, source.remaining());
+                    sink.write(source.slice(source.position(), length));
+                    source.position(source.position() + length);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a body of the file mapped into memory. The pages of the file are read by the operating system as they
+     * are sent, they do not count to the heap.
+     *
+     * @param contentType the media type of the body
+     * @param file        the file, at most 2 GB large
+     * @return the body
+     * @throws IOException if the file cannot be mapped
+     */
+    public static RequestBody mapped(final MediaType contentType, final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return of(contentType, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.innovatrics.integrationsamples.faceoperations;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.ApiFailure;
+import com.innovatrics.integrationsamples.client.AsyncFaceOperationsApi;
+import com.innovatrics.integrationsamples.faceoperations.analysis.FaceAnalysis;
+import com.innovatrics.integrationsamples.faceoperations.analysis.FaceAnalyzer;
+import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * This example demonstrates the face quality, wearables and aspects checks combined into one analysis. The face is
+ * detected once and all attribute requests are sent in parallel, see {@link FaceAnalyzer}.
+ */
+public class FaceAnalysisCheck extends BaseApiTest<FaceOperationsApi> {
+    private static final Logger log = LogManager.getLogger(FaceAnalysisCheck.class);
+
+    public FaceAnalysisCheck(Configuration configuration) throws ReflectiveOperationException {
+        super(configuration);
+    }
+
+    /**
+     * Analyzes the face on a predefined image URL and logs the decisions of all checks.
+     *
+     * @throws ApiFailure if the face detection fails or no face is detected.
+     */
+    @Override
+    protected void doTest() {
+        final FaceAnalyzer analyzer = new FaceAnalyzer(new AsyncFaceOperationsApi(getApi()), configuration);
+
+        final long start = System.nanoTime();
+        final FaceAnalysis analysis;
+        try {
+            analysis = analyzer.analyze(new CreateFaceRequest().image(new Image().url(configuration.EXAMPLE_IMAGE_URL))).join();
+        } catch (CompletionException e) {
+            final ApiFailure failure = ApiFailure.unwrap(e);
+            throw failure != null ? failure : e;
+        }
+        log.info("Face {} analyzed in {} ms", analysis.faceId(), (System.nanoTime() - start) / 1_000_000);
+
+        log.info("Face image is compliant with selected quality criteria: {}", analysis.qualityCompliant());
+        log.info("Glasses were detected on face image: {} having heavy frame: {} and having tinted glass: {}",
+                analysis.glassesDetected(), analysis.heavyFrame(), analysis.tintedGlasses());
+        log.info("Face mask detected on face image: {}", analysis.faceMaskDetected());
+        log.info("Gender is evaluated as: {}, age is at or above threshold: {}", analysis.gender(), analysis.ageAboveThreshold());
+        if (!analysis.failures().isEmpty()) {
+            log.warn("Unavailable attributes: {}", analysis.failures().keySet());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        new FaceAnalysisCheck(new Configuration()).test();
+    }
+}
@@ -56,26 +56,27 @@ public class FaceDetection extends BaseApiTest<FaceOperationsApi> {
         if (isUrl) {
             response = getApi().detectFace(new CreateFaceRequest().image(new Image().url(imageSource)));
         } else {
-            response = getApi().detectFace(new CreateFaceRequest().image(new Image().data(getDetectionImage(imageSource))));
+            response = detectFace(getDetectionImage(imageSource));
         }
 
         if( response.getDetection() == null ) {
             throw new ApiException("Detection Object is null");
         }
+        cleanupQueue.trackFace(response.getId());
         log.info("Face created with id: {} with detection confidence: {}", response.getId(), response.getDetection().getConfidence());
 
         deleteAndLogFace(response.getId());
     }
 
     /**
-     * Deletes the face with the specified faceId and logs the deletion.
+     * Queues deletion of the face with the specified faceId and logs it. The face is deleted asynchronously by the
+     * cleanup queue.
      *
      * @param faceId The ID of the face to be deleted.
-     * @throws ApiException if there is an error during the API call to delete the face.
      */
-    private void deleteAndLogFace(final String faceId) throws ApiException {
-        getApi().deleteFace(faceId);
-        log.info("Deleted face with id: {}", faceId);
+    private void deleteAndLogFace(final String faceId) {
+        cleanupQueue.deleteFace(faceId);
+        log.info("Queued deletion of face with id: {}", faceId);
     }
 
     public static void main(String[] args) throws IOException, ReflectiveOperationException {
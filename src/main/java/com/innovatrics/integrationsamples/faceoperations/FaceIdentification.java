@@ -0,0 +1,98 @@
+package com.innovatrics.integrationsamples.faceoperations;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceTemplateResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.AsyncFaceOperationsApi;
+import com.innovatrics.integrationsamples.faceoperations.identification.FaceIdentifier;
+import com.innovatrics.integrationsamples.faceoperations.identification.TemplateGallery;
+import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+
+/**
+ * This example demonstrates 1:N identification of a face against a gallery of face templates, e.g. for watch-list
+ * screening. Templates of the configured gallery images are created once and stored in a persistent gallery file,
+ * the probe face is then compared to all templates of the gallery and the best matches are reported.
+ */
+public class FaceIdentification extends BaseApiTest<FaceOperationsApi> {
+    private static final Logger log = LogManager.getLogger(FaceIdentification.class);
+
+    public FaceIdentification(Configuration configuration) throws ReflectiveOperationException {
+        super(configuration);
+    }
+
+    /**
+     * Enrolls the gallery images not yet stored in the gallery and identifies the face of the example image.
+     *
+     * @throws ApiException if an API error occurs
+     * @throws IOException if the gallery or an image cannot be read
+     */
+    @Override
+    protected void doTest() throws ApiException, IOException {
+        try (TemplateGallery gallery = TemplateGallery.open(Path.of(configuration.FACE_IDENTIFICATION_GALLERY_FILE))) {
+            enroll(gallery);
+
+            final String probeFaceId = getApi().detectFace(new CreateFaceRequest().image(new Image().url(configuration.EXAMPLE_IMAGE_URL))).getId();
+            if (probeFaceId == null) {
+                throw new ApiException("No face detected on the probe image");
+            }
+            cleanupQueue.trackFace(probeFaceId);
+            try {
+                final FaceIdentifier identifier = new FaceIdentifier(new AsyncFaceOperationsApi(getApi()), gallery, configuration.FACE_IDENTIFICATION_PARALLELISM);
+                final long start = System.nanoTime();
+                final FaceIdentifier.Result result = identifier.identify(probeFaceId, configuration.FACE_IDENTIFICATION_TOP_K, configuration.FACE_IDENTIFICATION_STOP_THRESHOLD);
+                log.info("Compared probe to {} of {} templates in {} ms, failed comparisons: {}, terminated early: {}",
+                        result.comparisons(), gallery.size(), (System.nanoTime() - start) / 1_000_000, result.failures(), result.terminatedEarly());
+                result.matches().forEach(match -> log.info("Match: {} score: {}", match.id(), match.score()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Identification interrupted.");
+            } finally {
+                cleanupQueue.deleteFace(probeFaceId);
+            }
+        }
+    }
+
+    /**
+     * Creates templates of the gallery images that are not stored in the gallery yet. Images are identified by their
+     * location.
+     *
+     * @param gallery the gallery
+     * @throws ApiException if an API error occurs
+     * @throws IOException if an image cannot be loaded or the template cannot be stored
+     */
+    private void enroll(final TemplateGallery gallery) throws ApiException, IOException {
+        for (String location : configuration.FACE_IDENTIFICATION_GALLERY_IMAGES.split(",")) {
+            final String id = location.trim();
+            if (id.isEmpty() || gallery.contains(id)) {
+                continue;
+            }
+            final String faceId = detectFace(loadImageFromLocation(id)).getId();
+            if (faceId == null) {
+                throw new ApiException("No face detected on " + id);
+            }
+            cleanupQueue.trackFace(faceId);
+            try {
+                final FaceTemplateResponse template = getApi().createTemplate(faceId);
+                gallery.add(id, template.getData(), template.getVersion());
+                log.info("Enrolled {} with template version {}", id, template.getVersion());
+            } finally {
+                cleanupQueue.deleteFace(faceId);
+            }
+        }
+        gallery.flush();
+        log.info("Gallery contains {} templates of version {}", gallery.size(), gallery.getTemplateVersion());
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        new FaceIdentification(new Configuration()).test();
+    }
+}
@@ -11,10 +11,6 @@ import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.IOException;
 
 /**
@@ -27,6 +23,7 @@ public class FaceImageCrops extends BaseApiTest<FaceOperationsApi> {
 
     private static final int FORCED_WIDTH = 800;
     private static final int FORCED_HEIGHT = 800;
+    private static final String OUTPUT_FOLDER = "faceImageCropsOutput";
 
     public FaceImageCrops(Configuration configuration) throws ReflectiveOperationException {
         super(configuration);
@@ -82,8 +79,8 @@ public class FaceImageCrops extends BaseApiTest<FaceOperationsApi> {
     private void performCrop(String faceId, Integer horizontalLength, Integer verticalLength, String fileName) throws ApiException, IOException {
         log.info("Calling crop for face with id: {}, resulting height: {}, width: {}", faceId, horizontalLength, verticalLength);
         ImageCrop crop = getApi().doCrop(faceId, horizontalLength, verticalLength);
-        saveImage(crop.getData(), fileName);
-        log.info("Face image crop obtained and stored in faceImageCropsOutput/{}", fileName);
+        saveImage(crop.getData(), OUTPUT_FOLDER, fileName);
+        log.info("Face image crop obtained and queued for writing to {}/{}", OUTPUT_FOLDER, fileName);
     }
 
     /**
@@ -99,26 +96,8 @@ public class FaceImageCrops extends BaseApiTest<FaceOperationsApi> {
     private void performCropWithBackgroundRemoval(String faceId, Integer horizontalLength, Integer verticalLength, String fileName) throws ApiException, IOException {
         log.info("Calling crop with removed background for face with id: {}, resulting height: {}, width: {}", faceId, horizontalLength, verticalLength);
         ImageCrop crop = getApi().doCropRemoveBackground(faceId, horizontalLength, verticalLength);
-        saveImage(crop.getData(), fileName);
-        log.info("Face image removed background crop obtained and stored in faceImageCropsOutput/{}", fileName);
-    }
-
-    /**
-     * Saves the given image data to a specified file.
-     * This method first prepares the output directory where the image will be saved.
-     * It then reads the image data from a byte array and writes it to a file
-     * in the "faceImageCropsOutput" directory with the given file name.
-     *
-     * @param image the byte array representing the image data to be saved
-     * @param fileName the name of the file to which the image data is to be saved
-     * @throws IOException if an I/O error occurs during the saving of the image
-     */
-    private void saveImage(byte[] image, String fileName) throws IOException {
-        prepareOutputDirectory("faceImageCropsOutput");
-
-        ByteArrayInputStream bis = new ByteArrayInputStream(image);
-        BufferedImage bImage2 = ImageIO.read(bis);
-        ImageIO.write(bImage2, "png", new File("faceImageCropsOutput/" + fileName));
+        saveImage(crop.getData(), OUTPUT_FOLDER, fileName);
+        log.info("Face image removed background crop obtained and queued for writing to {}/{}", OUTPUT_FOLDER, fileName);
     }
 
     public static void main(String[] args) throws IOException, ReflectiveOperationException {
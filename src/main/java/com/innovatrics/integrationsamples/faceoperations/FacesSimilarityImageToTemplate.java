@@ -7,6 +7,7 @@ import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityRequest
 import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.faceoperations.template.FaceTemplateCache;
 import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,6 +18,9 @@ import java.io.IOException;
  * This example demonstrates usage of face operations API for evaluating face similarity of an image with generated
  * template. Templates can be used instead of images for performance optimization. Templates are incompatible across
  * major product upgrades.
+ * <p>
+ * The reference template is taken from the {@link FaceTemplateCache}, so repeated runs with the same reference image
+ * skip face detection and template creation of the reference.
  */
 public class FacesSimilarityImageToTemplate extends BaseApiTest<FaceOperationsApi> {
     private static final Logger log = LogManager.getLogger(FacesSimilarityImageToTemplate.class);
@@ -29,12 +33,13 @@ public class FacesSimilarityImageToTemplate extends BaseApiTest<FaceOperationsAp
      * Executes a test to evaluate face similarity between an image and a generated face template.
      *
      * @throws ApiException if an API error occurs.
+     * @throws IOException if the reference image cannot be loaded.
      */
     @Override
-    protected void doTest() throws ApiException {
+    protected void doTest() throws ApiException, IOException {
         String probeFaceId = getApi().detectFace(new CreateFaceRequest().image(new Image().url(configuration.EXAMPLE_IMAGE_URL))).getId();
 
-        byte[] template = createTemplate(configuration, getApi());
+        byte[] template = createTemplate(configuration, loadImageFromLocation(configuration.EXAMPLE_IMAGE_URL));
 
         FaceSimilarityResponse faceSimilarityResponse = getApi()
                 .checkSimilarity(probeFaceId, new FaceSimilarityRequest().referenceFaceTemplate(template));
@@ -43,16 +48,19 @@ public class FacesSimilarityImageToTemplate extends BaseApiTest<FaceOperationsAp
     }
 
     /**
-     * Generates a face template from an example image.
+     * Generates a face template from an example image, or returns the cached template of the same image.
      *
      * @param configuration The configuration object containing essential settings and URLs.
-     * @param faceApi The API instance for interacting with face operations.
+     * @param image The encoded example image.
      * @return A byte array representing the generated face template.
      * @throws ApiException If an error occurs during the API call.
+     * @throws IOException If a cached template cannot be read.
      */
-    private static byte[] createTemplate(Configuration configuration, FaceOperationsApi faceApi) throws ApiException {
-        String id = faceApi.detectFace(new CreateFaceRequest().image(new Image().url(configuration.EXAMPLE_IMAGE_URL))).getId();
-        return faceApi.createTemplate(id).getData();
+    private static byte[] createTemplate(Configuration configuration, byte[] image) throws ApiException, IOException {
+        FaceTemplateCache cache = FaceTemplateCache.getInstance(configuration);
+        byte[] template = cache.getTemplate(image, null).data();
+        log.info("Face template cache: {}", cache.getStatistics());
+        return template;
     }
 
     public static void main(String[] args) throws IOException, ReflectiveOperationException {
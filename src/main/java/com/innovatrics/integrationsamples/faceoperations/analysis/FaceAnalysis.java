@@ -0,0 +1,46 @@
+package com.innovatrics.integrationsamples.faceoperations.analysis;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceAspectsResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceMaskResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceQualityResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.GlassesResponse;
+
+import java.util.Map;
+
+/**
+ * Combined result of the face analysis of one image, see {@link FaceAnalyzer}.
+ * <p>
+ * Attributes whose request failed, e.g. the face mask check when the detection mode of DIS is {@code fast}, are null,
+ * together with the decisions depending on them, and the failure is reported in {@link #failures()}.
+ *
+ * @param faceId              the id of the detected face, deleted once the analysis completes
+ * @param detectionConfidence the confidence of the face detection
+ * @param quality             the face quality attributes
+ * @param glasses             the glasses scores
+ * @param faceMask            the face mask score
+ * @param aspects             the face aspects
+ * @param qualityCompliant    whether detection confidence, yaw and pitch meet the configured glass detection
+ *                            preconditions
+ * @param glassesDetected     whether the glasses score is above the configured threshold
+ * @param heavyFrame          whether the heavy frame score is above the configured threshold
+ * @param tintedGlasses       whether the tinted glass score is above the configured threshold
+ * @param faceMaskDetected    whether the face mask score is above the configured threshold
+ * @param ageAboveThreshold   whether the age is at or above the configured threshold
+ * @param gender              the gender evaluated by the configured threshold, {@code F} or {@code M}
+ * @param failures            the failures of attribute requests by operation id
+ */
+public record FaceAnalysis(String faceId,
+                           Double detectionConfidence,
+                           FaceQualityResponse quality,
+                           GlassesResponse glasses,
+                           FaceMaskResponse faceMask,
+                           FaceAspectsResponse aspects,
+                           Boolean qualityCompliant,
+                           Boolean glassesDetected,
+                           Boolean heavyFrame,
+                           Boolean tintedGlasses,
+                           Boolean faceMaskDetected,
+                           Boolean ageAboveThreshold,
+                           String gender,
+                           Map<String, String> failures) {
+}
@@ -0,0 +1,129 @@
+package com.innovatrics.integrationsamples.faceoperations.analysis;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceAspectsResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceMaskResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceQualityResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.GlassesResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.HeadPoseAttribute;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.ApiFailure;
+import com.innovatrics.integrationsamples.client.AsyncFaceOperationsApi;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Composite face analysis evaluating face quality, glasses, face mask and face aspects of one image.
+ * <p>
+ * The face is detected once and the four attribute requests are sent concurrently against the one face id through
+ * the asynchronous API, so the analysis takes one detection and one wave of parallel requests instead of one
+ * detection and one request after another per check. The configured thresholds are applied to the combined result.
+ * The face is deleted asynchronously once all attribute requests complete, the analysis does not wait for the
+ * deletion.
+ */
+public class FaceAnalyzer {
+    private static final Logger log = LogManager.getLogger(FaceAnalyzer.class);
+
+    private final AsyncFaceOperationsApi api;
+    private final Configuration configuration;
+
+    /**
+     * @param api           the asynchronous face operations API
+     * @param configuration the configuration holding the {@code wearables.*}, {@code aspects-check.*} and
+     *                      {@code quality.glass-conditions.*} thresholds
+     */
+    public FaceAnalyzer(final AsyncFaceOperationsApi api, final Configuration configuration) {
+        this.api = api;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Detects the face on the image and analyzes it.
+     *
+     * @param createFaceRequest the face detection request
+     * @return the future completed with the analysis, or with {@link ApiFailure} if the face detection fails or no
+     * face is detected
+     */
+    public CompletableFuture<FaceAnalysis> analyze(final CreateFaceRequest createFaceRequest) {
+        return api.detectFace(createFaceRequest).thenCompose(this::analyze);
+    }
+
+    private CompletableFuture<FaceAnalysis> analyze(final CreateFaceResponse face) {
+        if (face.getId() == null) {
+            return CompletableFuture.failedFuture(new ApiFailure(new ApiException("Face not detected: " + face.getErrorCode())));
+        }
+
+        final String faceId = face.getId();
+        final Map<String, String> failures = new TreeMap<>();
+        final CompletableFuture<FaceQualityResponse> quality = attribute("checkQuality", api.checkQuality(faceId), failures);
+        final CompletableFuture<GlassesResponse> glasses = attribute("checkGlasses", api.checkGlasses(faceId), failures);
+        final CompletableFuture<FaceMaskResponse> faceMask = attribute("checkFaceMask", api.checkFaceMask(faceId), failures);
+        final CompletableFuture<FaceAspectsResponse> aspects = attribute("evaluateAspects", api.evaluateAspects(faceId), failures);
+
+        return CompletableFuture.allOf(quality, glasses, faceMask, aspects)
+                .whenComplete((ignored, failure) -> deleteFace(faceId))
+                .thenApply(ignored -> evaluate(face, quality.join(), glasses.join(), faceMask.join(), aspects.join(), failures));
+    }
+
+    private FaceAnalysis evaluate(final CreateFaceResponse face, final FaceQualityResponse quality, final GlassesResponse glasses,
+                                  final FaceMaskResponse faceMask, final FaceAspectsResponse aspects, final Map<String, String> failures) {
+        final Double confidence = face.getDetection() != null ? face.getDetection().getConfidence() : null;
+
+        Boolean qualityCompliant = null;
+        if (quality != null && confidence != null && quality.getYaw() != null && quality.getPitch() != null) {
+            qualityCompliant = confidence >= configuration.QUALITY_GLASS_CONDITIONS_DETECTION_CONFIDENCE
+                    && isWithin(quality.getYaw(), configuration.QUALITY_GLASS_CONDITIONS_YAW_ANGLE_LOW, configuration.QUALITY_GLASS_CONDITIONS_YAW_ANGLE_HIGH)
+                    && isWithin(quality.getPitch(), configuration.QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_LOW, configuration.QUALITY_GLASS_CONDITIONS_PITCH_ANGLE_HIGH);
+        }
+
+        return new FaceAnalysis(face.getId(), confidence, quality, glasses, faceMask, aspects,
+                qualityCompliant,
+                glasses != null ? isAbove(glasses.getScore(), configuration.WEARABLES_GLASSES_THRESHOLD) : null,
+                glasses != null ? isAbove(glasses.getHeavyFrame(), configuration.WEARABLES_HEAVY_GLASS_FRAME_THRESHOLD) : null,
+                glasses != null ? isAbove(glasses.getTinted(), configuration.WEARABLES_TINTED_GLASS_THRESHOLD) : null,
+                faceMask != null ? isAbove(faceMask.getScore(), configuration.WEARABLES_FACE_MASK_THRESHOLD) : null,
+                aspects != null && aspects.getAge() != null ? aspects.getAge() >= configuration.ASPECTS_CHECK_AGE_THRESHOLD : null,
+                aspects != null && aspects.getGender() != null ? (aspects.getGender() >= configuration.ASPECTS_CHECK_GENDER_THRESHOLD ? "F" : "M") : null,
+                Collections.unmodifiableMap(failures));
+    }
+
+    /**
+     * Turns a failed attribute request into a null attribute and records the failure, so that one unavailable
+     * attribute does not fail the whole analysis.
+     */
+    private static <R> CompletableFuture<R> attribute(final String operationId, final CompletableFuture<R> request, final Map<String, String> failures) {
+        return request.exceptionally(failure -> {
+            final ApiFailure apiFailure = ApiFailure.unwrap(failure);
+            final String reason = apiFailure != null ? apiFailure.toString() : String.valueOf(failure);
+            synchronized (failures) {
+                failures.put(operationId, reason);
+            }
+            log.warn("Request {} failed: {}", operationId, reason);
+            return null;
+        });
+    }
+
+    private void deleteFace(final String faceId) {
+        api.deleteFace(faceId).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                log.warn("Failed to delete face {}: {}", faceId, failure.getMessage());
+            }
+        });
+    }
+
+    private static Boolean isAbove(final Double score, final Double threshold) {
+        return score != null ? score > threshold : null;
+    }
+
+    private static boolean isWithin(final HeadPoseAttribute attribute, final Double min, final Double max) {
+        return Boolean.TRUE.equals(attribute.getPreconditionsMet()) && attribute.getAngle() != null
+                && attribute.getAngle() > min && attribute.getAngle() < max;
+    }
+}
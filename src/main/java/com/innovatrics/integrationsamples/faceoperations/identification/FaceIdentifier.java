@@ -0,0 +1,142 @@
+package com.innovatrics.integrationsamples.faceoperations.identification;
+
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceSimilarityResponse;
+import com.innovatrics.integrationsamples.client.AsyncFaceOperationsApi;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 1:N identification of a probe face against a {@link TemplateGallery}.
+ * <p>
+ * The probe is compared to every template of the gallery by {@code checkSimilarity} requests sent through the
+ * asynchronous API, with at most the configured number of requests in flight, so the throughput of one probe is
+ * bounded by the parallelism and the connection pool rather than by threads. The best matches are kept in a bounded
+ * heap. When a template matches with a score at or above the stop threshold, no further requests are sent and the
+ * requests in flight are cancelled.
+ */
+public class FaceIdentifier {
+    private static final Logger log = LogManager.getLogger(FaceIdentifier.class);
+
+    private final AsyncFaceOperationsApi api;
+    private final TemplateGallery gallery;
+    private final int parallelism;
+
+    /**
+     * A template of the gallery matched by the probe.
+     *
+     * @param id    the id of the template
+     * @param score the similarity score of the probe and the template
+     */
+    public record Match(String id, double score) {
+    }
+
+    /**
+     * Result of the identification of one probe.
+     *
+     * @param matches          the best matches ordered by descending score
+     * @param comparisons      the number of templates compared to the probe
+     * @param failures         the number of comparisons that failed
+     * @param terminatedEarly  whether the identification stopped at a match above the stop threshold
+     */
+    public record Result(List<Match> matches, int comparisons, int failures, boolean terminatedEarly) {
+    }
+
+    /**
+     * @param api         the asynchronous face operations API
+     * @param gallery     the gallery of templates
+     * @param parallelism the maximum number of similarity requests in flight, typically the maximum number of
+     *                    requests per host of the HTTP client
+     */
+    public FaceIdentifier(final AsyncFaceOperationsApi api, final TemplateGallery gallery, final int parallelism) {
+        this.api = api;
+        this.gallery = gallery;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Identifies the probe face in the gallery.
+     *
+     * @param probeFaceId   the id of the probe face detected by DIS
+     * @param topK          the maximum number of matches to return
+     * @param stopThreshold the score at which the identification stops early, a value above 1 disables early
+     *                      termination
+     * @return the result of the identification
+     * @throws IOException          if the gallery cannot be read
+     * @throws InterruptedException if the identification is interrupted
+     */
+    public Result identify(final String probeFaceId, final int topK, final double stopThreshold) throws IOException, InterruptedException {
+        final Semaphore window = new Semaphore(parallelism);
+        final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        final PriorityQueue<Match> best = new PriorityQueue<>(topK + 1, Comparator.comparingDouble(Match::score));
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final AtomicInteger comparisons = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        boolean visited = false;
+        try {
+            gallery.forEach((id, template) -> {
+                window.acquire();
+                if (stopped.get()) {
+                    window.release();
+                    return false;
+                }
+                final CompletableFuture<FaceSimilarityResponse> comparison =
+                        api.checkSimilarity(probeFaceId, new FaceSimilarityRequest().referenceFaceTemplate(template));
+                inFlight.add(comparison);
+                comparison.whenComplete((response, failure) -> {
+                    try {
+                        inFlight.remove(comparison);
+                        if (failure != null) {
+                            if (!(failure instanceof CancellationException)) {
+                                failures.incrementAndGet();
+                                log.warn("Comparison with template {} failed: {}", id, failure.getMessage());
+                            }
+                            return;
+                        }
+                        comparisons.incrementAndGet();
+                        final double score = response.getScore() != null ? response.getScore() : 0;
+                        synchronized (best) {
+                            best.offer(new Match(id, score));
+                            if (best.size() > topK) {
+                                best.poll();
+                            }
+                        }
+                        if (score >= stopThreshold && stopped.compareAndSet(false, true)) {
+                            inFlight.forEach(pending -> pending.cancel(true));
+                        }
+                    } finally {
+                        window.release();
+                    }
+                });
+                return !stopped.get();
+            });
+            visited = true;
+        } finally {
+            if (!visited) {
+                inFlight.forEach(pending -> pending.cancel(true));
+            }
+            window.acquireUninterruptibly(parallelism);
+        }
+
+        final List<Match> matches;
+        synchronized (best) {
+            matches = new ArrayList<>(best);
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed());
+        return new Result(matches, comparisons.get(), failures.get(), stopped.get());
+    }
+}
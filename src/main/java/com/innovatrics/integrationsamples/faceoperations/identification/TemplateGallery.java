@@ -0,0 +1,346 @@
+package com.innovatrics.integrationsamples.faceoperations.identification;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent gallery of DIS face templates in a single file, read through a memory mapping.
+ * <p>
+ * The file starts with a header holding the template version of the gallery, followed by records appended in the
+ * order the templates were added: a removal flag, the id and the template bytes, each prefixed by its length.
+ * Templates are incompatible across major DIS upgrades, so a gallery accepts only templates of one version.
+ * Replacing or removing a template only flags its record as removed, the space is not reclaimed.
+ * <p>
+ * The id index, mapping ids to record offsets, is held in memory and rebuilt by scanning the record headers when the
+ * gallery is opened. Template bytes are not kept on the heap, they are copied from the mapping when visited. The
+ * mapping is limited to 2 GB, i.e. millions of templates.
+ */
+public class TemplateGallery implements Closeable {
+    private static final Logger log = LogManager.getLogger(TemplateGallery.class);
+    private static final int MAGIC = 0x44495347;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 128;
+    private static final int VERSION_OFFSET = 8;
+    private static final int MAX_VERSION_BYTES = HEADER_SIZE - VERSION_OFFSET - Short.BYTES;
+    private static final byte ACTIVE = 0;
+    private static final byte REMOVED = 1;
+
+    private final FileChannel channel;
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private String templateVersion;
+    private long size;
+    private volatile MappedByteBuffer mapping;
+
+    /**
+     * Visits templates of the gallery.
+     */
+    @FunctionalInterface
+    public interface TemplateVisitor {
+        /**
+         * Visits one template.
+         *
+         * @param id       the id of the template
+         * @param template the template bytes, a copy owned by the visitor
+         * @return true to continue with the next template, false to stop
+         * @throws InterruptedException if the visitor is interrupted while waiting
+         */
+        boolean visit(String id, byte[] template) throws InterruptedException;
+    }
+
+    private TemplateGallery(final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the gallery stored in the given file, creating an empty gallery if the file does not exist.
+     * A record truncated by an interrupted write at the end of the file is discarded.
+     *
+     * @param file the gallery file
+     * @return the opened gallery
+     * @throws IOException if the file cannot be opened, is not a gallery or holds an invalid record
+     */
+    public static TemplateGallery open(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final TemplateGallery gallery = new TemplateGallery(channel);
+        try {
+            gallery.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return gallery;
+    }
+
+    /**
+     * Returns the template version of the gallery.
+     *
+     * @return the version of the templates, or null if the gallery has not stored any template yet
+     */
+    public String getTemplateVersion() {
+        lock.readLock().lock();
+        try {
+            return templateVersion;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(final String id) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the template to the gallery, replacing the template stored under the same id.
+     *
+     * @param id       the id of the template, e.g. the id of the person on a watch list
+     * @param template the template created by DIS
+     * @param version  the version of the template reported by DIS
+     * @throws IOException              if the template cannot be written
+     * @throws IllegalArgumentException if the version differs from the template version of the gallery
+     */
+    public void add(final String id, final byte[] template, final String version) throws IOException {
+        final byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Template id is too long: " + id);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (templateVersion == null) {
+                writeTemplateVersion(version);
+            } else if (!templateVersion.equals(version)) {
+                throw new IllegalArgumentException("Template version " + version + " differs from gallery template version " + templateVersion);
+            }
+
+            final ByteBuffer record = ByteBuffer.allocate(1 + Short.BYTES + idBytes.length + Integer.BYTES + template.length);
+            if (size + record.capacity() > Integer.MAX_VALUE) {
+                throw new IOException("Template gallery exceeds 2 GB.");
+            }
+            record.put(ACTIVE).putShort((short) idBytes.length).put(idBytes).putInt(template.length).put(template).flip();
+            final long offset = size;
+            writeFully(record, offset);
+            size += record.capacity();
+
+            final Long replaced = index.put(id, offset);
+            if (replaced != null) {
+                markRemoved(replaced);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the template with the given id.
+     *
+     * @param id the id of the template
+     * @return true if the template was removed, false if the gallery does not contain it
+     * @throws IOException if the removal cannot be written
+     */
+    public boolean remove(final String id) throws IOException {
+        lock.writeLock().lock();
+        try {
+            final Long offset = index.remove(id);
+            if (offset == null) {
+                return false;
+            }
+            markRemoved(offset);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visits the templates in the order they were added. The visit works on a snapshot of the index, so templates
+     * added during the visit are not visited and the gallery is not locked while the visitor runs.
+     *
+     * @param visitor the visitor
+     * @throws IOException          if the gallery file cannot be mapped
+     * @throws InterruptedException if the visitor is interrupted
+     */
+    public void forEach(final TemplateVisitor visitor) throws IOException, InterruptedException {
+        final String[] ids;
+        final long[] offsets;
+        final ByteBuffer buffer;
+        lock.readLock().lock();
+        try {
+            ids = new String[index.size()];
+            offsets = new long[index.size()];
+            int i = 0;
+            for (Map.Entry<String, Long> entry : index.entrySet()) {
+                ids[i] = entry.getKey();
+                offsets[i++] = entry.getValue();
+            }
+            buffer = currentMapping();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            final int position = (int) offsets[i];
+            final int templatePosition = position + 1 + Short.BYTES + buffer.getShort(position + 1);
+            final byte[] template = new byte[buffer.getInt(templatePosition)];
+            buffer.get(templatePosition + Integer.BYTES, template);
+            if (!visitor.visit(ids[i], template)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forces written templates to the storage device.
+     *
+     * @throws IOException if the file cannot be forced
+     */
+    public void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            mapping = null;
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize == 0) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(header, 0);
+            size = HEADER_SIZE;
+            return;
+        }
+        if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Invalid template gallery size: " + fileSize);
+        }
+
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a template gallery of format version " + FORMAT_VERSION);
+        }
+        final int versionLength = buffer.getShort(VERSION_OFFSET) & 0xFFFF;
+        if (versionLength > MAX_VERSION_BYTES) {
+            throw new IOException("Invalid template version length of the template gallery: " + versionLength);
+        }
+        if (versionLength > 0) {
+            final byte[] version = new byte[versionLength];
+            buffer.get(VERSION_OFFSET + Short.BYTES, version);
+            templateVersion = new String(version, StandardCharsets.UTF_8);
+        }
+
+        // a record running past the end of the file is the tail of an interrupted append, any other invalid record
+        // means the file is corrupt and the records after it cannot be located
+        int position = HEADER_SIZE;
+        while (position < fileSize) {
+            if (fileSize - position < 1 + Short.BYTES) {
+                break;
+            }
+            final byte flag = buffer.get(position);
+            if (flag != ACTIVE && flag != REMOVED) {
+                throw new IOException("Invalid record flag " + flag + " at offset " + position + " of the template gallery");
+            }
+            final int idLength = buffer.getShort(position + 1) & 0xFFFF;
+            if (idLength > Short.MAX_VALUE) {
+                throw new IOException("Invalid id length " + idLength + " at offset " + position + " of the template gallery");
+            }
+            final long templateLengthPosition = (long) position + 1 + Short.BYTES + idLength;
+            if (templateLengthPosition + Integer.BYTES > fileSize) {
+                break;
+            }
+            final int templateLength = buffer.getInt((int) templateLengthPosition);
+            if (templateLength < 0) {
+                throw new IOException("Invalid template length " + templateLength + " at offset " + position + " of the template gallery");
+            }
+            final long end = templateLengthPosition + Integer.BYTES + templateLength;
+            if (end > fileSize) {
+                break;
+            }
+            if (flag == ACTIVE) {
+                final byte[] id = new byte[idLength];
+                buffer.get(position + 1 + Short.BYTES, id);
+                index.put(new String(id, StandardCharsets.UTF_8), (long) position);
+            }
+            position = (int) end;
+        }
+
+        size = position;
+        if (size < fileSize) {
+            log.warn("Discarding incomplete record at offset {} of the template gallery, {} bytes dropped", size, fileSize - size);
+            channel.truncate(size);
+        }
+        mapping = size == fileSize ? buffer : null;
+    }
+
+    private void writeTemplateVersion(final String version) throws IOException {
+        final byte[] bytes = version != null ? version.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length > MAX_VERSION_BYTES) {
+            throw new IllegalArgumentException("Template version is too long: " + version);
+        }
+        final ByteBuffer header = ByteBuffer.allocate(Short.BYTES + bytes.length);
+        header.putShort((short) bytes.length).put(bytes).flip();
+        writeFully(header, VERSION_OFFSET);
+        templateVersion = version;
+    }
+
+    private void markRemoved(final long offset) throws IOException {
+        writeFully(ByteBuffer.wrap(new byte[]{REMOVED}), offset);
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long written = position;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, written);
+        }
+    }
+
+    /**
+     * Returns the mapping covering all records, remapping the file if records were appended since it was mapped.
+     * Called under the read lock, concurrent remapping by several readers is harmless.
+     */
+    private ByteBuffer currentMapping() throws IOException {
+        MappedByteBuffer current = mapping;
+        if (current == null || current.capacity() < size) {
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Template gallery exceeds 2 GB.");
+            }
+            current = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapping = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,333 @@
+package com.innovatrics.integrationsamples.faceoperations.template;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.ActuatorApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceDetectionProperties;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceTemplateResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.client.DisJson;
+import com.innovatrics.integrationsamples.client.ImageTransport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide cache of face templates, so that a template of an image already seen is returned without the
+ * {@code detectFace} and {@code createTemplate} round trips to DIS.
+ * <p>
+ * Templates are content-addressed by the SHA-256 hash of the image bytes and the face detection properties. They are
+ * kept in a memory tier bounded by the number of templates, evicting the least recently used first, and optionally
+ * in a disk tier of one file per template, which survives restarts of the process.
+ * <p>
+ * Templates are incompatible across iFace upgrades, so the cache is bound to the iFace version reported by
+ * {@code /api/v1/info}. The version is checked on first use and then periodically. When it changes, the memory tier
+ * is cleared and the disk tier of the previous version is deleted. The disk tier of a version is a directory named
+ * {@code iface-<version>}, other entries of the cache directory are left alone.
+ */
+public class FaceTemplateCache {
+    private static final Logger log = LogManager.getLogger(FaceTemplateCache.class);
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String VERSION_DIRECTORY_PREFIX = "iface-";
+
+    private static volatile FaceTemplateCache instance;
+
+    private final FaceOperationsApi faceApi;
+    private final ActuatorApi actuatorApi;
+    private final ImageTransport imageTransport;
+    private final Path directory;
+    private final int maxEntries;
+    private final long versionCheckIntervalNanos;
+
+    private final LinkedHashMap<String, Template> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private String ifaceVersion;
+    private long nextVersionCheckNanos;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * A cached face template.
+     *
+     * @param data    the template bytes, shared and must not be modified
+     * @param version the template version reported by DIS
+     */
+    public record Template(byte[] data, String version) {
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param memoryHits    number of templates served from the memory tier
+     * @param diskHits      number of templates served from the disk tier
+     * @param misses        number of templates created by DIS
+     * @param invalidations number of iFace version changes that invalidated the cache
+     * @param entries       number of templates in the memory tier
+     * @param ifaceVersion  the iFace version the cached templates belong to
+     */
+    public record Statistics(long memoryHits, long diskHits, long misses, long invalidations, int entries, String ifaceVersion) {
+    }
+
+    /**
+     * @param apiClient                 the API client used for requests to DIS
+     * @param imageTransport            the transport of images to {@code detectFace}
+     * @param directory                 the directory of the disk tier, null disables the disk tier
+     * @param maxEntries                the maximum number of templates in the memory tier
+     * @param versionCheckIntervalNanos the interval of checks of the iFace version
+     */
+    public FaceTemplateCache(final ApiClient apiClient, final ImageTransport imageTransport, final Path directory,
+                             final int maxEntries, final long versionCheckIntervalNanos) {
+        this.faceApi = new FaceOperationsApi(apiClient);
+        this.actuatorApi = new ActuatorApi(apiClient);
+        this.imageTransport = imageTransport;
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.versionCheckIntervalNanos = versionCheckIntervalNanos;
+    }
+
+    /**
+     * Returns the process-wide cache, creating it from the {@code face-template-cache.*} properties on the first call.
+     *
+     * @param configuration the configuration
+     * @return the process-wide cache
+     */
+    public static FaceTemplateCache getInstance(final Configuration configuration) {
+        FaceTemplateCache cache = instance;
+        if (cache == null) {
+            synchronized (FaceTemplateCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    final String directory = configuration.FACE_TEMPLATE_CACHE_DIRECTORY;
+                    cache = new FaceTemplateCache(
+                            DisHttpClientProvider.getInstance(configuration).newApiClient(),
+                            ImageTransport.fromName(configuration.IMAGE_TRANSPORT),
+                            directory == null || directory.isBlank() ? null : Path.of(directory),
+                            configuration.FACE_TEMPLATE_CACHE_MAX_ENTRIES,
+                            TimeUnit.SECONDS.toNanos(configuration.FACE_TEMPLATE_CACHE_VERSION_CHECK_SECONDS));
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the template of the face on the image, creating it by DIS on a miss.
+     *
+     * @param image     the encoded image
+     * @param detection the face detection properties, may be null
+     * @return the template
+     * @throws ApiException if a request to DIS fails
+     * @throws IOException  if a template of the disk tier cannot be read
+     */
+    public Template getTemplate(final byte[] image, final FaceDetectionProperties detection) throws ApiException, IOException {
+        final String version = checkIfaceVersion();
+        final String key = key(image, detection);
+
+        Template template = lookup(key);
+        if (template != null) {
+            memoryHits.increment();
+            return template;
+        }
+
+        final Path file = directory != null ? directory.resolve(versionDirectoryName(version)).resolve(key) : null;
+        template = file != null ? read(file) : null;
+        if (template != null) {
+            diskHits.increment();
+        } else {
+            misses.increment();
+            template = createTemplate(image, detection);
+            if (file != null) {
+                write(file, template);
+            }
+        }
+        store(version, key, template);
+        return template;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(memoryHits.sum(), diskHits.sum(), misses.sum(), invalidations.sum(), memory.size(), ifaceVersion);
+    }
+
+    private Template createTemplate(final byte[] image, final FaceDetectionProperties detection) throws ApiException {
+        final String faceId;
+        if (imageTransport == ImageTransport.BINARY && detection == null) {
+            faceId = new BinaryUploadApi(faceApi.getApiClient()).detectFaceBinary(image).getId();
+        } else {
+            faceId = faceApi.detectFace(new CreateFaceRequest().image(new Image().data(image)).detection(detection)).getId();
+        }
+        try {
+            final FaceTemplateResponse response = faceApi.createTemplate(faceId);
+            return new Template(response.getData(), response.getVersion());
+        } finally {
+            faceApi.deleteFace(faceId);
+        }
+    }
+
+    /**
+     * Returns the current iFace version, requesting it from DIS if the check interval has elapsed. A changed version
+     * invalidates the cache.
+     */
+    private String checkIfaceVersion() throws ApiException {
+        synchronized (this) {
+            if (ifaceVersion != null && System.nanoTime() - nextVersionCheckNanos < 0) {
+                return ifaceVersion;
+            }
+        }
+
+        final String version = actuatorApi.info().getIface().getVersion();
+        synchronized (this) {
+            nextVersionCheckNanos = System.nanoTime() + versionCheckIntervalNanos;
+            if (!version.equals(ifaceVersion)) {
+                if (ifaceVersion != null) {
+                    log.info("iFace version changed from {} to {}, invalidating face templates.", ifaceVersion, version);
+                    invalidations.increment();
+                }
+                memory.clear();
+                ifaceVersion = version;
+                deleteOtherVersions(version);
+            }
+            return version;
+        }
+    }
+
+    private synchronized Template lookup(final String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void store(final String version, final String key, final Template template) {
+        if (!version.equals(ifaceVersion) || maxEntries <= 0) {
+            return;
+        }
+        memory.put(key, template);
+        if (memory.size() > maxEntries) {
+            memory.remove(memory.keySet().iterator().next());
+        }
+    }
+
+    private static String key(final byte[] image, final FaceDetectionProperties detection) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(image);
+        digest.update((byte) 0);
+        if (detection != null) {
+            digest.update(DisJson.getGson(false).toJson(detection).getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads a template of the disk tier. A truncated or corrupt file, e.g. left by a crash of a process that did not
+     * support atomic moves, is deleted and reported as a miss, so that the template is created again.
+     */
+    private static Template read(final Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(is)) {
+            final String version = in.readUTF();
+            final int length = in.readInt();
+            if (length < 0 || length > Files.size(file)) {
+                throw new EOFException("Template of " + length + " bytes exceeds the file.");
+            }
+            final byte[] data = new byte[length];
+            in.readFully(data);
+            return new Template(data, version);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException | UTFDataFormatException e) {
+            log.warn("Deleting corrupt face template {}.", file, e);
+            Files.deleteIfExists(file);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the template to a temporary file first and moves it in place, so that concurrent readers and other
+     * processes sharing the directory never see a partially written template.
+     */
+    private static void write(final Path file, final Template template) {
+        final Path temporary = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().threadId() + TEMPORARY_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream os = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(os)) {
+                out.writeUTF(template.version() != null ? template.version() : "");
+                out.writeInt(template.data().length);
+                out.write(template.data());
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to store face template {} on disk.", file, e);
+        }
+    }
+
+    private void deleteOtherVersions(final String version) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        final String current = versionDirectoryName(version);
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(directory, VERSION_DIRECTORY_PREFIX + "*")) {
+            for (Path versionDirectory : versions) {
+                if (Files.isDirectory(versionDirectory) && !versionDirectory.getFileName().toString().equals(current)) {
+                    deleteRecursively(versionDirectory);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete face templates of previous iFace versions in {}.", directory, e);
+        }
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path entry : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(entry);
+            }
+        }
+        log.info("Deleted face templates in {}.", path);
+    }
+
+    private static String versionDirectoryName(final String version) {
+        return VERSION_DIRECTORY_PREFIX + version.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,178 @@
+package com.innovatrics.integrationsamples.loadtest;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
+import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a customer onboarding flow, i.e. any {@link CustomerOnboardingApiTest} such as {@code CustomerOnboarding},
+ * {@code CustomerOnboardingWithSession} or {@code CustomerOnboardingWithMagnifeyeLiveness}, under load and reports
+ * latency percentiles per operationId, throughput and error counts.
+ * <p>
+ * In the closed-loop mode a fixed number of virtual users run the flow repeatedly, each starting the next run as soon
+ * as the previous one ends. In the open-loop mode runs are started at a fixed arrival rate regardless of how many runs
+ * are in flight. The response time of a run is measured from the time the run was due to start, so that a stalled
+ * server is not hidden by runs that were started late (coordinated omission).
+ * <p>
+ * Every run uses a new instance of the flow. All instances share the process-wide HTTP client, which records every
+ * request. The target DIS is taken from {@code dot-identity-service-url}, which may point to a local stand-in server.
+ */
+public class LoadDriver {
+    private static final Logger log = LogManager.getLogger(LoadDriver.class);
+
+    public static final String MODE_CLOSED = "closed";
+    public static final String MODE_OPEN = "open";
+
+    private final Configuration configuration;
+    private final Constructor<? extends CustomerOnboardingApiTest> flowConstructor;
+    private final LoadStatistics statistics = new LoadStatistics();
+
+    public LoadDriver(final Configuration configuration) throws ReflectiveOperationException {
+        this.configuration = configuration;
+        final Class<?> flowClass = Class.forName(configuration.LOAD_DRIVER_FLOW);
+        if (!CustomerOnboardingApiTest.class.isAssignableFrom(flowClass)) {
+            throw new IllegalArgumentException("Flow " + flowClass.getName() + " is not a customer onboarding flow.");
+        }
+        this.flowConstructor = flowClass.asSubclass(CustomerOnboardingApiTest.class).getConstructor(Configuration.class);
+
+        final Level sampleLogLevel = Level.toLevel(configuration.LOAD_DRIVER_SAMPLE_LOG_LEVEL, Level.WARN);
+        Configurator.setLevel(flowClass.getPackageName(), sampleLogLevel);
+        Configurator.setLevel(BaseApiTest.class.getPackageName(), sampleLogLevel);
+
+        DisHttpClientProvider.initialize(configuration, List.of(new OperationRecorder(statistics)));
+    }
+
+    /**
+     * Runs the flow for the configured warmup and measurement duration, waits until all runs in flight end and logs
+     * the statistics of the measurement.
+     *
+     * @throws InterruptedException if the driver is interrupted
+     */
+    public void run() throws InterruptedException {
+        final long start = System.nanoTime();
+        final long measurementStart = start + TimeUnit.SECONDS.toNanos(configuration.LOAD_DRIVER_WARMUP_SECONDS);
+        final long end = measurementStart + TimeUnit.SECONDS.toNanos(configuration.LOAD_DRIVER_DURATION_SECONDS);
+
+        final String flowName = flowConstructor.getDeclaringClass().getSimpleName();
+        switch (configuration.LOAD_DRIVER_MODE) {
+            case MODE_CLOSED -> {
+                log.info("Running {} in closed loop with {} virtual users, warmup: {} s, duration: {} s", flowName,
+                        configuration.LOAD_DRIVER_VIRTUAL_USERS, configuration.LOAD_DRIVER_WARMUP_SECONDS, configuration.LOAD_DRIVER_DURATION_SECONDS);
+                runClosedLoop(measurementStart, end);
+            }
+            case MODE_OPEN -> {
+                log.info("Running {} in open loop with {} arrivals/s, max in flight: {}, warmup: {} s, duration: {} s", flowName,
+                        configuration.LOAD_DRIVER_ARRIVAL_RATE, configuration.LOAD_DRIVER_MAX_IN_FLIGHT,
+                        configuration.LOAD_DRIVER_WARMUP_SECONDS, configuration.LOAD_DRIVER_DURATION_SECONDS);
+                runOpenLoop(start, measurementStart, end);
+            }
+            default -> throw new IllegalArgumentException("Unsupported load driver mode: " + configuration.LOAD_DRIVER_MODE);
+        }
+        statistics.report(flowName, MODE_OPEN.equals(configuration.LOAD_DRIVER_MODE));
+    }
+
+    private void runClosedLoop(final long measurementStart, final long end) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < configuration.LOAD_DRIVER_VIRTUAL_USERS; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() - end < 0) {
+                        runFlow(System.nanoTime());
+                    }
+                });
+            }
+            sleepUntil(measurementStart);
+            statistics.startRecording();
+            sleepUntil(end);
+            statistics.stopRecording();
+        }
+    }
+
+    /**
+     * Starts runs at the times given by the arrival rate. The intended start time of each run is computed from the
+     * start of the schedule, so a late wakeup of the scheduler does not shift the following arrivals.
+     */
+    private void runOpenLoop(final long start, final long measurementStart, final long end) throws InterruptedException {
+        final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / configuration.LOAD_DRIVER_ARRIVAL_RATE;
+        final Semaphore inFlight = new Semaphore(configuration.LOAD_DRIVER_MAX_IN_FLIGHT);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long arrival = 0; ; arrival++) {
+                final long intendedStart = start + (long) (arrival * intervalNanos);
+                if (intendedStart - end >= 0) {
+                    break;
+                }
+                sleepUntil(intendedStart);
+                if (!statistics.isRecording() && intendedStart - measurementStart >= 0) {
+                    statistics.startRecording();
+                }
+                if (!inFlight.tryAcquire()) {
+                    statistics.recordDroppedArrival();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        runFlow(intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            sleepUntil(end);
+            statistics.stopRecording();
+        }
+    }
+
+    private void runFlow(final long intendedStartNanos) {
+        final long start = System.nanoTime();
+        String failure = null;
+        try {
+            flowConstructor.newInstance(configuration).run();
+        } catch (InvocationTargetException e) {
+            failure = describe(e.getCause());
+        } catch (Exception e) {
+            failure = describe(e);
+        }
+        final long now = System.nanoTime();
+        statistics.recordFlow(now - intendedStartNanos, now - start, failure);
+        if (failure != null) {
+            log.debug("Flow run failed: {}", failure);
+        }
+    }
+
+    private static String describe(final Throwable failure) {
+        if (failure instanceof ApiException apiException) {
+            if (apiException.getCode() != 0) {
+                return "HTTP " + apiException.getCode();
+            }
+            if (apiException.getCause() != null) {
+                return apiException.getCause().getClass().getSimpleName();
+            }
+        }
+        return failure.getClass().getSimpleName();
+    }
+
+    private static void sleepUntil(final long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException, InterruptedException {
+        new LoadDriver(new Configuration()).run();
+    }
+}
@@ -0,0 +1,160 @@
+package com.innovatrics.integrationsamples.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counters collected by the {@link LoadDriver}.
+ * <p>
+ * Latencies of HTTP requests are kept per operationId, latencies of whole flow runs are kept both as response time,
+ * measured from the time the run was due to start, and as service time, measured from the time it actually started.
+ * Only values recorded while recording is enabled are kept, so that the warmup is excluded from the results.
+ */
+public class LoadStatistics {
+    private static final Logger log = LogManager.getLogger(LoadStatistics.class);
+
+    static final String FLOW = "flow";
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final String ROW_FORMAT = "%-36s %9s %8s %10s %10s %10s %10s";
+
+    private final Map<String, Series> operations = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Series flowResponseTime = new Series();
+    private final Series flowServiceTime = new Series();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder droppedArrivals = new LongAdder();
+    private volatile boolean recording;
+    private long recordingStartNanos;
+    private long recordingEndNanos;
+
+    private static class Series {
+        private final Histogram latencyMicros = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public synchronized void startRecording() {
+        recordingStartNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public synchronized void stopRecording() {
+        if (recording) {
+            recording = false;
+            recordingEndNanos = System.nanoTime();
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Records a completed HTTP request.
+     *
+     * @param operationId  the operationId of the request, or the request line if it does not match any operation
+     * @param latencyNanos the time from sending the request to receiving the response headers
+     * @param status       the HTTP status code, 0 if no response was received
+     * @param errorCode    the DIS error code of the response, the exception name if no response was received, or null
+     */
+    public void recordRequest(final String operationId, final long latencyNanos, final int status, final String errorCode) {
+        if (!recording) {
+            return;
+        }
+        requests.increment();
+        final Series series = operations.computeIfAbsent(operationId, key -> new Series());
+        series.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (status >= 400 || errorCode != null) {
+            series.errors.increment();
+            countError(operationId + " " + status + (errorCode != null ? " " + errorCode : ""));
+        }
+    }
+
+    /**
+     * Records a completed flow run.
+     *
+     * @param responseTimeNanos the time from the intended start of the run to its end
+     * @param serviceTimeNanos  the time from the actual start of the run to its end
+     * @param failure           the description of the failure the run ended with, or null if it succeeded
+     */
+    public void recordFlow(final long responseTimeNanos, final long serviceTimeNanos, final String failure) {
+        if (!recording) {
+            return;
+        }
+        flowResponseTime.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(responseTimeNanos));
+        flowServiceTime.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceTimeNanos));
+        if (failure != null) {
+            flowResponseTime.errors.increment();
+            flowServiceTime.errors.increment();
+            countError(FLOW + " " + failure);
+        }
+    }
+
+    /**
+     * Records an arrival of the open-loop schedule that was not started, because too many runs were in flight.
+     */
+    public void recordDroppedArrival() {
+        if (recording) {
+            droppedArrivals.increment();
+        }
+    }
+
+    /**
+     * Logs the latency percentiles, throughput and error counts of the recorded interval.
+     *
+     * @param flowName          the name of the flow
+     * @param reportServiceTime whether the service time of flow runs differs from the response time and should be
+     *                          reported as well
+     */
+    public synchronized void report(final String flowName, final boolean reportServiceTime) {
+        final double seconds = Math.max(1, recordingEndNanos - recordingStartNanos) / 1e9;
+        final long runs = flowResponseTime.latencyMicros.getTotalCount();
+        log.info("{}: {} runs, {} failed, {} dropped arrivals in {} s, throughput {} runs/s, {} requests/s",
+                flowName, runs, flowResponseTime.errors.sum(), droppedArrivals.sum(), format(seconds),
+                format(runs / seconds), format(requests.sum() / seconds));
+
+        log.info(String.format(ROW_FORMAT, "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        operations.entrySet().stream()
+                .sorted(Comparator.comparing(Map.Entry::getKey))
+                .forEach(entry -> logRow(entry.getKey(), entry.getValue()));
+        logRow(FLOW + (reportServiceTime ? " (response time)" : ""), flowResponseTime);
+        if (reportServiceTime) {
+            logRow(FLOW + " (service time)", flowServiceTime);
+        }
+
+        if (!errors.isEmpty()) {
+            log.info("Errors:");
+            errors.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .forEach(entry -> log.info(String.format("%9d  %s", entry.getValue().sum(), entry.getKey())));
+        }
+    }
+
+    private void countError(final String key) {
+        errors.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private static void logRow(final String name, final Series series) {
+        final Histogram histogram = series.latencyMicros;
+        log.info(String.format(ROW_FORMAT, name, histogram.getTotalCount(), series.errors.sum(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static String millis(final long micros) {
+        return format(micros / 1000.0);
+    }
+
+    private static String format(final double value) {
+        return String.format("%.2f", value);
+    }
+}
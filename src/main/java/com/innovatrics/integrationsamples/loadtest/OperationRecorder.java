@@ -0,0 +1,45 @@
+package com.innovatrics.integrationsamples.loadtest;
+
+import com.innovatrics.integrationsamples.client.DisErrorCodes;
+import com.innovatrics.integrationsamples.client.DisOperation;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Records the latency, HTTP status and DIS error code of every request into {@link LoadStatistics}, keyed by the
+ * operationId of the request. Error codes reported with a successful status are found by {@link DisErrorCodes}.
+ */
+public class OperationRecorder implements Interceptor {
+    private final LoadStatistics statistics;
+
+    public OperationRecorder(final LoadStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String operationId = resolveOperationId(request);
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            statistics.recordRequest(operationId, System.nanoTime() - start, 0, e.getClass().getSimpleName());
+            throw e;
+        }
+        final long latency = System.nanoTime() - start;
+        if (statistics.isRecording()) {
+            statistics.recordRequest(operationId, latency, response.code(), DisErrorCodes.peek(response));
+        }
+        return response;
+    }
+
+    private static String resolveOperationId(final Request request) {
+        final DisOperation operation = DisOperation.resolve(request.method(), request.url().encodedPath());
+        return operation != null ? operation.getOperationId() : request.method() + " " + request.url().encodedPath();
+    }
+}
@@ -0,0 +1,267 @@
+package com.innovatrics.integrationsamples.metadata;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.ActuatorApi;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.client.DisJson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide cache of the documents supported by Digital Identity Service (DIS), so that the {@code /api/v1/metadata}
+ * catalogue is neither downloaded nor scanned on every onboarding.
+ * <p>
+ * The catalogue changes only with the DIS build, so the cache is bound to the build version reported by
+ * {@code /api/v1/info}. The version is checked on first use and then periodically, between the checks the index is
+ * returned without any request. The index of each version is persisted in the cache directory, so a restarted process
+ * downloads the catalogue only if DIS was upgraded meanwhile. Indexes of other versions are deleted.
+ */
+public class DocumentMetadataCache {
+    private static final Logger log = LogManager.getLogger(DocumentMetadataCache.class);
+    private static final String FILE_PREFIX = "document-metadata-";
+    private static final String FILE_SUFFIX = ".json";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final Gson GSON = DisJson.getGson(false);
+
+    private static volatile DocumentMetadataCache instance;
+
+    private final DocumentMetadataReader metadataReader;
+    private final ActuatorApi actuatorApi;
+    private final Path directory;
+    private final long versionCheckIntervalNanos;
+
+    private volatile Entry entry;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder versionChecks = new LongAdder();
+    private final LongAdder fileLoads = new LongAdder();
+    private final LongAdder downloads = new LongAdder();
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits          number of indexes returned without checking the build version
+     * @param versionChecks number of requests for the build version
+     * @param fileLoads     number of indexes loaded from the cache directory
+     * @param downloads     number of downloads of the catalogue
+     * @param buildVersion  the DIS build version of the cached index
+     */
+    public record Statistics(long hits, long versionChecks, long fileLoads, long downloads, String buildVersion) {
+    }
+
+    private record Entry(DocumentMetadataIndex index, long nextVersionCheckNanos) {
+    }
+
+    /**
+     * The persisted form of an index, the lookup maps are rebuilt on load.
+     */
+    private record Snapshot(String buildVersion, List<DocumentMetadataIndex.DocumentSummary> documents) {
+    }
+
+    /**
+     * @param apiClient                 the API client used for requests to DIS
+     * @param directory                 the directory of the persisted indexes, null disables persistence
+     * @param versionCheckIntervalNanos the interval of checks of the DIS build version
+     */
+    public DocumentMetadataCache(final ApiClient apiClient, final Path directory, final long versionCheckIntervalNanos) {
+        this.metadataReader = new DocumentMetadataReader(apiClient);
+        this.actuatorApi = new ActuatorApi(apiClient);
+        this.directory = directory;
+        this.versionCheckIntervalNanos = versionCheckIntervalNanos;
+    }
+
+    /**
+     * Returns the process-wide cache, creating it from the {@code metadata-cache.*} properties on the first call.
+     *
+     * @param configuration the configuration
+     * @return the process-wide cache
+     */
+    public static DocumentMetadataCache getInstance(final Configuration configuration) {
+        DocumentMetadataCache cache = instance;
+        if (cache == null) {
+            synchronized (DocumentMetadataCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    final String directory = configuration.METADATA_CACHE_DIRECTORY;
+                    cache = new DocumentMetadataCache(
+                            DisHttpClientProvider.getInstance(configuration).newApiClient(),
+                            directory == null || directory.isBlank() ? null : Path.of(directory),
+                            TimeUnit.SECONDS.toNanos(configuration.METADATA_CACHE_VERSION_CHECK_SECONDS));
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the index of the documents supported by the current DIS build. The catalogue is downloaded only if
+     * neither the memory nor the cache directory holds the index of the build.
+     *
+     * @return the index
+     * @throws ApiException if a request to DIS fails
+     */
+    public DocumentMetadataIndex get() throws ApiException {
+        final Entry current = entry;
+        if (current != null && System.nanoTime() - current.nextVersionCheckNanos() < 0) {
+            hits.increment();
+            return current.index();
+        }
+        return refresh();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public Statistics getStatistics() {
+        final Entry current = entry;
+        return new Statistics(hits.sum(), versionChecks.sum(), fileLoads.sum(), downloads.sum(),
+                current != null ? current.index().getBuildVersion() : null);
+    }
+
+    /**
+     * Checks the build version and replaces the index if the version changed. Concurrent callers wait for the first
+     * one, so the catalogue is downloaded at most once per version.
+     */
+    private synchronized DocumentMetadataIndex refresh() throws ApiException {
+        Entry current = entry;
+        if (current != null && System.nanoTime() - current.nextVersionCheckNanos() < 0) {
+            hits.increment();
+            return current.index();
+        }
+
+        versionChecks.increment();
+        final String version = actuatorApi.info().getBuild().getVersion();
+        DocumentMetadataIndex index = current != null && version.equals(current.index().getBuildVersion()) ? current.index() : null;
+        if (index == null) {
+            if (current != null) {
+                log.info("DIS build version changed from {} to {}, reloading document metadata.", current.index().getBuildVersion(), version);
+            }
+            index = load(version);
+            if (index == null) {
+                index = download(version);
+            }
+            deleteOtherVersions(version);
+        }
+        entry = new Entry(index, System.nanoTime() + versionCheckIntervalNanos);
+        return index;
+    }
+
+    private DocumentMetadataIndex download(final String version) throws ApiException {
+        downloads.increment();
+        // the catalogue is streamed into the summaries, the response model is never built
+        final List<DocumentMetadataIndex.DocumentSummary> documents = new ArrayList<>();
+        metadataReader.read(DocumentMetadataReader.Filter.ALL, documents::add);
+        final DocumentMetadataIndex index = new DocumentMetadataIndex(version, documents);
+        log.info("Downloaded metadata of {} documents supported by DIS {}.", index.getDocuments().size(), version);
+        if (directory != null) {
+            write(file(version), new Snapshot(version, index.getDocuments()));
+        }
+        return index;
+    }
+
+    private DocumentMetadataIndex load(final String version) {
+        if (directory == null) {
+            return null;
+        }
+        final Path file = file(version);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final Snapshot snapshot = GSON.fromJson(reader, Snapshot.class);
+            if (snapshot == null || !version.equals(snapshot.buildVersion())) {
+                log.warn("Ignoring document metadata {} of another DIS version.", file);
+                return null;
+            }
+            if (!isValid(snapshot)) {
+                log.warn("Ignoring invalid document metadata {}, downloading it again.", file);
+                return null;
+            }
+            fileLoads.increment();
+            return new DocumentMetadataIndex(version, snapshot.documents());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | JsonParseException e) {
+            log.warn("Failed to read document metadata {}, downloading it again.", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gson sets the fields missing in the file to null, so an incomplete or hand-edited file would yield summaries
+     * that fail only once the index is used, e.g. on {@code pageCount()}.
+     */
+    private static boolean isValid(final Snapshot snapshot) {
+        if (snapshot.documents() == null) {
+            return false;
+        }
+        for (DocumentMetadataIndex.DocumentSummary document : snapshot.documents()) {
+            if (document == null || document.country() == null || document.type() == null
+                    || document.pageTypes() == null || document.pageTypes().contains(null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the index to a temporary file first and moves it in place, so that other processes sharing the directory
+     * never see a partially written index.
+     */
+    private static void write(final Path file, final Snapshot snapshot) {
+        final Path temporary = file.resolveSibling(file.getFileName() + "." + ProcessHandle.current().pid() + TEMPORARY_SUFFIX);
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                GSON.toJson(snapshot, writer);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to store document metadata {} on disk.", file, e);
+        }
+    }
+
+    private void deleteOtherVersions(final String version) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        final Path current = file(version).getFileName();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                if (!file.getFileName().equals(current)) {
+                    Files.deleteIfExists(file);
+                    log.info("Deleted document metadata {}.", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete document metadata of previous DIS versions in {}.", directory, e);
+        }
+    }
+
+    private Path file(final String version) {
+        return directory.resolve(FILE_PREFIX + version.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_SUFFIX);
+    }
+}
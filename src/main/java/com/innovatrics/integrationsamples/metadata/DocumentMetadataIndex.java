@@ -0,0 +1,137 @@
+package com.innovatrics.integrationsamples.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Documents supported by one build of Digital Identity Service (DIS), indexed by country, type and edition.
+ * <p>
+ * The index keeps a summary of every document of the {@code /api/v1/metadata} catalogue instead of the catalogue
+ * itself, so that it is small enough to be persisted and loaded quickly, see {@link DocumentMetadataCache}. The
+ * summaries are read from the catalogue by {@link DocumentMetadataReader}. Lookups are map lookups, the catalogue is
+ * scanned only once when the index is built.
+ */
+public class DocumentMetadataIndex {
+    public static final String MRZ = "machineReadableZone";
+
+    private final String buildVersion;
+    private final List<DocumentSummary> documents;
+    private final Map<String, List<DocumentSummary>> byCountry;
+    private final Map<String, List<DocumentSummary>> byType;
+    private final Map<String, List<DocumentSummary>> byEdition;
+    private final Map<DocumentKey, DocumentSummary> byKey;
+
+    /**
+     * Summary of a supported document.
+     *
+     * @param country                       the ISO 3166-1 alpha-3 code of the issuing country
+     * @param type                          the type, e.g. {@code identity-card} or {@code passport}
+     * @param edition                       the edition, may be null
+     * @param machineReadableTravelDocument the MRTD format, e.g. {@code TD1}, may be null
+     * @param pageTypes                     the types of the pages, e.g. {@code front} and {@code back}
+     * @param hasMrz                        whether any page has a machine readable zone
+     * @param classificationAdviceRequired  whether any page needs classification advice to be recognized
+     */
+    public record DocumentSummary(String country, String type, String edition, String machineReadableTravelDocument,
+                                  List<String> pageTypes, boolean hasMrz, boolean classificationAdviceRequired) {
+
+        public int pageCount() {
+            return pageTypes.size();
+        }
+    }
+
+    private record DocumentKey(String country, String type, String edition) {
+    }
+
+    /**
+     * Creates the index of the given documents.
+     *
+     * @param buildVersion the version of the DIS build the documents were read from
+     * @param documents    the summaries of the documents
+     */
+    public DocumentMetadataIndex(final String buildVersion, final List<DocumentSummary> documents) {
+        this.buildVersion = buildVersion;
+        this.documents = List.copyOf(documents);
+        this.byCountry = group(this.documents, DocumentSummary::country);
+        this.byType = group(this.documents, DocumentSummary::type);
+        this.byEdition = group(this.documents, DocumentSummary::edition);
+        final Map<DocumentKey, DocumentSummary> keys = new HashMap<>();
+        for (DocumentSummary document : this.documents) {
+            keys.put(new DocumentKey(document.country(), document.type(), document.edition()), document);
+        }
+        this.byKey = keys;
+    }
+
+    public String getBuildVersion() {
+        return buildVersion;
+    }
+
+    /**
+     * @return all documents in the order of the catalogue
+     */
+    public List<DocumentSummary> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @param country the ISO 3166-1 alpha-3 code of the country
+     * @return the documents issued by the country, empty if there are none
+     */
+    public List<DocumentSummary> byCountry(final String country) {
+        return byCountry.getOrDefault(country, List.of());
+    }
+
+    /**
+     * @param type the type of the documents
+     * @return the documents of the type, empty if there are none
+     */
+    public List<DocumentSummary> byType(final String type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * @param edition the edition of the documents
+     * @return the documents of the edition, empty if there are none
+     */
+    public List<DocumentSummary> byEdition(final String edition) {
+        return byEdition.getOrDefault(edition, List.of());
+    }
+
+    /**
+     * @param country the ISO 3166-1 alpha-3 code of the country
+     * @param type    the type of the document
+     * @param edition the edition of the document, may be null
+     * @return the document, or null if it is not supported
+     */
+    public DocumentSummary get(final String country, final String type, final String edition) {
+        return byKey.get(new DocumentKey(country, type, edition));
+    }
+
+    private static Map<String, List<DocumentSummary>> group(final List<DocumentSummary> documents,
+                                                            final Function<DocumentSummary, String> key) {
+        final Map<String, List<DocumentSummary>> groups = new HashMap<>();
+        for (DocumentSummary document : documents) {
+            final String value = key.apply(document);
+            if (value != null) {
+                groups.computeIfAbsent(value, k -> new ArrayList<>()).add(document);
+            }
+        }
+        groups.replaceAll((k, group) -> Collections.unmodifiableList(group));
+        return groups;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof DocumentMetadataIndex other && buildVersion.equals(other.buildVersion) && documents.equals(other.documents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(buildVersion, documents);
+    }
+}
@@ -0,0 +1,243 @@
+package com.innovatrics.integrationsamples.metadata;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.MetadataApi;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataIndex.DocumentSummary;
+import okhttp3.Call;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the {@code /api/v1/metadata} catalogue of Digital Identity Service (DIS) as a stream of
+ * {@link DocumentSummary documents}, without building the {@code DocumentMetadataResponse} model.
+ * <p>
+ * The response body is parsed token by token as it is received. Only the fields of the summary are read, the text
+ * fields of the visual zones and the portraits are skipped, so the memory used does not grow with the size of the
+ * catalogue. Documents not matching the {@link Filter} are skipped as soon as their type is known and are never passed
+ * to the {@link Visitor}.
+ */
+public class DocumentMetadataReader {
+    private final ApiClient apiClient;
+    private final MetadataApi metadataApi;
+
+    /**
+     * Filter of the documents passed to the visitor. Null criteria match all documents.
+     *
+     * @param country     the ISO 3166-1 alpha-3 code of the issuing country, or null
+     * @param type        the type of the document, or null
+     * @param mrzRequired whether only documents with a machine readable zone match
+     */
+    public record Filter(String country, String type, boolean mrzRequired) {
+        public static final Filter ALL = new Filter(null, null, false);
+
+        public Filter withCountry(final String country) {
+            return new Filter(country, type, mrzRequired);
+        }
+
+        public Filter withType(final String type) {
+            return new Filter(country, type, mrzRequired);
+        }
+
+        public Filter withMrz() {
+            return new Filter(country, type, true);
+        }
+
+        boolean matchesDocumentType(final String documentCountry, final String documentType) {
+            return (country == null || country.equals(documentCountry)) && (type == null || type.equals(documentType));
+        }
+
+        boolean matches(final DocumentSummary document) {
+            return matchesDocumentType(document.country(), document.type()) && (!mrzRequired || document.hasMrz());
+        }
+    }
+
+    /**
+     * Receives the matching documents in the order of the catalogue.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(DocumentSummary document);
+    }
+
+    public DocumentMetadataReader(final ApiClient apiClient) {
+        this.apiClient = apiClient;
+        this.metadataApi = new MetadataApi(apiClient);
+    }
+
+    /**
+     * Requests the catalogue from DIS and passes the matching documents to the visitor while the response is received.
+     *
+     * @param filter  the filter of the documents
+     * @param visitor the visitor of the matching documents
+     * @return the number of matching documents
+     * @throws ApiException if the request fails or the response is not a valid catalogue
+     */
+    public int read(final Filter filter, final Visitor visitor) throws ApiException {
+        final Call call = metadataApi.metadataCall(null);
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                // throws the ApiException with the error body
+                apiClient.handleResponse(response, null);
+            }
+            return read(response.body().charStream(), filter, visitor);
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
+
+    /**
+     * Passes the matching documents of the catalogue to the visitor. The reader is not closed.
+     *
+     * @param catalogue the JSON of the catalogue
+     * @param filter    the filter of the documents
+     * @param visitor   the visitor of the matching documents
+     * @return the number of matching documents
+     * @throws IOException if the catalogue cannot be read or is not a valid catalogue
+     */
+    public static int read(final Reader catalogue, final Filter filter, final Visitor visitor) throws IOException {
+        final JsonReader reader = new JsonReader(catalogue);
+        int count = 0;
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("documents") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        final DocumentSummary document = readDocument(reader, filter);
+                        if (document != null && filter.matches(document)) {
+                            visitor.visit(document);
+                            count++;
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | JsonParseException e) {
+            // thrown by the reader for tokens of an unexpected type
+            throw new IOException("Invalid document metadata: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * Reads a document, or skips it and returns null if its type does not match the filter. The pages are skipped
+     * without being read if the document type precedes them, as it does in the responses of DIS.
+     */
+    private static DocumentSummary readDocument(final JsonReader reader, final Filter filter) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        DocumentType documentType = null;
+        Pages pages = null;
+        boolean skipped = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (skipped) {
+                reader.skipValue();
+            } else if (name.equals("documentType") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                documentType = readDocumentType(reader);
+                skipped = !filter.matchesDocumentType(documentType.country(), documentType.type());
+            } else if (name.equals("pages") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                pages = readPages(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (skipped || documentType == null) {
+            return null;
+        }
+        if (pages == null) {
+            pages = new Pages(List.of(), false, false);
+        }
+        return new DocumentSummary(documentType.country(), documentType.type(), documentType.edition(),
+                documentType.machineReadableTravelDocument(), pages.types(), pages.hasMrz(), pages.classificationAdviceRequired());
+    }
+
+    private record DocumentType(String country, String type, String edition, String machineReadableTravelDocument) {
+    }
+
+    private static DocumentType readDocumentType(final JsonReader reader) throws IOException {
+        String country = null;
+        String type = null;
+        String edition = null;
+        String machineReadableTravelDocument = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "country" -> country = reader.nextString();
+                case "type" -> type = reader.nextString();
+                case "edition" -> edition = reader.nextString();
+                case "machineReadableTravelDocument" -> machineReadableTravelDocument = reader.nextString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new DocumentType(country, type, edition, machineReadableTravelDocument);
+    }
+
+    private record Pages(List<String> types, boolean hasMrz, boolean classificationAdviceRequired) {
+    }
+
+    private static Pages readPages(final JsonReader reader) throws IOException {
+        final List<String> types = new ArrayList<>(2);
+        boolean hasMrz = false;
+        boolean classificationAdviceRequired = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            types.add(reader.nextName());
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                if (name.equals("classificationAdviceRequired") && reader.peek() == JsonToken.BOOLEAN) {
+                    classificationAdviceRequired |= reader.nextBoolean();
+                } else if (name.equals("visualZone") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    hasMrz |= readHasMrz(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return new Pages(List.copyOf(types), hasMrz, classificationAdviceRequired);
+    }
+
+    /**
+     * Reads the names of the visual zone fields, skipping their values.
+     */
+    private static boolean readHasMrz(final JsonReader reader) throws IOException {
+        boolean hasMrz = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            hasMrz |= reader.nextName().equals(DocumentMetadataIndex.MRZ);
+            reader.skipValue();
+        }
+        reader.endObject();
+        return hasMrz;
+    }
+}
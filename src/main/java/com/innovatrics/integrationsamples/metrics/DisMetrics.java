@@ -0,0 +1,129 @@
+package com.innovatrics.integrationsamples.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the metrics of requests to Digital Identity Service (DIS), kept per swagger operationId.
+ * <p>
+ * The metrics are recorded by {@link DisMetricsInterceptor} and can be read in the Prometheus text format, see
+ * {@link #writePrometheus(StringBuilder)}, and via JMX, where every operation is registered as an
+ * {@link OperationMetricsMXBean} on its first request.
+ */
+public class DisMetrics {
+    private static final Logger log = LogManager.getLogger(DisMetrics.class);
+
+    public static final String JMX_DOMAIN = "com.innovatrics.integrationsamples";
+
+    private static volatile DisMetrics instance;
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final boolean jmxEnabled;
+
+    public DisMetrics(final boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    /**
+     * Returns the process-wide registry, creating it with the given settings on the first call.
+     *
+     * @param jmxEnabled whether the operations should be registered in the platform MBean server
+     * @return the process-wide registry
+     */
+    public static DisMetrics getInstance(final boolean jmxEnabled) {
+        DisMetrics metrics = instance;
+        if (metrics == null) {
+            synchronized (DisMetrics.class) {
+                metrics = instance;
+                if (metrics == null) {
+                    metrics = new DisMetrics(jmxEnabled);
+                    instance = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of the given operation, creating and registering them on the first call.
+     *
+     * @param operationId the operationId
+     * @return the metrics of the operation
+     */
+    public OperationMetrics getOperation(final String operationId) {
+        final OperationMetrics metrics = operations.get(operationId);
+        if (metrics != null) {
+            return metrics;
+        }
+        return operations.computeIfAbsent(operationId, key -> {
+            final OperationMetrics created = new OperationMetrics(key);
+            if (jmxEnabled) {
+                register(created);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Appends all metrics in the Prometheus text exposition format.
+     *
+     * @param out the builder to append to
+     */
+    public void writePrometheus(final StringBuilder out) {
+        final Map<String, OperationMetrics> sorted = new TreeMap<>(operations);
+
+        header(out, "dis_client_request_duration_seconds", "histogram", "Time from sending a DIS request to receiving the response headers.");
+        sorted.forEach((operationId, metrics) -> {
+            final long[] counts = metrics.getCumulativeBucketCounts();
+            for (int i = 0; i < counts.length; i++) {
+                final String bound = i < OperationMetrics.BUCKET_BOUNDS_SECONDS.length ? String.valueOf(OperationMetrics.BUCKET_BOUNDS_SECONDS[i]) : "+Inf";
+                out.append("dis_client_request_duration_seconds_bucket{operation=\"").append(operationId)
+                        .append("\",le=\"").append(bound).append("\"} ").append(counts[i]).append('\n');
+            }
+            sample(out, "dis_client_request_duration_seconds_sum", operationId, metrics.getLatencySumSeconds());
+            sample(out, "dis_client_request_duration_seconds_count", operationId, counts[counts.length - 1]);
+        });
+
+        header(out, "dis_client_request_bytes_total", "counter", "Bytes of DIS request bodies.");
+        sorted.forEach((operationId, metrics) -> sample(out, "dis_client_request_bytes_total", operationId, metrics.getRequestBytes()));
+
+        header(out, "dis_client_response_bytes_total", "counter", "Bytes of DIS response bodies read by the client.");
+        sorted.forEach((operationId, metrics) -> sample(out, "dis_client_response_bytes_total", operationId, metrics.getResponseBytes()));
+
+        header(out, "dis_client_responses_total", "counter", "DIS responses by HTTP status, status 0 for requests failed without a response.");
+        sorted.forEach((operationId, metrics) -> metrics.getStatusCounts().forEach((status, count) ->
+                out.append("dis_client_responses_total{operation=\"").append(operationId)
+                        .append("\",status=\"").append(status).append("\"} ").append(count).append('\n')));
+
+        header(out, "dis_client_errors_total", "counter", "DIS responses by errorCode.");
+        sorted.forEach((operationId, metrics) -> metrics.getErrorCodeCounts().forEach((errorCode, count) ->
+                out.append("dis_client_errors_total{operation=\"").append(operationId)
+                        .append("\",error_code=\"").append(errorCode).append("\"} ").append(count).append('\n')));
+    }
+
+    private static void header(final StringBuilder out, final String name, final String type, final String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(final StringBuilder out, final String name, final String operationId, final Object value) {
+        out.append(name).append("{operation=\"").append(operationId).append("\"} ").append(value).append('\n');
+    }
+
+    private static void register(final OperationMetrics metrics) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(metrics, new ObjectName(JMX_DOMAIN + ":type=DisOperation,name=" + metrics.getOperationId()));
+        } catch (JMException e) {
+            log.warn("Failed to register JMX metrics of operation {}.", metrics.getOperationId(), e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.innovatrics.integrationsamples.metrics;
+
+import com.innovatrics.integrationsamples.client.DisErrorCodes;
+import com.innovatrics.integrationsamples.client.DisOperation;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * Records latency, request and response body sizes, HTTP status and DIS error code of every request into
+ * {@link DisMetrics}, keyed by the swagger operationId of the request. Requests that do not match any operation are
+ * recorded as {@value #UNKNOWN_OPERATION}.
+ * <p>
+ * Latency is measured until the response headers are received. Response bytes are counted as the body is read by the
+ * caller, so the body is neither buffered nor copied.
+ */
+public class DisMetricsInterceptor implements Interceptor {
+    public static final String UNKNOWN_OPERATION = "unknown";
+
+    private final DisMetrics metrics;
+
+    public DisMetricsInterceptor(final DisMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final DisOperation operation = DisOperation.resolve(request.method(), request.url().encodedPath());
+        final OperationMetrics operationMetrics = metrics.getOperation(operation != null ? operation.getOperationId() : UNKNOWN_OPERATION);
+        final RequestBody requestBody = request.body();
+        final long requestBytes = requestBody != null ? requestBody.contentLength() : 0;
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            operationMetrics.recordRequest(System.nanoTime() - start, 0, null, requestBytes);
+            throw e;
+        }
+        operationMetrics.recordRequest(System.nanoTime() - start, response.code(), DisErrorCodes.peek(response), requestBytes);
+
+        final ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder().body(new CountingResponseBody(body, operationMetrics)).build();
+    }
+
+    /**
+     * Response body counting the bytes read from the wrapped body.
+     */
+    private static class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingResponseBody(final ResponseBody delegate, final OperationMetrics metrics) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(final Buffer sink, final long byteCount) throws IOException {
+                    final long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        metrics.recordResponseBytes(read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.innovatrics.integrationsamples.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the requests to one DIS operation.
+ * <p>
+ * Latencies are counted both into the fixed buckets of the Prometheus histogram, which can be aggregated across
+ * processes, and into an HDR histogram used for the percentiles exposed via JMX.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+    /**
+     * Upper bounds of the Prometheus latency buckets in seconds, DIS requests take from milliseconds for metadata
+     * to seconds for document inspection.
+     */
+    static final double[] BUCKET_BOUNDS_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_SECONDS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final String operationId;
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_SECONDS.length + 1];
+    private final LongAdder latencySumNanos = new LongAdder();
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorCodes = new ConcurrentHashMap<>();
+
+    OperationMetrics(final String operationId) {
+        this.operationId = operationId;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos the time from sending the request to receiving the response headers
+     * @param status       the HTTP status code, 0 if no response was received
+     * @param errorCode    the DIS error code of the response, or null
+     * @param bytes        the size of the request body, or -1 if unknown
+     */
+    void recordRequest(final long latencyNanos, final int status, final String errorCode, final long bytes) {
+        requests.increment();
+        latencySumNanos.add(latencyNanos);
+        latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && latencyNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (errorCode != null) {
+            errorCodes.computeIfAbsent(errorCode, key -> new LongAdder()).increment();
+        }
+        if (status == 0 || status >= 400 || errorCode != null) {
+            errors.increment();
+        }
+        if (bytes > 0) {
+            requestBytes.add(bytes);
+        }
+    }
+
+    void recordResponseBytes(final long bytes) {
+        responseBytes.add(bytes);
+    }
+
+    /**
+     * Returns the cumulative counts of the Prometheus histogram, the last one being the {@code +Inf} bucket.
+     */
+    long[] getCumulativeBucketCounts() {
+        final long[] counts = new long[buckets.length];
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            counts[i] = cumulative;
+        }
+        return counts;
+    }
+
+    double getLatencySumSeconds() {
+        return latencySumNanos.sum() / 1e9;
+    }
+
+    @Override
+    public String getOperationId() {
+        return operationId;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        final long count = requests.sum();
+        return count == 0 ? 0 : latencySumNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getP50LatencyMillis() {
+        return latencyMicros.getValueAtPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getP99LatencyMillis() {
+        return latencyMicros.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getP999LatencyMillis() {
+        return latencyMicros.getValueAtPercentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return latencyMicros.getMaxValue() / 1e3;
+    }
+
+    @Override
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCounts() {
+        return snapshot(statuses);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCodeCounts() {
+        return snapshot(errorCodes);
+    }
+
+    private static Map<String, Long> snapshot(final Map<?, LongAdder> counters) {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> snapshot.put(String.valueOf(key), counter.sum()));
+        return snapshot;
+    }
+}
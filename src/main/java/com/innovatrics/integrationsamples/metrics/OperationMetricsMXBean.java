@@ -0,0 +1,40 @@
+package com.innovatrics.integrationsamples.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of one DIS operation, registered as
+ * {@code com.innovatrics.integrationsamples:type=DisOperation,name=<operationId>}.
+ */
+public interface OperationMetricsMXBean {
+    String getOperationId();
+
+    long getRequestCount();
+
+    /**
+     * Returns the number of requests that failed without a response, were answered with a 4xx or 5xx status or
+     * carried a DIS error code.
+     */
+    long getErrorCount();
+
+    double getMeanLatencyMillis();
+
+    double getP50LatencyMillis();
+
+    double getP99LatencyMillis();
+
+    double getP999LatencyMillis();
+
+    double getMaxLatencyMillis();
+
+    long getRequestBytes();
+
+    long getResponseBytes();
+
+    /**
+     * Returns the number of responses per HTTP status, with status 0 for requests that failed without a response.
+     */
+    Map<String, Long> getStatusCounts();
+
+    Map<String, Long> getErrorCodeCounts();
+}
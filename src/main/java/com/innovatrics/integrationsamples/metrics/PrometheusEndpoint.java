@@ -0,0 +1,81 @@
+package com.innovatrics.integrationsamples.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link DisMetrics} in the Prometheus text exposition format at {@code /metrics}, using the HTTP server of
+ * the JDK. The server runs on daemon threads, so it does not keep a finished sample running.
+ */
+public class PrometheusEndpoint {
+    private static final Logger log = LogManager.getLogger(PrometheusEndpoint.class);
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    /**
+     * Starts the endpoint.
+     *
+     * @param metrics the metrics to serve
+     * @param address the address to listen on
+     * @param port    the port to listen on
+     * @throws IOException if the server cannot be started
+     */
+    public PrometheusEndpoint(final DisMetrics metrics, final String address, final int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext(PATH, exchange -> serve(metrics, exchange));
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "prometheus-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+
+        // The dispatcher thread of the server inherits the daemon status of the thread starting the server.
+        final Thread starter = new Thread(server::start, "prometheus-endpoint-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Serving DIS client metrics at http://{}:{}{}", address, server.getAddress().getPort(), PATH);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private static void serve(final DisMetrics metrics, final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final StringBuilder text = new StringBuilder(16384);
+            metrics.writePrometheus(text);
+            final byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.innovatrics.integrationsamples.onboarding;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentAdvice;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentClassificationAdvice;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.ApiFailure;
+import com.innovatrics.integrationsamples.client.AsyncCustomerOnboardingApi;
+import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This example demonstrates the customer onboarding workflow expressed as a non-blocking composition of
+ * {@link CompletableFuture}s. Several onboardings run concurrently, while no thread waits for any response until
+ * all of them complete.
+ */
+public class AsyncCustomerOnboarding extends CustomerOnboardingApiTest {
+    private static final Logger log = LoggerFactory.getLogger(AsyncCustomerOnboarding.class);
+
+    private AsyncCustomerOnboardingApi asyncApi;
+    private byte[] faceImage;
+    private byte[] selfieImage;
+    private byte[] documentFrontImage;
+    private byte[] documentBackImage;
+
+    public AsyncCustomerOnboarding(Configuration configuration) throws ReflectiveOperationException {
+        super(configuration);
+    }
+
+    /**
+     * Starts the configured number of concurrent onboardings and waits until all of them complete. The selfie and
+     * the document pages are normalized once and in parallel before, if image normalization is enabled.
+     *
+     * @throws IOException if an I/O error occurs during loading of the images
+     */
+    @Override
+    protected void doTest() throws ApiException, URISyntaxException, IOException {
+        asyncApi = new AsyncCustomerOnboardingApi(getApi());
+        faceImage = getFacesImage("face");
+        final CompletableFuture<byte[]> selfie = normalizeFaceImage(faceImage);
+        final CompletableFuture<byte[]> documentFront = normalizeDocumentImage(getL2DocumentImage("document-front"));
+        final CompletableFuture<byte[]> documentBack = normalizeDocumentImage(getL2DocumentImage("document-back"));
+        selfieImage = selfie.join();
+        documentFrontImage = documentFront.join();
+        documentBackImage = documentBack.join();
+
+        final int onboardings = configuration.CUSTOMER_ONBOARDING_ASYNC_CONCURRENT_ONBOARDINGS;
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Boolean>> results = new ArrayList<>(onboardings);
+        for (int i = 0; i < onboardings; i++) {
+            results.add(onboardCustomer());
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        final long succeeded = results.stream().filter(CompletableFuture::join).count();
+        log.info("{} of {} onboardings succeeded in {} ms", succeeded, onboardings, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Creates a customer, evaluates its onboarding and deletes the customer regardless of the result.
+     *
+     * @return the future completed with true if the onboarding succeeded, false otherwise
+     */
+    private CompletableFuture<Boolean> onboardCustomer() {
+        return asyncApi.createCustomer()
+                .thenCompose(customerResponse -> {
+                    final String customerId = customerResponse.getId();
+                    log.info("Customer created with id: {}", customerId);
+                    return evaluateCustomerOnboarding(customerId)
+                            .exceptionally(failure -> logFailure(customerId, failure))
+                            .thenCompose(succeeded -> asyncApi.deleteCustomer(customerId).thenApply(deleted -> succeeded));
+                })
+                .exceptionally(failure -> logFailure(null, failure));
+    }
+
+    /**
+     * Runs the independent selfie, passive liveness and document branches concurrently and retrieves the customer
+     * once all of them succeed.
+     *
+     * @param customerId the unique identifier of the customer being onboarded
+     * @return the future completed with true if the onboarding succeeded, false otherwise
+     */
+    private CompletableFuture<Boolean> evaluateCustomerOnboarding(final String customerId) {
+        final CompletableFuture<Boolean> selfie = provideSelfie(customerId);
+        final CompletableFuture<Boolean> passiveLiveness = evaluatePassiveLiveness(customerId);
+        final CompletableFuture<Boolean> document = provideDocument(customerId);
+
+        return CompletableFuture.allOf(selfie, passiveLiveness, document)
+                .thenCompose(branches -> {
+                    if (!selfie.join() || !passiveLiveness.join() || !document.join()) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return asyncApi.getCustomer(customerId).thenApply(customerResponse -> {
+                        log.info("Customer: {}", customerResponse.getCustomer());
+                        return true;
+                    });
+                });
+    }
+
+    private CompletableFuture<Boolean> provideSelfie(final String customerId) {
+        return asyncApi.createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(selfieImage)))
+                .thenApply(selfieResponse -> {
+                    if (selfieResponse.getErrorCode() != null) {
+                        log.error(selfieResponse.getErrorCode().getValue());
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    private CompletableFuture<Boolean> evaluatePassiveLiveness(final String customerId) {
+        return asyncApi.createLiveness(customerId)
+                .thenCompose(liveness -> asyncApi.createLivenessSelfie(customerId, new CreateCustomerLivenessSelfieRequest()
+                        .image(new Image().data(faceImage))
+                        .assertion(CreateCustomerLivenessSelfieRequest.AssertionEnum.NONE)))
+                .thenCompose(livenessSelfieResponse -> {
+                    if (!isUsableLivenessSelfie(livenessSelfieResponse)) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return asyncApi.evaluateLiveness(customerId, new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.PASSIVE_LIVENESS))
+                            .thenApply(passiveLivenessResponse -> {
+                                if (passiveLivenessResponse.getErrorCode() != null) {
+                                    log.error(passiveLivenessResponse.getErrorCode().getValue());
+                                    return false;
+                                }
+                                log.info("Passive liveness score: {}", passiveLivenessResponse.getScore());
+                                return true;
+                            });
+                });
+    }
+
+    private CompletableFuture<Boolean> provideDocument(final String customerId) {
+        return asyncApi.createDocument(customerId, new CreateDocumentRequest().advice(new DocumentAdvice().classification(new DocumentClassificationAdvice().addCountriesItem("INO"))))
+                .thenCompose(document -> asyncApi.createDocumentPage(customerId, createDocumentPageRequest(documentFrontImage)))
+                .thenCompose(frontPageResponse -> {
+                    if (!isClassifiedPage(frontPageResponse)) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return asyncApi.createDocumentPage(customerId, createDocumentPageRequest(documentBackImage))
+                            .thenApply(AsyncCustomerOnboarding::isClassifiedPage);
+                });
+    }
+
+    private static boolean isUsableLivenessSelfie(final CreateCustomerLivenessSelfieResponse livenessSelfieResponse) {
+        if (livenessSelfieResponse.getWarnings() != null && !livenessSelfieResponse.getWarnings().isEmpty()) {
+            log.error("Liveness selfie does not meet quality required for accurate passive liveness evaluation: {}", livenessSelfieResponse.getWarnings());
+            return false;
+        }
+        if (livenessSelfieResponse.getErrorCode() != null) {
+            log.error(livenessSelfieResponse.getErrorCode().getValue());
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isClassifiedPage(final CreateDocumentPageResponse documentPageResponse) {
+        if (documentPageResponse.getErrorCode() != null) {
+            log.error(documentPageResponse.getErrorCode().getValue());
+            return false;
+        }
+        log.info("Document classified: {} page type: {}", documentPageResponse.getDocumentType().getType(), documentPageResponse.getPageType());
+        return true;
+    }
+
+    private static boolean logFailure(final String customerId, final Throwable failure) {
+        final ApiFailure apiFailure = ApiFailure.unwrap(failure);
+        if (apiFailure != null) {
+            log.error("Onboarding of customer {} failed with code: {}, error code: {} and response: {}", customerId, apiFailure.getCode(), apiFailure.getErrorCode(), apiFailure.getResponseBody());
+        } else {
+            log.error("Onboarding of customer {} failed", customerId, failure);
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        new AsyncCustomerOnboarding(new Configuration()).test();
+    }
+}
@@ -4,10 +4,8 @@ import com.innovatrics.dot.integrationsamples.disapi.ApiException;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.Customer;
 import com.innovatrics.dot.integrationsamples.disapi.model.CustomerInspectResponse;
@@ -16,7 +14,6 @@ import com.innovatrics.dot.integrationsamples.disapi.model.DocumentClassificatio
 import com.innovatrics.dot.integrationsamples.disapi.model.DocumentInspectResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.dot.integrationsamples.disapi.model.PageTamperingInspection;
 import com.innovatrics.dot.integrationsamples.disapi.model.TextConsistentWith;
 import com.innovatrics.integrationsamples.Configuration;
@@ -44,6 +41,7 @@ public class CustomerInspectAndDocumentInspectCheck extends CustomerOnboardingAp
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateCheckCustomerInspectAndDocumentInspect(customerId);
@@ -135,7 +133,7 @@ public class CustomerInspectAndDocumentInspectCheck extends CustomerOnboardingAp
 
     private void prepareAllDataForInspect(String customerId) throws ApiException, URISyntaxException, IOException {
         log.info("Data preparation started.");
-        CreateSelfieResponse selfieResponse = getApi().createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(getFacesImage("face"))));
+        CreateSelfieResponse selfieResponse = createSelfie(customerId, getFacesImage("face"));
         CreateSelfieResponse.ErrorCodeEnum selfieError = selfieResponse.getErrorCode();
         if (selfieError != null) {
             log.error(selfieError.getValue());
@@ -160,14 +158,14 @@ public class CustomerInspectAndDocumentInspectCheck extends CustomerOnboardingAp
 
         getApi().createDocument(customerId, new CreateDocumentRequest().advice(new DocumentAdvice().classification(new DocumentClassificationAdvice().addCountriesItem("INO"))));
         CreateDocumentPageResponse createDocumentResponseFront =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-front"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-front"));
         CreateDocumentPageResponse.ErrorCodeEnum documentFrontError = createDocumentResponseFront.getErrorCode();
         if (documentFrontError != null) {
             log.error(documentFrontError.getValue());
         }
 
         CreateDocumentPageResponse createDocumentResponseBack =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-back"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-back"));
         CreateDocumentPageResponse.ErrorCodeEnum documentBackError = createDocumentResponseBack.getErrorCode();
         if (documentBackError != null) {
             log.error(documentBackError.getValue());
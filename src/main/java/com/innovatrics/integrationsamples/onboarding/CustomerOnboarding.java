@@ -4,12 +4,11 @@ import com.innovatrics.dot.integrationsamples.disapi.ApiException;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.Customer;
+import com.innovatrics.dot.integrationsamples.disapi.model.CustomerOnboardingApi;
 import com.innovatrics.dot.integrationsamples.disapi.model.DocumentAdvice;
 import com.innovatrics.dot.integrationsamples.disapi.model.DocumentClassificationAdvice;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
@@ -17,12 +16,15 @@ import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLiven
 import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.client.FailFastScope;
 import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This example demonstrates comprehensive usage of customer onboarding API. Face and document images are used to create
@@ -48,6 +50,7 @@ public class CustomerOnboarding extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateCustomerOnboarding(customerId);
@@ -60,6 +63,9 @@ public class CustomerOnboarding extends CustomerOnboardingApiTest {
      * Evaluates the customer onboarding process by conducting a series of checks including
      * selfie verification, liveness detection, and document classification. It saves images of
      * the document's front, back, and portrait if the process is successful.
+     * <p>
+     * When parallel branches are enabled in the configuration, the selfie, passive liveness and document
+     * branches are evaluated concurrently, see {@link #evaluateCustomerOnboardingInParallel(String)}.
      *
      * @param customerId the unique identifier of the customer being onboarded
      * @throws URISyntaxException if the URI syntax used is incorrect
@@ -67,48 +73,137 @@ public class CustomerOnboarding extends CustomerOnboardingApiTest {
      * @throws ApiException if the API request fails or the response indicates an error
      */
     private void evaluateCustomerOnboarding(String customerId) throws URISyntaxException, IOException, ApiException {
-        CreateSelfieResponse selfieResponse = getApi().createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(getFacesImage("face"))));
+        if (configuration.CUSTOMER_ONBOARDING_PARALLEL_BRANCHES) {
+            evaluateCustomerOnboardingInParallel(customerId);
+            return;
+        }
+
+        if (!provideSelfie(getApi(), customerId)) {
+            return;
+        }
+        if (!evaluatePassiveLiveness(getApi(), customerId)) {
+            return;
+        }
+        CreateDocumentPageResponse createDocumentResponseBack = createDocumentPages(getApi(), customerId);
+        if (createDocumentResponseBack == null) {
+            return;
+        }
+        verifyDocumentResponseBack(customerId, createDocumentResponseBack);
+    }
+
+    /**
+     * Evaluates the selfie, passive liveness and document branches of the onboarding concurrently on virtual threads,
+     * as they do not depend on each other. Branches are joined before the customer is retrieved. When one of the
+     * branches reports an error code, the calls still in flight in the remaining branches are cancelled.
+     *
+     * @param customerId the unique identifier of the customer being onboarded
+     * @throws IOException if an I/O error occurs during API requests or image saving
+     * @throws ApiException if the API request fails or the response indicates an error
+     */
+    private void evaluateCustomerOnboardingInParallel(String customerId) throws IOException, ApiException {
+        final AtomicReference<CreateDocumentPageResponse> createDocumentResponseBack = new AtomicReference<>();
+
+        try (FailFastScope scope = new FailFastScope(DisHttpClientProvider.getInstance(configuration))) {
+            final CustomerOnboardingApi branchApi = new CustomerOnboardingApi(scope.getApiClient());
+
+            scope.fork("selfie", () -> provideSelfie(branchApi, customerId));
+            scope.fork("passive liveness", () -> evaluatePassiveLiveness(branchApi, customerId));
+            scope.fork("document", () -> {
+                CreateDocumentPageResponse documentResponseBack = createDocumentPages(branchApi, customerId);
+                if (documentResponseBack == null) {
+                    return false;
+                }
+                CreateDocumentPageResponse.ErrorCodeEnum documentBackError = documentResponseBack.getErrorCode();
+                if (documentBackError != null) {
+                    log.error(documentBackError.getValue());
+                    return false;
+                }
+                createDocumentResponseBack.set(documentResponseBack);
+                return true;
+            });
+
+            if (!scope.join()) {
+                return;
+            }
+        }
+
+        verifyDocumentResponseBack(customerId, createDocumentResponseBack.get());
+    }
+
+    /**
+     * Creates the customer's selfie.
+     *
+     * @param api the API used to send the requests
+     * @param customerId the unique identifier of the customer being onboarded
+     * @return true if the face was detected on the selfie, false otherwise
+     * @throws IOException if an I/O error occurs during loading of the image
+     * @throws ApiException if the API request fails
+     */
+    private boolean provideSelfie(CustomerOnboardingApi api, String customerId) throws IOException, ApiException {
+        CreateSelfieResponse selfieResponse = createSelfie(api, customerId, getFacesImage("face"));
         CreateSelfieResponse.ErrorCodeEnum selfieError = selfieResponse.getErrorCode();
         if (selfieError != null) {
             log.error(selfieError.getValue());
-            return;
+            return false;
         }
         log.info("Face detected on selfie.");
+        return true;
+    }
 
-        getApi().createLiveness(customerId);
-        CreateCustomerLivenessSelfieResponse livenessSelfieResponse = getApi().createLivenessSelfie(customerId, new CreateCustomerLivenessSelfieRequest().image(new Image().data(getFacesImage("face"))).assertion(CreateCustomerLivenessSelfieRequest.AssertionEnum.NONE));
+    /**
+     * Creates the customer's liveness, provides the liveness selfie and evaluates passive liveness.
+     *
+     * @param api the API used to send the requests
+     * @param customerId the unique identifier of the customer being onboarded
+     * @return true if the passive liveness was evaluated, false otherwise
+     * @throws IOException if an I/O error occurs during loading of the image
+     * @throws ApiException if the API request fails
+     */
+    private boolean evaluatePassiveLiveness(CustomerOnboardingApi api, String customerId) throws IOException, ApiException {
+        api.createLiveness(customerId);
+        CreateCustomerLivenessSelfieResponse livenessSelfieResponse = api.createLivenessSelfie(customerId, new CreateCustomerLivenessSelfieRequest().image(new Image().data(getFacesImage("face"))).assertion(CreateCustomerLivenessSelfieRequest.AssertionEnum.NONE));
         if (livenessSelfieResponse.getWarnings() != null && !livenessSelfieResponse.getWarnings().isEmpty()) {
             for (CreateCustomerLivenessSelfieResponse.WarningsEnum warning : livenessSelfieResponse.getWarnings()) {
                 log.warn("Liveness selfie warning: {}", warning.getValue());
             }
             log.error("Liveness selfie does not meet quality required for accurate passive liveness evaluation.");
-            return;
+            return false;
         }
         CreateCustomerLivenessSelfieResponse.ErrorCodeEnum livenessSelfieError = livenessSelfieResponse.getErrorCode();
         if (livenessSelfieError != null) {
             log.error(livenessSelfieError.getValue());
-            return;
+            return false;
         }
-        final EvaluateCustomerLivenessResponse passiveLivenessResponse = getApi().evaluateLiveness(customerId, new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.PASSIVE_LIVENESS));
+        final EvaluateCustomerLivenessResponse passiveLivenessResponse = api.evaluateLiveness(customerId, new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.PASSIVE_LIVENESS));
         EvaluateCustomerLivenessResponse.ErrorCodeEnum passiveLivenessError = passiveLivenessResponse.getErrorCode();
         if (passiveLivenessError != null) {
             log.error(passiveLivenessError.getValue());
-            return;
+            return false;
         }
         log.info("Passive liveness score: {}", passiveLivenessResponse.getScore());
+        return true;
+    }
 
-        getApi().createDocument(customerId, new CreateDocumentRequest().advice(new DocumentAdvice().classification(new DocumentClassificationAdvice().addCountriesItem("INO"))));
+    /**
+     * Creates the customer's document and uploads its front and back page.
+     *
+     * @param api the API used to send the requests
+     * @param customerId the unique identifier of the customer being onboarded
+     * @return the response of the back page upload, or null if the front page upload failed
+     * @throws IOException if an I/O error occurs during loading of the images
+     * @throws ApiException if the API request fails
+     */
+    private CreateDocumentPageResponse createDocumentPages(CustomerOnboardingApi api, String customerId) throws IOException, ApiException {
+        api.createDocument(customerId, new CreateDocumentRequest().advice(new DocumentAdvice().classification(new DocumentClassificationAdvice().addCountriesItem("INO"))));
         CreateDocumentPageResponse createDocumentResponseFront =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-front"))));
+                createDocumentPage(api, customerId, getL2DocumentImage("document-front"), null);
         CreateDocumentPageResponse.ErrorCodeEnum documentFrontError = createDocumentResponseFront.getErrorCode();
         if (documentFrontError != null) {
             log.error(documentFrontError.getValue());
-            return;
+            return null;
         }
         log.info("Document classified: {} page type: {}", createDocumentResponseFront.getDocumentType().getType(), createDocumentResponseFront.getPageType());
-        CreateDocumentPageResponse createDocumentResponseBack =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-back"))));
-        verifyDocumentResponseBack(customerId, createDocumentResponseBack);
+        return createDocumentPage(api, customerId, getL2DocumentImage("document-back"), null);
     }
 
     protected void verifyDocumentResponseBack(String customerId, CreateDocumentPageResponse createDocumentResponseBack) throws ApiException, IOException {
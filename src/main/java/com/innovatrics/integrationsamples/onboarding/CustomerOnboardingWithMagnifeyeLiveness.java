@@ -3,7 +3,6 @@ package com.innovatrics.integrationsamples.onboarding;
 import com.innovatrics.dot.integrationsamples.disapi.ApiException;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessRecordResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
@@ -14,10 +13,10 @@ import com.innovatrics.dot.integrationsamples.disapi.model.DocumentClassificatio
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest.TypeEnum;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
 import com.innovatrics.dot.integrationsamples.disapi.model.LivenessSelfieOrigin;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
 
 import java.io.File;
 import java.io.IOException;
@@ -57,6 +56,7 @@ public class CustomerOnboardingWithMagnifeyeLiveness extends CustomerOnboardingA
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateCustomerOnboardingWithMagnifeyeLiveness(customerId, configuration);
@@ -77,9 +77,11 @@ public class CustomerOnboardingWithMagnifeyeLiveness extends CustomerOnboardingA
     private void evaluateCustomerOnboardingWithMagnifeyeLiveness(String customerId, Configuration configuration) throws URISyntaxException, IOException, ApiException {
         getApi().createLiveness(customerId);
 
-        // create customer liveness record for Magnifeye Liveness
+        // create customer liveness record for Magnifeye Liveness, the record file is mapped into memory and streamed
+        // to DIS, records received as streams can be sent the same way without spilling them to a file
         final File magnifeyeBinaryData = getBinaryFile(configuration.LIVENESS_RECORDS_MAGNIFEYE_LIVENESS_BINARY_FILE);
-        final CreateCustomerLivenessRecordResponse livenessRecordResponse = getApi().createLivenessRecord(customerId, magnifeyeBinaryData);
+        final CreateCustomerLivenessRecordResponse livenessRecordResponse =
+                new BinaryUploadApi(apiClient).createLivenessRecord(customerId, magnifeyeBinaryData.toPath());
         CreateCustomerLivenessRecordResponse.ErrorCodeEnum livenessRecordError = livenessRecordResponse.getErrorCode();
         if (livenessRecordError != null) {
             log.error(livenessRecordError.getValue());
@@ -126,7 +128,7 @@ public class CustomerOnboardingWithMagnifeyeLiveness extends CustomerOnboardingA
 
         // create document front page
         final CreateDocumentPageResponse createDocumentResponseFront =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-front"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-front"));
         CreateDocumentPageResponse.ErrorCodeEnum documentFrontError = createDocumentResponseFront.getErrorCode();
         if (documentFrontError != null) {
             log.error(documentFrontError.getValue());
@@ -136,7 +138,7 @@ public class CustomerOnboardingWithMagnifeyeLiveness extends CustomerOnboardingA
 
         // create document back page
         final CreateDocumentPageResponse createDocumentResponseBack =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-back"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-back"));
         CreateDocumentPageResponse.ErrorCodeEnum documentBackError = createDocumentResponseBack.getErrorCode();
         if (documentBackError != null) {
             log.error(documentBackError.getValue());
@@ -4,10 +4,8 @@ import com.innovatrics.dot.integrationsamples.disapi.ApiException;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
-import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSessionRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.CreateSessionResponse;
@@ -16,10 +14,10 @@ import com.innovatrics.dot.integrationsamples.disapi.model.DocumentAdvice;
 import com.innovatrics.dot.integrationsamples.disapi.model.DocumentClassificationAdvice;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
-import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.dot.integrationsamples.disapi.model.ImageCrop;
 import com.innovatrics.dot.integrationsamples.disapi.model.SessionManagementApi;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.SessionContext;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -48,24 +46,30 @@ public class CustomerOnboardingWithSession extends CustomerOnboardingApiTest {
         final String sessionToken = sessionResponse.getToken();
         log.info("Session successfully created.");
 
-        // every subsequent request must have session token provided in the header
-        apiClient.addDefaultHeader("x-inn-session-token", sessionToken);
-        final CreateCustomerResponse customerResponse = getApi().createCustomer();
-
-        String customerId = customerResponse.getId();
-        log.info("Customer created with id: {}", customerId);
-
-        try {
-            evaluateCustomerOnboardingWithSession(sessionToken, customerId);
+        // every subsequent request must have session token provided in the header, the session scope adds it to the
+        // requests of this flow only, so flows with different sessions can share the API client
+        try (SessionContext.Scope ignored = SessionContext.open(sessionToken)) {
+            final CreateCustomerResponse customerResponse = getApi().createCustomer();
+
+            String customerId = customerResponse.getId();
+            log.info("Customer created with id: {}", customerId);
+
+            try {
+                evaluateCustomerOnboardingWithSession(sessionToken, customerId);
+            } finally {
+                // the customer is deleted synchronously within the scope, a queued deletion would be sent without
+                // the session token
+                log.info("Deleting customer with id: {}", customerId);
+                getApi().deleteCustomer(customerId);
+            }
         } finally {
-            deleteCustomerWithId(customerId);
             log.info("Deleting session");
             sessionManagementApi.deleteSession(sessionToken);
         }
     }
 
     private void evaluateCustomerOnboardingWithSession(String sessionToken, String customerId) throws ApiException, URISyntaxException, IOException {
-        CreateSelfieResponse selfieResponse = getApi().createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(getFacesImage("face"))));
+        CreateSelfieResponse selfieResponse = createSelfie(customerId, getFacesImage("face"));
         CreateSelfieResponse.ErrorCodeEnum selfieError = selfieResponse.getErrorCode();
         if (selfieError != null) {
             log.error(selfieError.getValue());
@@ -102,7 +106,7 @@ public class CustomerOnboardingWithSession extends CustomerOnboardingApiTest {
 
         getApi().createDocument(customerId, new CreateDocumentRequest().advice(new DocumentAdvice().classification(new DocumentClassificationAdvice().addCountriesItem("INO"))));
         CreateDocumentPageResponse createDocumentResponseFront =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-front"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-front"));
         CreateDocumentPageResponse.ErrorCodeEnum documentFrontError = createDocumentResponseFront.getErrorCode();
         if (documentFrontError != null) {
             log.error(documentFrontError.getValue());
@@ -115,7 +119,7 @@ public class CustomerOnboardingWithSession extends CustomerOnboardingApiTest {
 
         log.info("Document classified: {} page type: {}", createDocumentResponseFront.getDocumentType().getType(), createDocumentResponseFront.getPageType());
         CreateDocumentPageResponse createDocumentResponseBack =
-                getApi().createDocumentPage(customerId, new CreateDocumentPageRequest().image(new Image().data(getL2DocumentImage("document-back"))));
+                createDocumentPage(customerId, getL2DocumentImage("document-back"));
         CreateDocumentPageResponse.ErrorCodeEnum documentBackError = createDocumentResponseBack.getErrorCode();
         if (documentBackError != null) {
             log.error(documentBackError.getValue());
@@ -0,0 +1,185 @@
+package com.innovatrics.integrationsamples.onboarding;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentType;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
+import com.innovatrics.integrationsamples.testhelper.ImageNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This example checks that image normalization before upload, see {@link ImageNormalizer}, does not change the
+ * onboarding results on the sample images. Every face image is provided as selfie and liveness selfie once as it is
+ * and once normalized, and the face detection and passive liveness results are compared. The pages of the sample
+ * document are provided once as they are and once normalized, and the document classification is compared. The sample
+ * pages fit within the default {@code image-normalization.document-max-edge}, so the pages are normalized to at most
+ * {@value #DOCUMENT_MAX_EDGE} pixels in this check, otherwise they would be compared with themselves.
+ * Normalization is checked regardless of {@code image-normalization.enabled}.
+ */
+public class ImageNormalizationCheck extends CustomerOnboardingApiTest {
+    private static final Logger log = LoggerFactory.getLogger(ImageNormalizationCheck.class);
+
+    private static final double LIVENESS_SCORE_TOLERANCE = 0.05;
+    private static final int DOCUMENT_MAX_EDGE = 1200;
+    private static final List<String> FACE_IMAGES = List.of("face", "face-smile");
+    private static final List<String> DOCUMENT_PAGES = List.of("document-front", "document-back");
+
+    public ImageNormalizationCheck(Configuration configuration) throws ReflectiveOperationException {
+        super(configuration);
+    }
+
+    /**
+     * Results of one face image.
+     *
+     * @param selfieError         the error code of the selfie, null if the face was detected
+     * @param detectionConfidence the confidence of the face detected on the selfie
+     * @param livenessSelfieError the error code of the liveness selfie, null if accepted
+     * @param livenessScore       the passive liveness score, null if not evaluated
+     */
+    private record FaceResult(String selfieError, Double detectionConfidence, String livenessSelfieError, Double livenessScore) {
+    }
+
+    /**
+     * Classification of one document page.
+     *
+     * @param error    the error code of the page, null if the page was classified
+     * @param type     the document type
+     * @param country  the country of the document
+     * @param edition  the edition of the document
+     * @param pageType the page type
+     */
+    private record PageResult(String error, String type, String country, String edition, String pageType) {
+    }
+
+    /**
+     * Compares the results of the original and the normalized sample images and logs whether they are consistent.
+     *
+     * @throws ApiException if an API-related error occurs
+     * @throws IOException if an I/O error occurs during loading of the images
+     */
+    @Override
+    protected void doTest() throws ApiException, URISyntaxException, IOException {
+        boolean consistent = true;
+
+        for (String name : FACE_IMAGES) {
+            final byte[] original = getFacesImage(name);
+            final byte[] normalized = imageNormalizer.normalize(original, configuration.IMAGE_NORMALIZATION_FACE_MAX_EDGE);
+            final FaceResult originalResult = evaluateFace(original);
+            final FaceResult normalizedResult = evaluateFace(normalized);
+            final boolean same = isSame(originalResult, normalizedResult);
+            log.info("Face {} ({} -> {} bytes): original {}, normalized {}, consistent: {}",
+                    name, original.length, normalized.length, originalResult, normalizedResult, same);
+            consistent &= same;
+        }
+
+        final int documentMaxEdge = Math.min(configuration.IMAGE_NORMALIZATION_DOCUMENT_MAX_EDGE, DOCUMENT_MAX_EDGE);
+        final List<byte[]> originalPages = new ArrayList<>();
+        final List<byte[]> normalizedPages = new ArrayList<>();
+        for (String name : DOCUMENT_PAGES) {
+            final byte[] original = getL2DocumentImage(name);
+            originalPages.add(original);
+            normalizedPages.add(imageNormalizer.normalize(original, documentMaxEdge));
+        }
+        final List<PageResult> originalResults = classifyDocument(originalPages);
+        final List<PageResult> normalizedResults = classifyDocument(normalizedPages);
+        for (int i = 0; i < DOCUMENT_PAGES.size(); i++) {
+            final boolean same = Objects.equals(originalResults.get(i), normalizedResults.get(i));
+            log.info("Document page {} ({} -> {} bytes, max edge {}): original {}, normalized {}, consistent: {}", DOCUMENT_PAGES.get(i),
+                    originalPages.get(i).length, normalizedPages.get(i).length, documentMaxEdge, originalResults.get(i), normalizedResults.get(i), same);
+            consistent &= same;
+        }
+
+        log.info("Image normalizer: {}", imageNormalizer.getStatistics());
+        if (consistent) {
+            log.info("Normalized images give the same classification and liveness results as the original images.");
+        } else {
+            log.error("Normalized images change the results, check the maximum edges and the JPEG quality of image normalization.");
+        }
+    }
+
+    /**
+     * Provides the image as selfie and liveness selfie of a new customer and evaluates passive liveness. The image is
+     * uploaded as it is, bypassing the normalization of {@link #createSelfie(String, byte[])}.
+     */
+    private FaceResult evaluateFace(byte[] image) throws ApiException {
+        final String customerId = getApi().createCustomer().getId();
+        cleanupQueue.trackCustomer(customerId);
+        try {
+            final CreateSelfieResponse selfieResponse = getApi().createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(image)));
+            getApi().createLiveness(customerId);
+            final CreateCustomerLivenessSelfieResponse livenessSelfieResponse = getApi().createLivenessSelfie(customerId,
+                    new CreateCustomerLivenessSelfieRequest().image(new Image().data(image)).assertion(CreateCustomerLivenessSelfieRequest.AssertionEnum.NONE));
+
+            Double livenessScore = null;
+            if (livenessSelfieResponse.getErrorCode() == null) {
+                final EvaluateCustomerLivenessResponse livenessResponse = getApi().evaluateLiveness(customerId,
+                        new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.PASSIVE_LIVENESS));
+                livenessScore = livenessResponse.getScore();
+            }
+            return new FaceResult(
+                    selfieResponse.getErrorCode() != null ? selfieResponse.getErrorCode().getValue() : null,
+                    selfieResponse.getDetection() != null ? selfieResponse.getDetection().getConfidence() : null,
+                    livenessSelfieResponse.getErrorCode() != null ? livenessSelfieResponse.getErrorCode().getValue() : null,
+                    livenessScore);
+        } finally {
+            deleteCustomerWithId(customerId);
+        }
+    }
+
+    /**
+     * Provides the pages as the document of a new customer. The pages are uploaded as they are, bypassing the
+     * normalization of {@link #createDocumentPage(String, byte[])}.
+     */
+    private List<PageResult> classifyDocument(List<byte[]> pages) throws ApiException {
+        final String customerId = getApi().createCustomer().getId();
+        cleanupQueue.trackCustomer(customerId);
+        try {
+            getApi().createDocument(customerId, new CreateDocumentRequest());
+            final List<PageResult> results = new ArrayList<>(pages.size());
+            for (byte[] page : pages) {
+                final CreateDocumentPageResponse response = getApi().createDocumentPage(customerId, createDocumentPageRequest(page));
+                final DocumentType documentType = response.getDocumentType();
+                results.add(new PageResult(
+                        response.getErrorCode() != null ? response.getErrorCode().getValue() : null,
+                        documentType != null ? documentType.getType() : null,
+                        documentType != null ? documentType.getCountry() : null,
+                        documentType != null ? documentType.getEdition() : null,
+                        response.getPageType()));
+            }
+            return results;
+        } finally {
+            deleteCustomerWithId(customerId);
+        }
+    }
+
+    private static boolean isSame(FaceResult original, FaceResult normalized) {
+        if (!Objects.equals(original.selfieError(), normalized.selfieError())
+                || !Objects.equals(original.livenessSelfieError(), normalized.livenessSelfieError())) {
+            return false;
+        }
+        if (original.livenessScore() == null || normalized.livenessScore() == null) {
+            return original.livenessScore() == null && normalized.livenessScore() == null;
+        }
+        return Math.abs(original.livenessScore() - normalized.livenessScore()) <= LIVENESS_SCORE_TOLERANCE;
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        new ImageNormalizationCheck(new Configuration()).test();
+    }
+}
@@ -0,0 +1,244 @@
+package com.innovatrics.integrationsamples.onboarding.batch;
+
+import com.innovatrics.dot.integrationsamples.disapi.ApiException;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentPageResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateDocumentRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateSelfieResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.DocumentType;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.ApiFailure;
+import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This example onboards a batch of customers from archived images listed in a manifest, see {@link ManifestReader}.
+ * For every customer it provides the selfie, evaluates passive liveness on it and uploads the document pages, the
+ * same way as the comprehensive customer onboarding sample.
+ * <p>
+ * The manifest is read lazily and at most the configured number of onboardings run concurrently, each on its own
+ * virtual thread, so memory use does not depend on the size of the batch. Every result is appended to the results
+ * file as soon as the onboarding completes, see {@link ResultWriter}.
+ */
+public class BatchCustomerOnboarding extends CustomerOnboardingApiTest {
+    private static final Logger log = LoggerFactory.getLogger(BatchCustomerOnboarding.class);
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public BatchCustomerOnboarding(Configuration configuration) throws ReflectiveOperationException {
+        super(configuration);
+    }
+
+    @FunctionalInterface
+    private interface Step<R> {
+        R call() throws ApiException;
+    }
+
+    /**
+     * Onboards all customers of the manifest and waits until all onboardings complete.
+     *
+     * @throws IOException if the manifest cannot be read or the results file cannot be created
+     */
+    @Override
+    protected void doTest() throws ApiException, URISyntaxException, IOException {
+        final Path manifest = Path.of(configuration.BATCH_ONBOARDING_MANIFEST);
+        final Path results = Path.of(configuration.BATCH_ONBOARDING_RESULTS);
+        final int concurrency = configuration.BATCH_ONBOARDING_CONCURRENCY;
+        log.info("Onboarding customers from {} with concurrency {}, results: {}", manifest, concurrency, results);
+
+        final Semaphore permits = new Semaphore(concurrency);
+        final long start = System.nanoTime();
+        try (ManifestReader reader = new ManifestReader(manifest);
+             ResultWriter writer = new ResultWriter(results);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ManifestEntry entry;
+            while ((entry = reader.next()) != null) {
+                if (entry.failure() != null) {
+                    write(writer, rejected(entry));
+                    continue;
+                }
+                acquire(permits);
+                final ManifestEntry current = entry;
+                executor.execute(() -> {
+                    try {
+                        write(writer, onboard(current));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        final long completed = succeeded.sum() + failed.sum();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Onboarded {} customers in {} s ({} customers/s), {} succeeded, {} failed",
+                completed, String.format("%.1f", seconds), String.format("%.2f", completed / seconds), succeeded.sum(), failed.sum());
+    }
+
+    /**
+     * Onboards one customer. Failures are recorded in the result, so that one customer does not stop the batch.
+     *
+     * @param entry the manifest entry of the customer
+     * @return the result of the onboarding
+     */
+    private OnboardingResult onboard(final ManifestEntry entry) {
+        final long start = System.nanoTime();
+        final Map<String, Long> timings = new LinkedHashMap<>();
+        final List<String> errorCodes = new ArrayList<>();
+        final List<String> pageTypes = new ArrayList<>();
+        String customerId = null;
+        Double livenessScore = null;
+        DocumentType documentType = null;
+        String failure = null;
+
+        try {
+            final byte[] selfie = Files.readAllBytes(Path.of(entry.selfie()));
+            customerId = timed("createCustomer", timings, () -> getApi().createCustomer()).getId();
+            if (configuration.BATCH_ONBOARDING_DELETE_CUSTOMERS) {
+                cleanupQueue.trackCustomer(customerId);
+            }
+            final String id = customerId;
+
+            final CreateSelfieResponse selfieResponse = timed("selfie", timings, () -> createSelfie(id, selfie));
+            addErrorCode(errorCodes, selfieResponse.getErrorCode());
+
+            final EvaluateCustomerLivenessResponse livenessResponse = timed("passiveLiveness", timings, () -> evaluatePassiveLiveness(id, selfie, errorCodes));
+            if (livenessResponse != null) {
+                addErrorCode(errorCodes, livenessResponse.getErrorCode());
+                livenessScore = livenessResponse.getScore();
+            }
+
+            if (entry.documentFront() != null) {
+                final byte[] front = Files.readAllBytes(Path.of(entry.documentFront()));
+                timed("createDocument", timings, () -> getApi().createDocument(id, new CreateDocumentRequest()));
+                final CreateDocumentPageResponse frontResponse = timed("documentFront", timings, () -> createDocumentPage(id, front));
+                addErrorCode(errorCodes, frontResponse.getErrorCode());
+                documentType = frontResponse.getDocumentType();
+                addPageType(pageTypes, frontResponse);
+
+                if (frontResponse.getErrorCode() == null && entry.documentBack() != null) {
+                    final byte[] back = Files.readAllBytes(Path.of(entry.documentBack()));
+                    final CreateDocumentPageResponse backResponse = timed("documentBack", timings, () -> createDocumentPage(id, back));
+                    addErrorCode(errorCodes, backResponse.getErrorCode());
+                    addPageType(pageTypes, backResponse);
+                }
+            }
+        } catch (ApiException e) {
+            final ApiFailure apiFailure = new ApiFailure(e);
+            addErrorCode(errorCodes, apiFailure.getErrorCode());
+            failure = apiFailure.getCode() != 0 ? "HTTP " + apiFailure.getCode() : String.valueOf(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            // e.g. an invalid path in the manifest or a failed image normalization
+            failure = e.toString();
+        } finally {
+            if (customerId != null && configuration.BATCH_ONBOARDING_DELETE_CUSTOMERS) {
+                cleanupQueue.deleteCustomer(customerId);
+            }
+        }
+
+        final OnboardingResult result = new OnboardingResult(entry.reference(), customerId, livenessScore,
+                documentType != null ? documentType.getType() : null,
+                documentType != null ? documentType.getEdition() : null,
+                documentType != null ? documentType.getCountry() : null,
+                pageTypes, errorCodes, timings, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failure);
+        if (result.isSuccessful()) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+            log.warn("Onboarding of {} failed: {} {}", entry.reference(), errorCodes, failure != null ? failure : "");
+        }
+        return result;
+    }
+
+    /**
+     * Records a manifest line that cannot be onboarded as a failed result.
+     *
+     * @param entry the failed entry of the manifest
+     * @return the failed result
+     */
+    private OnboardingResult rejected(final ManifestEntry entry) {
+        failed.increment();
+        log.warn("Skipping {}: {}", entry.reference(), entry.failure());
+        return new OnboardingResult(entry.reference(), null, null, null, null, null,
+                List.of(), List.of(), Map.of(), 0, entry.failure());
+    }
+
+    /**
+     * Creates the customer's liveness, provides the selfie as liveness selfie and evaluates passive liveness.
+     *
+     * @return the liveness evaluation, or null if the liveness selfie was rejected
+     */
+    private EvaluateCustomerLivenessResponse evaluatePassiveLiveness(final String customerId, final byte[] selfie, final List<String> errorCodes) throws ApiException {
+        getApi().createLiveness(customerId);
+        final CreateCustomerLivenessSelfieResponse livenessSelfieResponse = getApi().createLivenessSelfie(customerId,
+                new CreateCustomerLivenessSelfieRequest().image(new Image().data(selfie)).assertion(CreateCustomerLivenessSelfieRequest.AssertionEnum.NONE));
+        if (livenessSelfieResponse.getErrorCode() != null) {
+            addErrorCode(errorCodes, livenessSelfieResponse.getErrorCode());
+            return null;
+        }
+        return getApi().evaluateLiveness(customerId, new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.PASSIVE_LIVENESS));
+    }
+
+    private void write(final ResultWriter writer, final OnboardingResult result) {
+        try {
+            writer.write(result);
+        } catch (IOException e) {
+            log.error("Failed to write result of {}: {}", result.reference(), result, e);
+        }
+    }
+
+    private static <R> R timed(final String step, final Map<String, Long> timings, final Step<R> call) throws ApiException {
+        final long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            timings.put(step, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private static void addErrorCode(final List<String> errorCodes, final Object errorCode) {
+        if (errorCode != null) {
+            errorCodes.add(errorCode.toString());
+        }
+    }
+
+    private static void addPageType(final List<String> pageTypes, final CreateDocumentPageResponse response) {
+        if (response.getPageType() != null) {
+            pageTypes.add(response.getPageType());
+        }
+    }
+
+    private static void acquire(final Semaphore permits) throws InterruptedIOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch onboarding interrupted.");
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        new BatchCustomerOnboarding(new Configuration()).test();
+    }
+}
@@ -0,0 +1,25 @@
+package com.innovatrics.integrationsamples.onboarding.batch;
+
+/**
+ * Images of one customer to be onboarded by {@link BatchCustomerOnboarding}.
+ *
+ * @param reference     the external reference of the customer, copied to the result
+ * @param selfie        the path of the selfie, also used for the passive liveness
+ * @param documentFront the path of the front page of the document, may be null
+ * @param documentBack  the path of the back page of the document, may be null
+ * @param failure       the reason the manifest line cannot be onboarded, null if the entry is valid
+ */
+public record ManifestEntry(String reference, String selfie, String documentFront, String documentBack, String failure) {
+
+    /**
+     * Creates an entry of a manifest line that cannot be onboarded, so that it is reported as failed and the batch
+     * continues with the next line.
+     *
+     * @param reference the reference of the customer, or the line number if the line does not give one
+     * @param failure   the reason the line cannot be onboarded
+     * @return the failed entry
+     */
+    public static ManifestEntry failed(final String reference, final String failure) {
+        return new ManifestEntry(reference, null, null, null, failure);
+    }
+}
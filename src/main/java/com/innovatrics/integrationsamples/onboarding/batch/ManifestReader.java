@@ -0,0 +1,147 @@
+package com.innovatrics.integrationsamples.onboarding.batch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.innovatrics.integrationsamples.client.DisJson;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the manifest of a batch onboarding one entry at a time, so that manifests of any size can be processed.
+ * <p>
+ * Manifests with the {@code .csv} extension have a header line naming the columns {@code reference}, {@code selfie},
+ * {@code documentFront} and {@code documentBack} in any order, followed by one comma separated line per customer.
+ * Values must not contain commas. Other manifests are read as JSON Lines, one {@link ManifestEntry} object per line.
+ * Blank lines and lines starting with {@code #} are skipped. Relative image paths are resolved against the directory
+ * of the manifest. A line that cannot be parsed or has no selfie is returned as a failed entry, so that one bad line
+ * does not stop the batch.
+ */
+public class ManifestReader implements Closeable {
+    private static final List<String> CSV_COLUMNS = List.of("reference", "selfie", "documentFront", "documentBack");
+
+    private final Path baseDirectory;
+    private final BufferedReader reader;
+    private final int[] csvColumns;
+    private final Gson gson = DisJson.getGson(false);
+    private long lineNumber;
+
+    /**
+     * One line of the manifest as written, before the image paths are resolved.
+     */
+    private record Line(String reference, String selfie, String documentFront, String documentBack) {
+    }
+
+    /**
+     * Opens the manifest and reads the CSV header, if any.
+     *
+     * @param manifest the path of the manifest
+     * @throws IOException if the manifest cannot be read or the CSV header is invalid
+     */
+    public ManifestReader(final Path manifest) throws IOException {
+        final Path parent = manifest.toAbsolutePath().getParent();
+        this.baseDirectory = parent != null ? parent : Path.of("");
+        this.reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8);
+        this.csvColumns = manifest.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? readCsvHeader() : null;
+    }
+
+    /**
+     * Reads the next entry of the manifest.
+     *
+     * @return the entry with image paths resolved against the manifest directory, a failed entry if the line is
+     * invalid, or null at the end of the manifest
+     * @throws IOException if the manifest cannot be read
+     */
+    public ManifestEntry next() throws IOException {
+        final String text = nextLine();
+        if (text == null) {
+            return null;
+        }
+        final Line line;
+        try {
+            line = csvColumns != null ? parseCsv(text) : gson.fromJson(text, Line.class);
+        } catch (JsonParseException e) {
+            return ManifestEntry.failed(String.valueOf(lineNumber), "Invalid JSON on line " + lineNumber + " of the manifest: " + e.getMessage());
+        }
+        if (line == null) {
+            return ManifestEntry.failed(String.valueOf(lineNumber), "No entry on line " + lineNumber + " of the manifest.");
+        }
+        final String reference = line.reference() != null ? line.reference() : String.valueOf(lineNumber);
+        if (line.selfie() == null) {
+            return ManifestEntry.failed(reference, "Missing selfie on line " + lineNumber + " of the manifest.");
+        }
+        return new ManifestEntry(reference, resolve(line.selfie()), resolve(line.documentFront()), resolve(line.documentBack()), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int[] readCsvHeader() throws IOException {
+        final String header = nextLine();
+        if (header == null) {
+            throw new IOException("Missing header of the CSV manifest.");
+        }
+        final String[] names = header.split(",", -1);
+        final int[] columns = new int[CSV_COLUMNS.size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < names.length; i++) {
+            final int column = CSV_COLUMNS.indexOf(names[i].trim());
+            if (column < 0) {
+                throw new IOException("Unknown column of the CSV manifest: " + names[i].trim());
+            }
+            columns[column] = i;
+        }
+        return columns;
+    }
+
+    private Line parseCsv(final String line) {
+        final String[] values = line.split(",", -1);
+        return new Line(csvValue(values, 0), csvValue(values, 1), csvValue(values, 2), csvValue(values, 3));
+    }
+
+    private String csvValue(final String[] values, final int column) {
+        final int index = csvColumns[column];
+        if (index < 0 || index >= values.length) {
+            return null;
+        }
+        final String value = values[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            final String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                return trimmed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the image path against the manifest directory. An invalid path is returned as it is, so that it fails
+     * the onboarding of its customer only, not the whole batch.
+     */
+    private String resolve(final String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            return baseDirectory.resolve(path).toString();
+        } catch (InvalidPathException e) {
+            return path;
+        }
+    }
+}
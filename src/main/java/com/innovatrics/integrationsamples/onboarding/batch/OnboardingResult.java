@@ -0,0 +1,34 @@
+package com.innovatrics.integrationsamples.onboarding.batch;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of the onboarding of one customer, written as one line of the results file by {@link ResultWriter}.
+ *
+ * @param reference       the external reference of the customer from the manifest
+ * @param customerId      the id of the customer in DIS, null if it was not created
+ * @param livenessScore   the passive liveness score, null if it was not evaluated
+ * @param documentType    the classified type of the document, null if it was not classified
+ * @param documentEdition the classified edition of the document
+ * @param documentCountry the classified country of the document
+ * @param pageTypes       the classified types of the uploaded pages
+ * @param errorCodes      the DIS error codes reported during the onboarding
+ * @param timingsMillis   the duration of each step of the onboarding in milliseconds
+ * @param totalMillis     the duration of the whole onboarding in milliseconds
+ * @param failure         the description of the failure that stopped the onboarding, null if it completed
+ */
+public record OnboardingResult(String reference, String customerId, Double livenessScore,
+                               String documentType, String documentEdition, String documentCountry,
+                               List<String> pageTypes, List<String> errorCodes, Map<String, Long> timingsMillis,
+                               long totalMillis, String failure) {
+
+    /**
+     * Returns true if the onboarding completed without errors.
+     *
+     * @return true if the onboarding succeeded
+     */
+    public boolean isSuccessful() {
+        return failure == null && errorCodes.isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.innovatrics.integrationsamples.onboarding.batch;
+
+import com.google.gson.Gson;
+import com.innovatrics.integrationsamples.client.DisJson;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes onboarding results as JSON Lines as soon as they are available, so no results are held in memory and the
+ * results of completed onboardings survive an interrupted batch. Safe for use by concurrent onboardings.
+ */
+public class ResultWriter implements Closeable {
+    private final BufferedWriter writer;
+    private final Gson gson = DisJson.getGson(false);
+
+    /**
+     * Creates the results file, replacing an existing one.
+     *
+     * @param results the path of the results file
+     * @throws IOException if the file cannot be created
+     */
+    public ResultWriter(final Path results) throws IOException {
+        this.writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the result as one line and flushes it to the file.
+     *
+     * @param result the onboarding result
+     * @throws IOException if the result cannot be written
+     */
+    public synchronized void write(final OnboardingResult result) throws IOException {
+        gson.toJson(result, OnboardingResult.class, writer);
+        writer.newLine();
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -42,10 +42,11 @@ public class DocumentOcrMrz extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         getApi().createDocument(customerId, new CreateDocumentRequest().addSourcesItem(CreateDocumentRequest.SourcesEnum.MRZ));
         CreateDocumentPageResponse createDocumentResponse =
-                getApi().createDocumentPage(customerId, createDocumentPageRequest(getL2DocumentImage("document-back")));
+                createDocumentPage(customerId, getL2DocumentImage("document-back"));
 
         checkDocumentResponseAndDeleteCustomer(createDocumentResponse, customerId);
     }
@@ -42,6 +42,7 @@ public class DocumentOcrWithAdvice extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         getApi().createDocument(customerId,
                 new CreateDocumentRequest()
@@ -49,7 +50,7 @@ public class DocumentOcrWithAdvice extends CustomerOnboardingApiTest {
                                 new DocumentClassificationAdvice().addCountriesItem(COUNTRY).addTypesItem(ID_TYPE))));
 
         CreateDocumentPageResponse createDocumentResponse =
-                getApi().createDocumentPage(customerId, createDocumentPageRequest(getL2DocumentImage("document-front")));
+                createDocumentPage(customerId, getL2DocumentImage("document-front"));
 
         checkDocumentResponseAndDeleteCustomer(createDocumentResponse, customerId);
     }
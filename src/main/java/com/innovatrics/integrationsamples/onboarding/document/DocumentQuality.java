@@ -37,6 +37,7 @@ public class DocumentQuality extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customerResponse = getApi().createCustomer();
         String customerId = customerResponse.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             verifyDocumentQuality(customerId);
@@ -57,7 +58,7 @@ public class DocumentQuality extends CustomerOnboardingApiTest {
     private void verifyDocumentQuality(String customerId) throws ApiException, URISyntaxException, IOException {
         getApi().createDocument(customerId, new CreateDocumentRequest());
         CreateDocumentPageResponse createDocumentResponse =
-                getApi().createDocumentPage(customerId, createDocumentPageRequest(getL2DocumentImage("document-front")));
+                createDocumentPage(customerId, getL2DocumentImage("document-front"));
 
         checkDocumentResponseThrowsWhenError(createDocumentResponse);
 
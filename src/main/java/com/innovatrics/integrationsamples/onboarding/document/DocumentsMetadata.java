@@ -1,16 +1,17 @@
 package com.innovatrics.integrationsamples.onboarding.document;
 
 import com.innovatrics.dot.integrationsamples.disapi.ApiException;
-import com.innovatrics.dot.integrationsamples.disapi.model.*;
+import com.innovatrics.dot.integrationsamples.disapi.model.MetadataApi;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataCache;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataIndex;
+import com.innovatrics.integrationsamples.metadata.DocumentMetadataIndex.DocumentSummary;
 import com.innovatrics.integrationsamples.testhelper.BaseApiTest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * This example represents sample implementation of getting information about documents which are supported on Level 2 and
@@ -19,7 +20,6 @@ import java.util.List;
  */
 public class DocumentsMetadata extends BaseApiTest<MetadataApi> {
     private static final Logger log = LogManager.getLogger(DocumentsMetadata.class);
-    private static final String MRZ = "machineReadableZone";
     private static final String COUNTRY = "CZE";
 
     public DocumentsMetadata(Configuration configuration) throws ReflectiveOperationException {
@@ -27,10 +27,11 @@ public class DocumentsMetadata extends BaseApiTest<MetadataApi> {
     }
 
     /**
-     * This method retrieves the metadata of all documents supported by the Digital Identity Service.
-     * It then filters this list to include only documents from the country defined by the `COUNTRY` constant.
-     * For each of these filtered documents, it checks if any of the document's pages contains an MRZ (Machine Readable Zone).
-     * The details of each filtered document, including whether it contains an MRZ, the type, and edition, are logged.
+     * This method retrieves the index of documents supported by the Digital Identity Service from the
+     * {@link DocumentMetadataCache}, which downloads the metadata only when the DIS build version changes.
+     * It then looks up the documents from the country defined by the `COUNTRY` constant.
+     * The details of each of these documents, including whether it contains an MRZ (Machine Readable Zone), the type,
+     * and edition, are logged.
      *
      * @throws ApiException if there is an error during the API call
      * @throws URISyntaxException if there is an error in URI syntax
@@ -38,27 +39,18 @@ public class DocumentsMetadata extends BaseApiTest<MetadataApi> {
      */
     @Override
     protected void doTest() throws ApiException, URISyntaxException, IOException {
-        final DocumentMetadataResponse documentMetadataResponse = getApi().metadata();
-
-        final List<Document> documentsMetadata = Collections.unmodifiableList(documentMetadataResponse.getDocuments());
-
-        final List<Document> filteredDocumentsMetadata = documentsMetadata.stream()
-                .filter(documentMetadata -> COUNTRY.equals(documentMetadata.getDocumentType().getCountry()))
-                .toList();
+        final DocumentMetadataIndex index = DocumentMetadataCache.getInstance(configuration).get();
 
         int documentNumber = 0;
-        log.info("Digital Identity Service support these {} {}", COUNTRY, " documents:");
-
-        for (Document documentMetadata : filteredDocumentsMetadata) {
-            boolean hasMRZZone = documentMetadata.getPages().values().stream()
-                    .anyMatch(pageMetadata -> pageMetadata.getVisualZone().containsKey(MRZ));
+        log.info("Digital Identity Service {} support these {} {}", index.getBuildVersion(), COUNTRY, " documents:");
 
+        for (DocumentSummary document : index.byCountry(COUNTRY)) {
             log.info("{}/ Document Type: {}; Document Edition: {}; This document has {} pages and {} MRZ Zone",
                     ++documentNumber,
-                    documentMetadata.getDocumentType().getType(),
-                    documentMetadata.getDocumentType().getEdition(),
-                    documentMetadata.getPages().size(),
-                    hasMRZZone ? "contains" : "do not contains");
+                    document.type(),
+                    document.edition(),
+                    document.pageCount(),
+                    document.hasMrz() ? "contains" : "do not contains");
         }
     }
 
@@ -42,10 +42,10 @@ public class L0DocumentValidation extends CustomerOnboardingApiTest {
 
         getApi().createDocument(customerId, new CreateDocumentRequest());
         CreateDocumentPageResponse createDocumentFrontPageResponse =
-                getApi().createDocumentPage(customerId, createDocumentPageRequest(getL0DocumentImage("document-front")));
+                createDocumentPage(customerId, getL0DocumentImage("document-front"));
 
         // add also back side to read MRZ data
-        CreateDocumentPageResponse createDocumentBackPageResponse = getApi().createDocumentPage(customerId, createDocumentPageRequest(getL0DocumentImage("document-back")));
+        CreateDocumentPageResponse createDocumentBackPageResponse = createDocumentPage(customerId, getL0DocumentImage("document-back"));
 
         GetCustomerResponse customer = getApi().getCustomer(customerId);
         validateDocument(createDocumentFrontPageResponse, createDocumentBackPageResponse, customer.getCustomer());
@@ -44,10 +44,10 @@ public class L1DocumentValidation extends CustomerOnboardingApiTest {
         getApi().createDocument(customerId, new CreateDocumentRequest());
 
         // add front side
-        getApi().createDocumentPage(customerId, createDocumentPageRequest(getL1DocumentImage("document-front")));
+        createDocumentPage(customerId, getL1DocumentImage("document-front"));
 
         // add also back side to read MRZ data
-        getApi().createDocumentPage(customerId, createDocumentPageRequest(getL1DocumentImage("document-back")));
+        createDocumentPage(customerId, getL1DocumentImage("document-back"));
 
         GetCustomerResponse customer = getApi().getCustomer(customerId);
         assert customer.getCustomer() != null;
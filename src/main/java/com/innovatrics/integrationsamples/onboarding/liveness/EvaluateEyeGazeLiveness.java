@@ -7,12 +7,15 @@ import com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerRespons
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessRequest;
 import com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustomerLivenessResponse;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.LivenessSelfiePipeline;
 import com.innovatrics.integrationsamples.testhelper.CustomerOnboardingApiTest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest.AssertionEnum.EYE_GAZE_BOTTOM_LEFT;
 import static com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest.AssertionEnum.EYE_GAZE_BOTTOM_RIGHT;
@@ -26,6 +29,10 @@ import static com.innovatrics.dot.integrationsamples.disapi.model.EvaluateCustom
 public class EvaluateEyeGazeLiveness extends CustomerOnboardingApiTest {
     private static final Logger log = LogManager.getLogger(EvaluateEyeGazeLiveness.class);
 
+    private static final String[] SEGMENT_FILES = {"top-left", "bottom-left", "bottom-right", "top-left", "bottom-right"};
+    private static final CreateCustomerLivenessSelfieRequest.AssertionEnum[] SEGMENT_PLACEMENTS =
+            {EYE_GAZE_TOP_LEFT, EYE_GAZE_BOTTOM_LEFT, EYE_GAZE_BOTTOM_RIGHT, EYE_GAZE_TOP_LEFT, EYE_GAZE_BOTTOM_RIGHT};
+
     public EvaluateEyeGazeLiveness(Configuration configuration) throws ReflectiveOperationException {
         super(configuration);
     }
@@ -42,6 +49,7 @@ public class EvaluateEyeGazeLiveness extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customer = getApi().createCustomer();
         final String customerId = customer.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateLivenessOfImage(customerId);
@@ -51,21 +59,26 @@ public class EvaluateEyeGazeLiveness extends CustomerOnboardingApiTest {
     }
 
     /**
-     * Evaluates the liveness of an image by creating and checking customer eye gaze liveness segments.
+     * Evaluates the liveness of an image by creating and checking customer eye gaze liveness segments. The segments
+     * are loaded and encoded up front and uploaded back-to-back in the order of their placements.
      *
      * @param customerId The ID of the customer for which the liveness is to be evaluated.
      * @throws ApiException If there is an error during the API call.
-     * @throws URISyntaxException If the URI syntax is incorrect.
      * @throws IOException If an I/O error occurs.
      */
-    private void evaluateLivenessOfImage(String customerId) throws ApiException, URISyntaxException, IOException {
+    private void evaluateLivenessOfImage(String customerId) throws ApiException, IOException {
         getApi().createLiveness(customerId);
 
-        createAndCheckCustomerEyeGazeLivenessSegment(customerId, "top-left", EYE_GAZE_TOP_LEFT);
-        createAndCheckCustomerEyeGazeLivenessSegment(customerId, "bottom-left", EYE_GAZE_BOTTOM_LEFT);
-        createAndCheckCustomerEyeGazeLivenessSegment(customerId, "bottom-right", EYE_GAZE_BOTTOM_RIGHT);
-        createAndCheckCustomerEyeGazeLivenessSegment(customerId, "top-left", EYE_GAZE_TOP_LEFT);
-        createAndCheckCustomerEyeGazeLivenessSegment(customerId, "bottom-right", EYE_GAZE_BOTTOM_RIGHT);
+        final List<LivenessSelfiePipeline.Segment> segments = new ArrayList<>();
+        for (int i = 0; i < SEGMENT_FILES.length; i++) {
+            segments.add(livenessSegment(SEGMENT_FILES[i], SEGMENT_PLACEMENTS[i]));
+        }
+        // This API calls can return ErrorCode NO_FACE_DETECTED if there is no face is presented on image.
+        // This API calls can return Warning MULTIPLE_FACES_DETECTED if there is are detected more than one face on image.
+        final List<CreateCustomerLivenessSelfieResponse> segmentResponses = createLivenessSelfies(customerId, segments);
+        for (int i = 0; i < SEGMENT_FILES.length; i++) {
+            checkCustomerEyeGazeLivenessSegment(SEGMENT_FILES[i], SEGMENT_PLACEMENTS[i], segmentResponses.get(i));
+        }
 
         final EvaluateCustomerLivenessResponse eyeGazeLivenessResponse = getApi().evaluateLiveness(customerId, new EvaluateCustomerLivenessRequest().type(EvaluateCustomerLivenessRequest.TypeEnum.EYE_GAZE_LIVENESS));
         if (eyeGazeLivenessResponse.getErrorCode() == null) {
@@ -78,21 +91,15 @@ public class EvaluateEyeGazeLiveness extends CustomerOnboardingApiTest {
     }
 
     /**
-     * Creates and checks a customer eye gaze liveness segment.
+     * Checks the response to a customer eye gaze liveness segment.
      *
-     * @param customerId The ID of the customer for whom the liveness segment is being created.
      * @param fileName The name of the file containing the liveness image.
      * @param segmentPlacement The placement assertion for the liveness segment.
-     * @throws ApiException if there is an error during the API call.
-     * @throws URISyntaxException if the URI syntax is incorrect.
-     * @throws IOException if an I/O error occurs.
+     * @param eyeGazeLivenessSegmentResponse The response from the liveness selfie creation API.
      */
-    private void createAndCheckCustomerEyeGazeLivenessSegment(String customerId,
-                                                              String fileName,
-                                                              CreateCustomerLivenessSelfieRequest.AssertionEnum segmentPlacement) throws ApiException, URISyntaxException, IOException {
-        CreateCustomerLivenessSelfieResponse eyeGazeLivenessSegmentResponse =
-                createCustomerEyeGazeLivenessSegment(customerId, fileName, segmentPlacement);
-
+    private void checkCustomerEyeGazeLivenessSegment(String fileName,
+                                                     CreateCustomerLivenessSelfieRequest.AssertionEnum segmentPlacement,
+                                                     CreateCustomerLivenessSelfieResponse eyeGazeLivenessSegmentResponse) {
         if (eyeGazeLivenessSegmentResponse.getWarnings() != null && !eyeGazeLivenessSegmentResponse.getWarnings().isEmpty() ) {
             log.warn("Adding image: {} as eye gaze image for position: {} ended with warning code {}", fileName, segmentPlacement, eyeGazeLivenessSegmentResponse.getWarnings());
         }
@@ -104,28 +111,6 @@ public class EvaluateEyeGazeLiveness extends CustomerOnboardingApiTest {
         }
     }
 
-    /**
-     * Creates a customer eye gaze liveness segment using the specified parameters.
-     *
-     * @param customerId The ID of the customer for whom the liveness segment is being created.
-     * @param fileName The name of the file containing the liveness image.
-     * @param segmentPlacement The placement assertion for the liveness segment.
-     * @return CreateCustomerLivenessSelfieResponse The response from the liveness selfie creation API.
-     * @throws ApiException if there is an error during the API call.
-     * @throws URISyntaxException if the URI syntax is incorrect.
-     * @throws IOException if an I/O error occurs.
-     */
-    private CreateCustomerLivenessSelfieResponse createCustomerEyeGazeLivenessSegment(String customerId,
-                                                                                      String fileName,
-                                                                                      CreateCustomerLivenessSelfieRequest.AssertionEnum segmentPlacement) throws ApiException, URISyntaxException, IOException {
-        // This API calls can return ErrorCode NO_FACE_DETECTED if there is no face is presented on image.
-        // This API calls can return Warning MULTIPLE_FACES_DETECTED if there is are detected more than one face on image.
-        return getApi().createLivenessSelfie(
-                customerId,
-                createCustomerLivenessSelfieRequest(fileName, segmentPlacement)
-        );
-    }
-
     public static void main(String[] args) throws IOException, ReflectiveOperationException {
         new EvaluateEyeGazeLiveness(new Configuration()).test();
     }
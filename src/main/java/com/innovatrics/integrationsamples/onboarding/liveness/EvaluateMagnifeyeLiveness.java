@@ -41,6 +41,7 @@ public class EvaluateMagnifeyeLiveness extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customer = getApi().createCustomer();
         final String customerId = customer.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateMagnifeyeLiveness(customerId);
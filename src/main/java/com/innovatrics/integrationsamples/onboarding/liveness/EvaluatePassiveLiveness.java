@@ -44,6 +44,7 @@ public class EvaluatePassiveLiveness extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customer = getApi().createCustomer();
         String customerId = customer.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluatePassiveLiveness(customerId);
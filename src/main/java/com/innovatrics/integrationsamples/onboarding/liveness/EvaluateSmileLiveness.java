@@ -13,6 +13,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import static com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest.AssertionEnum.NEUTRAL;
 import static com.innovatrics.dot.integrationsamples.disapi.model.CreateCustomerLivenessSelfieRequest.AssertionEnum.SMILE;
@@ -43,6 +44,7 @@ public class EvaluateSmileLiveness extends CustomerOnboardingApiTest {
         final CreateCustomerResponse customer = getApi().createCustomer();
         String customerId = customer.getId();
         log.info("Customer created with id: {}", customerId);
+        cleanupQueue.trackCustomer(customerId);
 
         try {
             evaluateCustomerFaceSmileLiveness(customerId);
@@ -52,18 +54,23 @@ public class EvaluateSmileLiveness extends CustomerOnboardingApiTest {
     }
 
     /**
-     * Evaluates the customer's smile liveness by verifying the expression in uploaded selfie images.
+     * Evaluates the customer's smile liveness by verifying the expression in uploaded selfie images. Both selfies are
+     * loaded and encoded up front and uploaded back-to-back, the neutral one first.
      *
      * @param customerId the unique identifier of the customer
      * @throws ApiException if there is an error with the API call
-     * @throws URISyntaxException if there is a URI syntax error
      * @throws IOException if there is an I/O error during the file operation
      */
-    private void evaluateCustomerFaceSmileLiveness(String customerId) throws ApiException, URISyntaxException, IOException {
+    private void evaluateCustomerFaceSmileLiveness(String customerId) throws ApiException, IOException {
         getApi().createLiveness(customerId);
 
-        sendCustomerSelfieAndCheckSmileLivenessExpression(customerId, "face-neutral", NEUTRAL);
-        sendCustomerSelfieAndCheckSmileLivenessExpression(customerId, "face-smile", SMILE);
+        // This API calls can return ErrorCode NO_FACE_DETECTED if no face is presented on image.
+        // This API calls can return Warning MULTIPLE_FACES_DETECTED if more than one face is detected on image.
+        // This API calls can return Warning LOW_QUALITY if image has does not fulfill smile liveness requirements.
+        final List<CreateCustomerLivenessSelfieResponse> expressionResponses = createLivenessSelfies(customerId,
+                List.of(livenessSegment("face-neutral", NEUTRAL), livenessSegment("face-smile", SMILE)));
+        checkSmileLivenessExpression("face-neutral", NEUTRAL, expressionResponses.get(0));
+        checkSmileLivenessExpression("face-smile", SMILE, expressionResponses.get(1));
 
         // This API calls can NOT return ErrorCode INVALID_DATA.
         final EvaluateCustomerLivenessResponse smileLivenessResponse =
@@ -79,22 +86,15 @@ public class EvaluateSmileLiveness extends CustomerOnboardingApiTest {
     }
 
     /**
-     * Verifies the customer's smile liveness expression using a selfie image.
-     * This method makes an API call to verify the selfie image for the specified customer ID and expected face expression.
+     * Checks the response to a selfie verifying the customer's smile liveness expression.
      *
-     * @param customerId     the unique identifier of the customer
-     * @param fileName       the path to the selfie image file
-     * @param faceExpression the expected facial expression to verify in the selfie (e.g., SMILE)
-     * @throws ApiException       if there is an error with the API call
-     * @throws URISyntaxException if there is a URI syntax error
-     * @throws IOException        if there is an I/O error during the file operation
+     * @param fileName                        the path to the selfie image file
+     * @param faceExpression                  the expected facial expression to verify in the selfie (e.g., SMILE)
+     * @param smileLivenessExpressionResponse the response from the liveness selfie creation API
      */
-    private void sendCustomerSelfieAndCheckSmileLivenessExpression(String customerId,
-                                                                   String fileName,
-                                                                   CreateCustomerLivenessSelfieRequest.AssertionEnum faceExpression) throws ApiException, URISyntaxException, IOException {
-        CreateCustomerLivenessSelfieResponse smileLivenessExpressionResponse =
-                verifyCustomerSmileLivenessExpression(customerId, fileName, faceExpression);
-
+    private void checkSmileLivenessExpression(String fileName,
+                                              CreateCustomerLivenessSelfieRequest.AssertionEnum faceExpression,
+                                              CreateCustomerLivenessSelfieResponse smileLivenessExpressionResponse) {
         if (smileLivenessExpressionResponse.getWarnings() != null && !smileLivenessExpressionResponse.getWarnings().isEmpty()) {
             if (smileLivenessExpressionResponse.getWarnings().contains(MULTIPLE_FACES_DETECTED)) {
                 log.warn("Image added into Smile Liveness check contains more than one just face. " +
@@ -114,30 +114,6 @@ public class EvaluateSmileLiveness extends CustomerOnboardingApiTest {
         }
     }
 
-    /**
-     * Verifies the customer's smile liveness expression using a selfie image.
-     * This method makes an API call to verify the selfie image for the specified customer ID and expected face expression.
-     *
-     * @param customerId     the unique identifier of the customer
-     * @param fileName       the path to the selfie image file
-     * @param faceExpression the expected facial expression to verify in the selfie (e.g., SMILE)
-     * @return a CreateCustomerLivenessSelfieResponse object containing the results of the liveness verification
-     * @throws ApiException       if there is an error with the API call
-     * @throws URISyntaxException if there is a URI syntax error
-     * @throws IOException        if there is an I/O error during the file operation
-     */
-    private CreateCustomerLivenessSelfieResponse verifyCustomerSmileLivenessExpression(String customerId,
-                                                                                       String fileName,
-                                                                                       CreateCustomerLivenessSelfieRequest.AssertionEnum faceExpression) throws ApiException, URISyntaxException, IOException {
-        // This API calls can return ErrorCode NO_FACE_DETECTED if no face is presented on image.
-        // This API calls can return Warning MULTIPLE_FACES_DETECTED if more than one face is detected on image.
-        // This API calls can return Warning LOW_QUALITY if image has does not fulfill smile liveness requirements.
-        return getApi().createLivenessSelfie(
-                customerId,
-                createCustomerLivenessSelfieRequest(fileName, faceExpression)
-        );
-    }
-
     public static void main(String[] args) throws IOException, ReflectiveOperationException {
         new EvaluateSmileLiveness(new Configuration()).test();
     }
@@ -0,0 +1,132 @@
+package com.innovatrics.integrationsamples.standin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates canned response bodies from the response schemas of the {@link OpenApiSpec}.
+ * <p>
+ * A canned body is valid against its schema: every property is present, with the example value of the schema where
+ * one is given, the first value of an enum, a value within the bounds of a number, one item of an array and one entry
+ * of a map. Properties of requests only ({@code writeOnly}) are left out, and so are optional {@code errorCode} and
+ * {@code warnings} properties, so that canned responses describe successful processing. Base64 encoded data is a
+ * valid PNG image, so crops and portraits can be saved and decoded by the samples.
+ */
+public final class CannedResponses {
+    /**
+     * A 1x1 pixel PNG image.
+     */
+    public static final String PNG_BASE64 = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAIAAACQd1PeAAAADElEQVR4nGP4//8/AAX+Av4N70a4AAAAAElFTkSuQmCC";
+
+    private static final Set<String> FAILURE_PROPERTIES = Set.of("errorCode", "warnings");
+    private static final String DATE_TIME = "2024-01-01T00:00:00Z";
+    private static final int MAX_DEPTH = 16;
+
+    private CannedResponses() {
+    }
+
+    /**
+     * Creates a canned value of the schema.
+     *
+     * @param spec   the specification resolving schema references
+     * @param schema the schema
+     * @return the canned value
+     */
+    public static JsonElement create(final OpenApiSpec spec, final JsonObject schema) {
+        return create(spec, schema, new HashSet<>(), 0);
+    }
+
+    private static JsonElement create(final OpenApiSpec spec, final JsonObject schema, final Set<String> visiting, final int depth) {
+        final String ref = schema.has("$ref") ? schema.get("$ref").getAsString() : null;
+        if (ref != null && (depth > MAX_DEPTH || !visiting.add(ref))) {
+            // recursive schemas end with an empty value
+            return JsonNull.INSTANCE;
+        }
+        try {
+            final JsonObject resolved = spec.dereference(schema);
+            if (resolved.has("enum")) {
+                return resolved.getAsJsonArray("enum").get(0);
+            }
+            final String type = resolved.has("type") && resolved.get("type").isJsonPrimitive() ? resolved.get("type").getAsString()
+                    : resolved.has("properties") ? "object" : "";
+            return switch (type) {
+                case "object" -> createObject(spec, resolved, visiting, depth);
+                case "array" -> {
+                    final JsonArray array = new JsonArray();
+                    final JsonElement item = create(spec, resolved.getAsJsonObject("items"), visiting, depth + 1);
+                    if (!item.isJsonNull()) {
+                        array.add(item);
+                    }
+                    yield array;
+                }
+                case "string" -> createString(resolved);
+                case "number" -> createNumber(resolved, false);
+                case "integer" -> createNumber(resolved, true);
+                case "boolean" -> resolved.has("example") ? resolved.get("example") : new JsonPrimitive(false);
+                default -> JsonNull.INSTANCE;
+            };
+        } finally {
+            if (ref != null) {
+                visiting.remove(ref);
+            }
+        }
+    }
+
+    private static JsonElement createObject(final OpenApiSpec spec, final JsonObject schema, final Set<String> visiting, final int depth) {
+        final JsonObject object = new JsonObject();
+        final Set<String> required = new HashSet<>();
+        if (schema.has("required")) {
+            schema.getAsJsonArray("required").forEach(name -> required.add(name.getAsString()));
+        }
+        if (schema.has("properties")) {
+            for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet()) {
+                final JsonObject propertySchema = property.getValue().getAsJsonObject();
+                if (!required.contains(property.getKey())
+                        && (FAILURE_PROPERTIES.contains(property.getKey()) || isTrue(propertySchema, "writeOnly"))) {
+                    continue;
+                }
+                final JsonElement value = create(spec, propertySchema, visiting, depth + 1);
+                if (!value.isJsonNull()) {
+                    object.add(property.getKey(), value);
+                }
+            }
+        }
+        if (schema.has("additionalProperties") && schema.get("additionalProperties").isJsonObject()) {
+            final JsonElement value = create(spec, schema.getAsJsonObject("additionalProperties"), visiting, depth + 1);
+            if (!value.isJsonNull()) {
+                object.add("example", value);
+            }
+        }
+        return object;
+    }
+
+    private static JsonElement createString(final JsonObject schema) {
+        final String format = schema.has("format") ? schema.get("format").getAsString() : "";
+        return switch (format) {
+            case "byte" -> new JsonPrimitive(PNG_BASE64);
+            case "date-time" -> new JsonPrimitive(DATE_TIME);
+            default -> schema.has("example") ? schema.get("example") : new JsonPrimitive("string");
+        };
+    }
+
+    private static JsonElement createNumber(final JsonObject schema, final boolean integer) {
+        if (schema.has("example")) {
+            return schema.get("example");
+        }
+        final double minimum = schema.has("minimum") ? schema.get("minimum").getAsDouble() : 0;
+        final double maximum = schema.has("maximum") ? schema.get("maximum").getAsDouble() : minimum + 1;
+        final double value = (minimum + maximum) / 2;
+        return integer ? new JsonPrimitive((long) Math.ceil(value)) : new JsonPrimitive(value);
+    }
+
+    private static boolean isTrue(final JsonObject schema, final String property) {
+        return schema.has(property) && schema.get(property).getAsBoolean();
+    }
+}
@@ -0,0 +1,315 @@
+package com.innovatrics.integrationsamples.standin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.cleanup.ResourceType;
+import com.innovatrics.integrationsamples.client.DisJson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight stand-in for the Digital Identity Service (DIS), serving all operations of {@code swagger.json} on the
+ * HTTP server of the JDK, so that load tests and benchmarks of the client run without network access.
+ * <p>
+ * Every operation answers with its canned response, see {@link CannedResponses}, or with the content of
+ * {@code <operationId>.json} in the responses directory if present. Customers, faces and palms are kept in memory:
+ * the create operations return new ids, requests to resources that do not exist are answered with 404 and the delete
+ * operations remove them. Request bodies are read and discarded, images are not processed.
+ * <p>
+ * Each request is delayed by the latency drawn for its operation and a fraction of requests is answered with the
+ * configured error status, see {@link OperationBehavior}. Requests are handled on virtual threads, so injected
+ * latencies do not limit the number of concurrent requests.
+ */
+public class DisStandInServer {
+    private static final Logger log = LogManager.getLogger(DisStandInServer.class);
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String CONTENT_TYPE = "application/json";
+    private static final int BACKLOG = 1024;
+    private static final Map<String, ResourceType> CREATED_RESOURCES = Map.of(
+            "createCustomer", ResourceType.CUSTOMER,
+            "createCustomerWithUuid", ResourceType.CUSTOMER,
+            "detectFace", ResourceType.FACE,
+            "detectFaceBinary", ResourceType.FACE,
+            "createPalm", ResourceType.PALM,
+            "createPalmBinary", ResourceType.PALM);
+
+    static {
+        // the JDK server writes headers and body separately, with Nagle's algorithm the body waits for a delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final OpenApiSpec spec;
+    private final OperationBehavior defaultBehavior;
+    private final Map<String, OperationBehavior> behaviors;
+    private final int errorStatus;
+    private final Map<String, JsonElement> bodies = new HashMap<>();
+    private final Map<String, byte[]> encodedBodies = new HashMap<>();
+    private final StandInState state = new StandInState();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+
+    /**
+     * Snapshot of the server counters.
+     *
+     * @param requests       number of requests received
+     * @param injectedErrors number of requests answered with an injected error
+     * @param notFound       number of requests to unknown paths or resources
+     * @param customers      number of customers in memory
+     * @param faces          number of faces in memory
+     * @param palms          number of palms in memory
+     */
+    public record Statistics(long requests, long injectedErrors, long notFound, int customers, int faces, int palms) {
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @param spec               the operations to serve
+     * @param address            the address to listen on
+     * @param port               the port to listen on, 0 for any free port
+     * @param defaultBehavior    the latency and error rate of operations without an override
+     * @param behaviors          the latency and error rate by operationId
+     * @param errorStatus        the HTTP status of injected errors
+     * @param responsesDirectory the directory of response bodies replacing the canned ones, may be null
+     * @throws IOException if a response body cannot be read or the server cannot be started
+     */
+    public DisStandInServer(final OpenApiSpec spec, final String address, final int port, final OperationBehavior defaultBehavior,
+                            final Map<String, OperationBehavior> behaviors, final int errorStatus, final Path responsesDirectory) throws IOException {
+        this.spec = spec;
+        this.defaultBehavior = defaultBehavior;
+        this.behaviors = Map.copyOf(behaviors);
+        this.errorStatus = errorStatus;
+        for (String operationId : behaviors.keySet()) {
+            if (spec.getOperations().stream().noneMatch(operation -> operation.operationId().equals(operationId))) {
+                throw new IllegalArgumentException("Unknown DIS operation: " + operationId);
+            }
+        }
+        prepareBodies(responsesDirectory);
+
+        server = HttpServer.create(new InetSocketAddress(address, port), BACKLOG);
+        server.createContext("/", this::handle);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        // The dispatcher thread of the server inherits the daemon status of the thread starting the server.
+        final Thread starter = new Thread(server::start, "dis-stand-in-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while starting the stand-in server.");
+        }
+        log.info("DIS stand-in serving {} operations at {}", spec.getOperations().size(), getUrl());
+    }
+
+    /**
+     * Starts the server configured by the {@code stand-in.*} properties.
+     *
+     * @param configuration the configuration
+     * @return the started server
+     * @throws IOException if the server cannot be started
+     */
+    public static DisStandInServer start(final Configuration configuration) throws IOException {
+        final OperationBehavior defaultBehavior = OperationBehavior.parse(configuration.STAND_IN_LATENCY, configuration.STAND_IN_ERROR_RATE);
+        final Map<String, OperationBehavior> behaviors = OperationBehavior.parseOverrides(defaultBehavior,
+                configuration.STAND_IN_OPERATION_LATENCY, configuration.STAND_IN_OPERATION_ERROR_RATE);
+        final Path responsesDirectory = configuration.STAND_IN_RESPONSES_DIRECTORY.isBlank() ? null : Path.of(configuration.STAND_IN_RESPONSES_DIRECTORY);
+        return new DisStandInServer(OpenApiSpec.load(), configuration.STAND_IN_ADDRESS, configuration.STAND_IN_PORT, defaultBehavior,
+                behaviors, configuration.STAND_IN_ERROR_STATUS, responsesDirectory);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the URL to use as {@code dot-identity-service-url}
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort();
+    }
+
+    public StandInState getState() {
+        return state;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(requests.sum(), injectedErrors.sum(), notFound.sum(), state.size(ResourceType.CUSTOMER),
+                state.size(ResourceType.FACE), state.size(ResourceType.PALM));
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void prepareBodies(final Path responsesDirectory) throws IOException {
+        final Gson gson = DisJson.getGson(false);
+        for (OpenApiSpec.Operation operation : spec.getOperations()) {
+            final Path file = responsesDirectory != null ? responsesDirectory.resolve(operation.operationId() + ".json") : null;
+            final JsonElement body;
+            if (file != null && Files.isRegularFile(file)) {
+                body = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8));
+                log.info("Response of {} read from {}", operation.operationId(), file);
+            } else if (operation.successSchema() != null) {
+                body = CannedResponses.create(spec, operation.successSchema());
+            } else {
+                continue;
+            }
+            bodies.put(operation.operationId(), body);
+            encodedBodies.put(operation.operationId(), gson.toJson(body).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            requests.increment();
+
+            final String method = exchange.getRequestMethod();
+            final String path = exchange.getRequestURI().getRawPath();
+            final OpenApiSpec.Operation operation = spec.resolve(method, path);
+            if (operation == null) {
+                notFound.increment();
+                sendError(exchange, 404, "NOT_FOUND", "No operation matches " + method + " " + path);
+                return;
+            }
+
+            final OperationBehavior behavior = behaviors.getOrDefault(operation.operationId(), defaultBehavior);
+            final Random random = ThreadLocalRandom.current();
+            try {
+                Thread.sleep(behavior.sampleLatencyMillis(random));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (behavior.sampleError(random)) {
+                injectedErrors.increment();
+                sendError(exchange, errorStatus, errorStatus == 429 ? "TOO_MANY_REQUESTS" : "UNEXPECTED_ERROR", "Error injected by the DIS stand-in.");
+                return;
+            }
+            respond(exchange, operation, operation.match(path));
+        }
+    }
+
+    private void respond(final HttpExchange exchange, final OpenApiSpec.Operation operation, final Map<String, String> parameters) throws IOException {
+        final ResourceType addressed = addressedResource(operation);
+        String id = addressed != null ? parameters.get(operation.pathParameters().getFirst()) : null;
+
+        final ResourceType created = CREATED_RESOURCES.get(operation.operationId());
+        if (created != null) {
+            if (id == null) {
+                id = state.create(created);
+            } else if (!state.create(created, id)) {
+                sendError(exchange, 422, "ALREADY_EXISTS", created + " " + id + " already exists.");
+                return;
+            }
+            send(exchange, operation.successStatus(), createdBody(operation, created, id));
+            return;
+        }
+
+        if (addressed != null) {
+            if (!state.exists(addressed, id)) {
+                notFound.increment();
+                sendError(exchange, 404, "NOT_FOUND", addressed + " " + id + " not found.");
+                return;
+            }
+            if ("DELETE".equals(operation.method()) && operation.pathParameters().size() == 1 && operation.pathTemplate().endsWith("}")) {
+                state.delete(addressed, id);
+            }
+        }
+        send(exchange, operation.successStatus(), encodedBodies.get(operation.operationId()));
+    }
+
+    /**
+     * Returns the body of a create operation with the id and self link of the created resource.
+     */
+    private byte[] createdBody(final OpenApiSpec.Operation operation, final ResourceType type, final String id) {
+        final JsonElement canned = bodies.get(operation.operationId());
+        if (canned == null || !canned.isJsonObject()) {
+            return encodedBodies.get(operation.operationId());
+        }
+        final JsonObject body = canned.getAsJsonObject().deepCopy();
+        body.addProperty("id", id);
+        final JsonObject links = new JsonObject();
+        links.addProperty("self", API_PREFIX + collection(type) + "/" + id);
+        body.add("links", links);
+        return DisJson.getGson(false).toJson(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the type of the resource addressed by the first path parameter, e.g. the customer of
+     * {@code /api/v1/customers/{id}/selfie}, or null if the path addresses no resource.
+     */
+    private static ResourceType addressedResource(final OpenApiSpec.Operation operation) {
+        for (ResourceType type : ResourceType.values()) {
+            if (operation.pathTemplate().startsWith(API_PREFIX + collection(type) + "/{")) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static String collection(final ResourceType type) {
+        return type.name().toLowerCase(Locale.ROOT) + "s";
+    }
+
+    private void sendError(final HttpExchange exchange, final int status, final String errorCode, final String errorMessage) throws IOException {
+        final JsonObject body = new JsonObject();
+        body.addProperty("errorCode", errorCode);
+        body.addProperty("errorMessage", errorMessage);
+        send(exchange, status, DisJson.getGson(false).toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        if (body == null || status == 204) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final DisStandInServer server = start(new Configuration());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> log.info("DIS stand-in stopped: {}", server.getStatistics()), "dis-stand-in-shutdown"));
+        // the server runs on daemon threads, so wait until the process is terminated
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,167 @@
+package com.innovatrics.integrationsamples.standin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Operations and schemas of the DIS API read from the OpenAPI document {@code swagger.json}, which is packaged with
+ * the generated API client.
+ */
+public class OpenApiSpec {
+    public static final String RESOURCE = "swagger.json";
+
+    private static final Pattern PATH_PARAMETER = Pattern.compile("\\{([^}]+)}");
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+
+    private final List<Operation> operations;
+    private final JsonObject schemas;
+
+    /**
+     * An operation of the API.
+     *
+     * @param operationId    the operationId
+     * @param method         the HTTP method
+     * @param pathTemplate   the path with parameters in braces, e.g. {@code /api/v1/customers/{id}}
+     * @param pathParameters the names of the path parameters in the order they appear in the path
+     * @param successStatus  the status of the successful response
+     * @param successSchema  the schema of the JSON body of the successful response, null if it has no body
+     * @param pathPattern    the pattern matching the path of a request, capturing the path parameters
+     */
+    public record Operation(String operationId, String method, String pathTemplate, List<String> pathParameters,
+                            int successStatus, JsonObject successSchema, Pattern pathPattern) {
+
+        /**
+         * Matches the path of a request to the path template.
+         *
+         * @param path the path of the request
+         * @return the values of the path parameters by their names, null if the path does not match
+         */
+        public Map<String, String> match(final String path) {
+            final Matcher matcher = pathPattern.matcher(path);
+            if (!matcher.matches()) {
+                return null;
+            }
+            final Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < pathParameters.size(); i++) {
+                values.put(pathParameters.get(i), matcher.group(i + 1));
+            }
+            return values;
+        }
+    }
+
+    private OpenApiSpec(final List<Operation> operations, final JsonObject schemas) {
+        this.operations = operations;
+        this.schemas = schemas;
+    }
+
+    /**
+     * Reads the OpenAPI document from the classpath.
+     *
+     * @return the operations and schemas of the API
+     * @throws IOException if the document is missing or cannot be read
+     */
+    public static OpenApiSpec load() throws IOException {
+        try (InputStream is = OpenApiSpec.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (is == null) {
+                throw new IOException("OpenAPI document " + RESOURCE + " not found on the classpath.");
+            }
+            return parse(JsonParser.parseReader(new InputStreamReader(is, StandardCharsets.UTF_8)).getAsJsonObject());
+        }
+    }
+
+    static OpenApiSpec parse(final JsonObject document) {
+        final List<Operation> operations = new ArrayList<>();
+        for (Map.Entry<String, JsonElement> path : document.getAsJsonObject("paths").entrySet()) {
+            for (Map.Entry<String, JsonElement> method : path.getValue().getAsJsonObject().entrySet()) {
+                if (method.getValue().isJsonObject() && method.getValue().getAsJsonObject().has("operationId")) {
+                    operations.add(toOperation(path.getKey(), method.getKey(), method.getValue().getAsJsonObject()));
+                }
+            }
+        }
+        // paths with fewer parameters first, so that e.g. /faces/binary is not taken for /faces/{id}
+        operations.sort(Comparator.comparingInt(operation -> operation.pathParameters().size()));
+        return new OpenApiSpec(Collections.unmodifiableList(operations), document.getAsJsonObject("components").getAsJsonObject("schemas"));
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Resolves the operation invoked by a request.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the path of the request
+     * @return the operation, or null if the request does not match any operation
+     */
+    public Operation resolve(final String method, final String path) {
+        for (Operation operation : operations) {
+            if (operation.method().equals(method) && operation.pathPattern().matcher(path).matches()) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Follows the reference of a schema to the schema of the components.
+     *
+     * @param schema the schema, possibly a reference
+     * @return the referenced schema, or the given schema if it is not a reference
+     * @throws IllegalArgumentException if the referenced schema does not exist
+     */
+    public JsonObject dereference(final JsonObject schema) {
+        if (!schema.has("$ref")) {
+            return schema;
+        }
+        final String ref = schema.get("$ref").getAsString();
+        final JsonElement referenced = ref.startsWith(SCHEMA_REF_PREFIX) ? schemas.get(ref.substring(SCHEMA_REF_PREFIX.length())) : null;
+        if (referenced == null || !referenced.isJsonObject()) {
+            throw new IllegalArgumentException("Unresolved schema reference " + ref);
+        }
+        return referenced.getAsJsonObject();
+    }
+
+    private static Operation toOperation(final String pathTemplate, final String method, final JsonObject operation) {
+        final List<String> parameters = new ArrayList<>();
+        final Matcher matcher = PATH_PARAMETER.matcher(pathTemplate);
+        final StringBuilder pattern = new StringBuilder();
+        int end = 0;
+        while (matcher.find()) {
+            pattern.append(Pattern.quote(pathTemplate.substring(end, matcher.start()))).append("([^/]+)");
+            parameters.add(matcher.group(1));
+            end = matcher.end();
+        }
+        pattern.append(Pattern.quote(pathTemplate.substring(end)));
+
+        int successStatus = 200;
+        JsonObject successSchema = null;
+        for (Map.Entry<String, JsonElement> response : operation.getAsJsonObject("responses").entrySet()) {
+            if (response.getKey().startsWith("2")) {
+                successStatus = Integer.parseInt(response.getKey());
+                final JsonObject content = response.getValue().getAsJsonObject().getAsJsonObject("content");
+                if (content != null && content.has("application/json")) {
+                    successSchema = content.getAsJsonObject("application/json").getAsJsonObject("schema");
+                }
+                break;
+            }
+        }
+        return new Operation(operation.get("operationId").getAsString(), method.toUpperCase(Locale.ROOT), pathTemplate,
+                List.copyOf(parameters), successStatus, successSchema, Pattern.compile(pattern.toString()));
+    }
+}
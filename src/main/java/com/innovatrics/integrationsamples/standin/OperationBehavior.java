@@ -0,0 +1,115 @@
+package com.innovatrics.integrationsamples.standin;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Injected latency and error rate of one operation of the {@link DisStandInServer}.
+ * <p>
+ * Latencies follow a log-normal distribution given by its median and 99th percentile, which models the long tail of
+ * a real service. Equal median and 99th percentile give a constant latency.
+ *
+ * @param medianMillis the median latency in milliseconds
+ * @param p99Millis    the 99th percentile of the latency in milliseconds
+ * @param errorRate    the fraction of requests answered with an error, from 0 to 1
+ */
+public record OperationBehavior(long medianMillis, long p99Millis, double errorRate) {
+    private static final double Z_99 = 2.3263;
+
+    public OperationBehavior {
+        if (medianMillis < 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Latency must satisfy 0 <= median <= p99: " + medianMillis + "/" + p99Millis);
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+        }
+    }
+
+    /**
+     * Draws the latency of one request.
+     *
+     * @param random the source of randomness
+     * @return the latency in milliseconds
+     */
+    public long sampleLatencyMillis(final Random random) {
+        if (medianMillis == 0 || p99Millis == medianMillis) {
+            return medianMillis;
+        }
+        final double sigma = Math.log((double) p99Millis / medianMillis) / Z_99;
+        return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Decides whether one request fails.
+     *
+     * @param random the source of randomness
+     * @return true if the request should be answered with an error
+     */
+    public boolean sampleError(final Random random) {
+        return errorRate > 0 && random.nextDouble() < errorRate;
+    }
+
+    /**
+     * Creates the behavior from the {@code stand-in.latency} and {@code stand-in.error-rate} properties.
+     *
+     * @param latency   the latency as {@code median/p99} or {@code constant} in milliseconds
+     * @param errorRate the error rate
+     * @return the behavior
+     * @throws IllegalArgumentException if the latency cannot be parsed
+     */
+    public static OperationBehavior parse(final String latency, final double errorRate) {
+        final long[] latencyMillis = parseLatency(latency);
+        return new OperationBehavior(latencyMillis[0], latencyMillis[1], errorRate);
+    }
+
+    /**
+     * Creates the behaviors of the operations overriding the default behavior.
+     *
+     * @param defaults         the default behavior
+     * @param operationLatency comma separated {@code operationId=median/p99} latencies, may be empty
+     * @param operationErrors  comma separated {@code operationId=rate} error rates, may be empty
+     * @return the behaviors by operationId of the operations with an override
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    public static Map<String, OperationBehavior> parseOverrides(final OperationBehavior defaults, final String operationLatency,
+                                                                final String operationErrors) {
+        final Map<String, long[]> latencies = new HashMap<>();
+        forEachEntry(operationLatency, (operationId, value) -> latencies.put(operationId, parseLatency(value)));
+        final Map<String, Double> errorRates = new HashMap<>();
+        forEachEntry(operationErrors, (operationId, value) -> errorRates.put(operationId, Double.parseDouble(value)));
+
+        final Set<String> operationIds = new HashSet<>(latencies.keySet());
+        operationIds.addAll(errorRates.keySet());
+        final Map<String, OperationBehavior> behaviors = new HashMap<>();
+        for (String operationId : operationIds) {
+            final long[] latencyMillis = latencies.getOrDefault(operationId, new long[]{defaults.medianMillis(), defaults.p99Millis()});
+            behaviors.put(operationId, new OperationBehavior(latencyMillis[0], latencyMillis[1],
+                    errorRates.getOrDefault(operationId, defaults.errorRate())));
+        }
+        return behaviors;
+    }
+
+    private static long[] parseLatency(final String value) {
+        final String[] parts = value.trim().split("/");
+        final long median = Long.parseLong(parts[0].trim());
+        final long p99 = parts.length > 1 ? Long.parseLong(parts[1].trim()) : median;
+        return new long[]{median, p99};
+    }
+
+    private static void forEachEntry(final String entries, final BiConsumer<String, String> consumer) {
+        for (String entry : entries.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            final int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected operationId=value: " + entry);
+            }
+            consumer.accept(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.innovatrics.integrationsamples.standin;
+
+import com.innovatrics.integrationsamples.cleanup.ResourceType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory customers, faces and palms of the {@link DisStandInServer}. Resources exist from their creation until
+ * their deletion, requests to resources that do not exist are answered with 404 as by DIS.
+ */
+public class StandInState {
+    private final Map<ResourceType, Set<String>> resources = new EnumMap<>(ResourceType.class);
+
+    public StandInState() {
+        for (ResourceType type : ResourceType.values()) {
+            resources.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Creates a resource with a new random id.
+     *
+     * @param type the type of the resource
+     * @return the id of the resource
+     */
+    public String create(final ResourceType type) {
+        final String id = UUID.randomUUID().toString();
+        resources.get(type).add(id);
+        return id;
+    }
+
+    /**
+     * Creates a resource with the given id.
+     *
+     * @param type the type of the resource
+     * @param id   the id of the resource
+     * @return true if created, false if the resource already exists
+     */
+    public boolean create(final ResourceType type, final String id) {
+        return resources.get(type).add(id);
+    }
+
+    public boolean exists(final ResourceType type, final String id) {
+        return resources.get(type).contains(id);
+    }
+
+    /**
+     * Deletes a resource.
+     *
+     * @param type the type of the resource
+     * @param id   the id of the resource
+     * @return true if deleted, false if the resource does not exist
+     */
+    public boolean delete(final ResourceType type, final String id) {
+        return resources.get(type).remove(id);
+    }
+
+    public int size(final ResourceType type) {
+        return resources.get(type).size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.innovatrics.integrationsamples.testhelper;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Base64TypeAdapter is a streaming type adapter for byte arrays in JSON.
+ *
+ * Unlike {@link DataTypeDeserializer}, it reads the encoded string directly from the JsonReader without building
+ * a JsonElement tree and decodes it straight into a byte array of the exact decoded size, with no intermediate
+ * copy of the encoded data. Byte arrays are written as Base64 strings.
+ */
+public class Base64TypeAdapter extends TypeAdapter<byte[]> {
+    @Override
+    public void write(JsonWriter out, byte[] value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(Base64.getEncoder().encodeToString(value));
+    }
+
+    @Override
+    public byte[] read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (in.peek() != JsonToken.STRING) {
+            throw new JsonSyntaxException("Expected Base64 string but was " + in.peek() + " at path " + in.getPath());
+        }
+        return decode(in.nextString());
+    }
+
+    /**
+     * Decodes the Base64 string into a byte array of the exact decoded size.
+     *
+     * @param encoded the Base64 encoded string
+     * @return the decoded bytes
+     */
+    static byte[] decode(final String encoded) {
+        int dataLength = encoded.length();
+        while (dataLength > 0 && encoded.charAt(dataLength - 1) == '=') {
+            dataLength--;
+        }
+        final byte[] decoded = new byte[(int) (dataLength * 3L / 4)];
+
+        try (InputStream decoder = Base64.getDecoder().wrap(new AsciiInputStream(encoded))) {
+            final int read = decoder.readNBytes(decoded, 0, decoded.length);
+            if (read != decoded.length || decoder.read() != -1) {
+                throw new JsonSyntaxException("Invalid Base64 length: " + encoded.length());
+            }
+        } catch (IOException e) {
+            throw new JsonSyntaxException("Invalid Base64 data", e);
+        }
+        return decoded;
+    }
+
+    /**
+     * Reads the characters of an ASCII string as bytes without copying the string.
+     */
+    private static class AsciiInputStream extends InputStream {
+        private final String value;
+        private int position;
+
+        AsciiInputStream(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < value.length() ? nextByte() : -1;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            final int count = Math.min(length, value.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) nextByte();
+            }
+            return count;
+        }
+
+        private int nextByte() throws IOException {
+            final char c = value.charAt(position++);
+            if (c > 0x7F) {
+                throw new IOException("Illegal Base64 character: " + c);
+            }
+            return c;
+        }
+    }
+}
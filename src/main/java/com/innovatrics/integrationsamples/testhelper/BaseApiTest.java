@@ -1,26 +1,28 @@
 package com.innovatrics.integrationsamples.testhelper;
 
-import com.google.gson.GsonBuilder;
-import com.google.gson.Strictness;
 import com.innovatrics.dot.integrationsamples.disapi.ApiClient;
 import com.innovatrics.dot.integrationsamples.disapi.ApiException;
-import com.innovatrics.dot.integrationsamples.disapi.JSON;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceRequest;
+import com.innovatrics.dot.integrationsamples.disapi.model.CreateFaceResponse;
+import com.innovatrics.dot.integrationsamples.disapi.model.FaceOperationsApi;
+import com.innovatrics.dot.integrationsamples.disapi.model.Image;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.cleanup.CleanupQueue;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
+import com.innovatrics.integrationsamples.client.DisHttpClientProvider;
+import com.innovatrics.integrationsamples.client.ImageTransport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.*;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.time.OffsetDateTime;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 
@@ -36,6 +38,10 @@ public abstract class BaseApiTest<T> {
     protected T api;
     protected final Configuration configuration;
     protected ApiClient apiClient;
+    protected ImageTransport imageTransport;
+    protected ImageCache imageCache;
+    protected CleanupQueue cleanupQueue;
+    protected ImageWriter imageWriter;
 
     public BaseApiTest(final Configuration configuration) throws ReflectiveOperationException {
         this.configuration = configuration;
@@ -47,13 +53,11 @@ public abstract class BaseApiTest<T> {
     }
 
     public void setup() throws ReflectiveOperationException {
-        apiClient = new ApiClient().setBasePath(configuration.DOT_IDENTITY_SERVICE_URL);
-        apiClient.setBearerToken(configuration.DOT_AUTHENTICATION_TOKEN);
-        JSON.setGson(new GsonBuilder()
-                        .registerTypeAdapter(byte[].class, new DataTypeDeserializer())
-                .registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeDeserializer())
-                .setStrictness(Strictness.LENIENT)
-                .setPrettyPrinting().create());
+        apiClient = DisHttpClientProvider.getInstance(configuration).newApiClient();
+        imageTransport = ImageTransport.fromName(configuration.IMAGE_TRANSPORT);
+        imageCache = ImageCache.getInstance(configuration.IMAGE_CACHE_MAX_BYTES, configuration.IMAGE_CACHE_REVALIDATE_REMOTE);
+        cleanupQueue = CleanupQueue.getInstance(configuration);
+        imageWriter = ImageWriter.getInstance(configuration.IMAGE_WRITER_THREADS, configuration.IMAGE_WRITER_QUEUE_CAPACITY, configuration.IMAGE_WRITER_CONVERT);
 
         Class<T> apiType;
         Type genericSuperclass = getClass().getGenericSuperclass();
@@ -63,7 +67,7 @@ public abstract class BaseApiTest<T> {
 
         Type genericSuperclassType = ((ParameterizedType) genericSuperclass).getActualTypeArguments()[0];
         apiType = (Class<T>) genericSuperclassType;
-        api = apiType.getConstructor(ApiClient.class).newInstance(apiClient);
+        api = DisHttpClientProvider.newApi(apiType, apiClient);
     }
 
     /**
@@ -71,6 +75,7 @@ public abstract class BaseApiTest<T> {
      * Catches and logs exceptions that occur during the test execution.
      * If an ApiException is thrown, logs the HTTP status code and response body.
      * If a general exception is thrown, logs the cause of the exception.
+     * Statistics of the image cache are logged on debug level.
      */
     public void test() {
         try {
@@ -79,9 +84,23 @@ public abstract class BaseApiTest<T> {
             log.error("Request to server failed with code: {} and response: {}", apiException.getCode(), apiException.getResponseBody());
         } catch (Exception genericException) {
             log.error("General error: {}", String.valueOf(genericException.getCause()), genericException);
+        } finally {
+            log.debug("Image cache: {}", imageCache.getStatistics());
         }
     }
 
+    /**
+     * Executes the specific test logic defined in the abstract method doTest once. Unlike {@link #test()}, exceptions
+     * are propagated to the caller, e.g. to the load driver counting failed runs.
+     *
+     * @throws ApiException if an API-related error occurs
+     * @throws URISyntaxException if there is an issue with the syntax of a URI
+     * @throws IOException if an I/O error occurs
+     */
+    public void run() throws ApiException, URISyntaxException, IOException {
+        doTest();
+    }
+
     /**
      * An abstract method to be implemented for executing specific test logic.
      *
@@ -92,6 +111,29 @@ public abstract class BaseApiTest<T> {
     protected abstract void doTest() throws ApiException, URISyntaxException, IOException;
 
 
+    /**
+     * Returns true if images should be uploaded as raw bytes to the binary endpoints.
+     *
+     * @return true for the binary image transport, false for JSON
+     */
+    protected boolean isBinaryImageTransport() {
+        return imageTransport == ImageTransport.BINARY;
+    }
+
+    /**
+     * Detects a face on the given image using the configured image transport.
+     *
+     * @param image the encoded image
+     * @return the face response
+     * @throws ApiException if the API request fails
+     */
+    protected CreateFaceResponse detectFace(final byte[] image) throws ApiException {
+        if (isBinaryImageTransport()) {
+            return new BinaryUploadApi(apiClient).detectFaceBinary(image);
+        }
+        return new FaceOperationsApi(apiClient).detectFace(new CreateFaceRequest().image(new Image().data(image)));
+    }
+
     /**
      * Retrieves the image bytes from a specified resource name.
      *
@@ -118,7 +160,8 @@ public abstract class BaseApiTest<T> {
     }
 
     /**
-     * Loads an image from a specified URL location.
+     * Loads an image from a specified URL location. Images are served from the process-wide image cache, the
+     * returned array is shared and must not be modified.
      *
      * @param location the location of the image resource to load
      * @return a byte array containing the image data
@@ -133,12 +176,14 @@ public abstract class BaseApiTest<T> {
             return loadImageFromURL(location);
         }
 
-        URL resource = getClass().getClassLoader().getResource(location);
-        checkResourceIsValid(location, resource);
+        return imageCache.get(location, () -> {
+            URL resource = getClass().getClassLoader().getResource(location);
+            checkResourceIsValid(location, resource);
 
-        try (final InputStream is = Objects.requireNonNull(resource).openStream()){
-            return is.readAllBytes();
-        }
+            try (final InputStream is = Objects.requireNonNull(resource).openStream()){
+                return is.readAllBytes();
+            }
+        });
     }
 
     /**
@@ -155,9 +200,7 @@ public abstract class BaseApiTest<T> {
         }
 
         URL url = URI.create(fileName).toURL();
-        try (final InputStream is = Objects.requireNonNull(url).openStream()){
-            return is.readAllBytes();
-        }
+        return imageCache.getRemote(Objects.requireNonNull(url));
     }
 
     /**
@@ -227,19 +270,17 @@ public abstract class BaseApiTest<T> {
     }
 
     /**
-     * Saves the given image to a file with the specified name in the "onboardingImages" directory.
+     * Saves the given image to a file with the specified name in the output folder. The image is written
+     * asynchronously by the image writer, without decoding it, see {@link ImageWriter}.
      *
      * @param image    the byte array representing the image to be saved
+     * @param outputFolder the folder to save the image in
      * @param fileName the name of the file to save the image as, including the file extension
-     * @throws IOException if an error occurs during writing the image to the file
+     * @return the future completed with the path of the written file
+     * @throws IOException if interrupted while waiting for the image writer queue
      */
-    protected void saveImage(byte[] image, String outputFolder, String fileName) throws IOException {
-        prepareOutputDirectory(outputFolder);
-
-        try ( ByteArrayInputStream bis = new ByteArrayInputStream(image)) {
-            BufferedImage bImage2 = ImageIO.read(bis);
-            ImageIO.write(bImage2, "png", new File(outputFolder + FileSystems.getDefault().getSeparator() + fileName));
-        }
+    protected CompletableFuture<Path> saveImage(byte[] image, String outputFolder, String fileName) throws IOException {
+        return imageWriter.write(image, Path.of(outputFolder, fileName));
     }
 
     protected File getBinaryFile(String path) {
@@ -3,17 +3,25 @@ package com.innovatrics.integrationsamples.testhelper;
 import com.innovatrics.dot.integrationsamples.disapi.ApiException;
 import com.innovatrics.dot.integrationsamples.disapi.model.*;
 import com.innovatrics.integrationsamples.Configuration;
+import com.innovatrics.integrationsamples.client.BinaryUploadApi;
+import com.innovatrics.integrationsamples.client.DisJson;
+import com.innovatrics.integrationsamples.client.LivenessSelfiePipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class CustomerOnboardingApiTest extends BaseApiTest<CustomerOnboardingApi> {
     private static final Logger log = LoggerFactory.getLogger(CustomerOnboardingApiTest.class);
 
+    protected final ImageNormalizer imageNormalizer;
+
     public CustomerOnboardingApiTest(Configuration configuration) throws ReflectiveOperationException {
         super(configuration);
+        imageNormalizer = ImageNormalizer.getInstance(configuration.IMAGE_NORMALIZATION_THREADS, configuration.IMAGE_NORMALIZATION_JPEG_QUALITY.floatValue());
     }
 
     /**
@@ -21,7 +29,7 @@ public abstract class CustomerOnboardingApiTest extends BaseApiTest<CustomerOnbo
      *
      * @param createDocumentResponse the response object containing the result of the document creation process
      * @param customerId the ID of the customer to be deleted if no errors are present in the document response
-     * @throws ApiException if an error occurs during API calls for retrieving or deleting the customer
+     * @throws ApiException if an error occurs during API calls for retrieving the customer
      */
     protected void checkDocumentResponseAndDeleteCustomer(CreateDocumentPageResponse createDocumentResponse, String customerId) throws ApiException {
         checkDocumentResponseThrowsWhenError(createDocumentResponse);
@@ -44,14 +52,14 @@ public abstract class CustomerOnboardingApiTest extends BaseApiTest<CustomerOnbo
     }
 
     /**
-     * Deletes a customer with the specified ID.
+     * Queues deletion of a customer with the specified ID, the customer is deleted asynchronously by the
+     * cleanup queue.
      *
      * @param customerId the ID of the customer to delete
-     * @throws ApiException if there is an error during the API call
      */
-    protected void deleteCustomerWithId(String customerId) throws ApiException {
+    protected void deleteCustomerWithId(String customerId) {
         log.info("Deleting customer with id: {}", customerId);
-        getApi().deleteCustomer(customerId);
+        cleanupQueue.deleteCustomer(customerId);
     }
 
     /**
@@ -76,6 +84,96 @@ public abstract class CustomerOnboardingApiTest extends BaseApiTest<CustomerOnbo
                 .image(new Image().data(image));
     }
 
+    /**
+     * Provides customer's selfie using the configured image transport.
+     *
+     * @param customerId the ID of the customer
+     * @param image the encoded selfie image
+     * @return the selfie response
+     * @throws ApiException if the API request fails
+     */
+    protected CreateSelfieResponse createSelfie(String customerId, byte[] image) throws ApiException {
+        return createSelfie(getApi(), customerId, image);
+    }
+
+    /**
+     * Provides customer's selfie through the given API using the configured image transport. The selfie is
+     * normalized before upload if image normalization is enabled.
+     *
+     * @param api the API used to send the request
+     * @param customerId the ID of the customer
+     * @param image the encoded selfie image
+     * @return the selfie response
+     * @throws ApiException if the API request fails
+     */
+    protected CreateSelfieResponse createSelfie(CustomerOnboardingApi api, String customerId, byte[] image) throws ApiException {
+        final byte[] selfie = normalizeFaceImage(image).join();
+        if (isBinaryImageTransport()) {
+            return new BinaryUploadApi(api.getApiClient()).createSelfieBinary(customerId, selfie);
+        }
+        return api.createSelfie(customerId, new CreateSelfieRequest().image(new Image().data(selfie)));
+    }
+
+    /**
+     * Provides a page of customer's document using the configured image transport.
+     *
+     * @param customerId the ID of the customer
+     * @param image the encoded image of the page
+     * @return the document page response
+     * @throws ApiException if the API request fails
+     */
+    protected CreateDocumentPageResponse createDocumentPage(String customerId, byte[] image) throws ApiException {
+        return createDocumentPage(getApi(), customerId, image, null);
+    }
+
+    /**
+     * Provides a page of customer's document through the given API using the configured image transport.
+     * The binary endpoint accepts the image only, so the request falls back to JSON whenever page advice is given.
+     * The page is normalized before upload if image normalization is enabled.
+     *
+     * @param api the API used to send the request
+     * @param customerId the ID of the customer
+     * @param image the encoded image of the page
+     * @param advice the page advice, may be null
+     * @return the document page response
+     * @throws ApiException if the API request fails
+     */
+    protected CreateDocumentPageResponse createDocumentPage(CustomerOnboardingApi api, String customerId, byte[] image, DocumentPageAdvice advice) throws ApiException {
+        final byte[] page = normalizeDocumentImage(image).join();
+        if (isBinaryImageTransport() && advice == null) {
+            return new BinaryUploadApi(api.getApiClient()).createDocumentPageBinary(customerId, page);
+        }
+        return api.createDocumentPage(customerId, createDocumentPageRequest(page).advice(advice));
+    }
+
+    /**
+     * Normalizes a selfie before upload if image normalization is enabled, see {@link ImageNormalizer}. The image is
+     * downscaled to the configured maximum edge for faces on the normalizer threads.
+     *
+     * @param image the encoded selfie image
+     * @return the future completed with the image to upload
+     */
+    protected CompletableFuture<byte[]> normalizeFaceImage(byte[] image) {
+        if (!configuration.IMAGE_NORMALIZATION_ENABLED) {
+            return CompletableFuture.completedFuture(image);
+        }
+        return imageNormalizer.normalizeAsync(image, configuration.IMAGE_NORMALIZATION_FACE_MAX_EDGE);
+    }
+
+    /**
+     * Normalizes a page of a document before upload if image normalization is enabled, see {@link ImageNormalizer}.
+     * The image is downscaled to the configured maximum edge for documents on the normalizer threads.
+     *
+     * @param image the encoded image of the page
+     * @return the future completed with the image to upload
+     */
+    protected CompletableFuture<byte[]> normalizeDocumentImage(byte[] image) {
+        if (!configuration.IMAGE_NORMALIZATION_ENABLED) {
+            return CompletableFuture.completedFuture(image);
+        }
+        return imageNormalizer.normalizeAsync(image, configuration.IMAGE_NORMALIZATION_DOCUMENT_MAX_EDGE);
+    }
+
     /**
      * Creates a new CreateCustomerLivenessSelfieRequest using the specified file name.
      *
@@ -89,4 +187,29 @@ public abstract class CustomerOnboardingApiTest extends BaseApiTest<CustomerOnbo
                 .image(new Image().data(getFacesImage(fileName)))
                 .assertion(segmentPlacement);
     }
+
+    /**
+     * Uploads the selfies of a multi-segment liveness in the given order, see {@link LivenessSelfiePipeline}. All
+     * selfies are loaded and encoded before the first upload.
+     *
+     * @param customerId the ID of the customer with a created liveness
+     * @param segments   the selfies in the order required by the liveness
+     * @return the responses in the order of the segments
+     * @throws ApiException if an upload fails
+     * @throws IOException if an image cannot be loaded
+     */
+    protected List<CreateCustomerLivenessSelfieResponse> createLivenessSelfies(String customerId, List<LivenessSelfiePipeline.Segment> segments) throws ApiException, IOException {
+        return new LivenessSelfiePipeline(apiClient, DisJson.getGson(configuration.JSON_PRETTY_PRINT)).upload(customerId, segments);
+    }
+
+    /**
+     * Creates a selfie of a multi-segment liveness from a face image of the samples.
+     *
+     * @param fileName the name of the face image
+     * @param assertion the assertion of the selfie
+     * @return the selfie loading the image when the upload is prepared
+     */
+    protected LivenessSelfiePipeline.Segment livenessSegment(final String fileName, CreateCustomerLivenessSelfieRequest.AssertionEnum assertion) {
+        return new LivenessSelfiePipeline.Segment(assertion, () -> getFacesImage(fileName));
+    }
 }
@@ -0,0 +1,185 @@
+package com.innovatrics.integrationsamples.testhelper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide, size-bounded cache of images loaded by the samples from the classpath or remote locations.
+ * <p>
+ * The cache is bounded by the total number of cached bytes and evicts the least recently used images first.
+ * Remote images can optionally be revalidated on every access using a conditional request with the ETag and
+ * Last-Modified validators returned by the server, so that a changed image is downloaded again while an unchanged
+ * one costs only a 304 response. Cached arrays are shared between callers and must not be modified.
+ */
+public class ImageCache {
+    private static final Logger log = LogManager.getLogger(ImageCache.class);
+
+    private static volatile ImageCache instance;
+
+    private final long maxBytes;
+    private final boolean revalidateRemote;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Loads an image that is not cached yet.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        byte[] load() throws IOException;
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits          number of accesses served from the cache, including revalidated remote images
+     * @param misses        number of accesses that loaded the image
+     * @param revalidations number of conditional requests answered with 304 Not Modified
+     * @param evictions     number of images evicted to stay within the size bound
+     * @param entries       number of cached images
+     * @param sizeBytes     total size of cached images in bytes
+     */
+    public record Statistics(long hits, long misses, long revalidations, long evictions, int entries, long sizeBytes) {
+    }
+
+    private record Entry(byte[] data, String eTag, String lastModified) {
+        boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+    }
+
+    public ImageCache(final long maxBytes, final boolean revalidateRemote) {
+        this.maxBytes = maxBytes;
+        this.revalidateRemote = revalidateRemote;
+    }
+
+    /**
+     * Returns the process-wide cache, creating it with the given settings on the first call.
+     *
+     * @param maxBytes         the maximum total size of cached images in bytes, 0 disables the cache
+     * @param revalidateRemote whether remote images should be revalidated on every access
+     * @return the process-wide cache
+     */
+    public static ImageCache getInstance(final long maxBytes, final boolean revalidateRemote) {
+        ImageCache cache = instance;
+        if (cache == null) {
+            synchronized (ImageCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    cache = new ImageCache(maxBytes, revalidateRemote);
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cached image for the given location, loading it with the given loader on a miss.
+     *
+     * @param location the location of the image used as the cache key
+     * @param loader   the loader of the image
+     * @return the image bytes
+     * @throws IOException if the image cannot be loaded
+     */
+    public byte[] get(final String location, final Loader loader) throws IOException {
+        final Entry cached = lookup(location);
+        if (cached != null) {
+            hits.increment();
+            return cached.data();
+        }
+        misses.increment();
+        final byte[] data = loader.load();
+        store(location, new Entry(data, null, null));
+        return data;
+    }
+
+    /**
+     * Returns the cached image downloaded from the given URL. On a miss, or when remote revalidation is enabled,
+     * the image is requested from the server, conditionally if validators of the cached image are known.
+     *
+     * @param url the URL of the image
+     * @return the image bytes
+     * @throws IOException if the image cannot be downloaded
+     */
+    public byte[] getRemote(final URL url) throws IOException {
+        final String location = url.toString();
+        final Entry cached = lookup(location);
+        if (cached != null && !(revalidateRemote && cached.hasValidators())) {
+            hits.increment();
+            return cached.data();
+        }
+
+        final URLConnection connection = url.openConnection();
+        if (cached != null) {
+            if (cached.eTag() != null) {
+                connection.setRequestProperty("If-None-Match", cached.eTag());
+            }
+            if (cached.lastModified() != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified());
+            }
+        }
+        if (connection instanceof HttpURLConnection http && http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            http.disconnect();
+            hits.increment();
+            revalidations.increment();
+            return cached.data();
+        }
+
+        misses.increment();
+        final byte[] data;
+        try (final InputStream is = connection.getInputStream()) {
+            data = is.readAllBytes();
+        }
+        store(location, new Entry(data, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified")));
+        return data;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), revalidations.sum(), evictions.sum(), entries.size(), sizeBytes);
+    }
+
+    private synchronized Entry lookup(final String location) {
+        return entries.get(location);
+    }
+
+    private synchronized void store(final String location, final Entry entry) {
+        if (entry.data().length > maxBytes) {
+            return;
+        }
+        final Entry previous = entries.put(location, entry);
+        if (previous != null) {
+            sizeBytes -= previous.data().length;
+        }
+        sizeBytes += entry.data().length;
+
+        final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > maxBytes && eldest.hasNext()) {
+            final Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            sizeBytes -= evicted.getValue().data().length;
+            evictions.increment();
+            log.debug("Evicted image {} of {} bytes from the cache.", evicted.getKey(), evicted.getValue().data().length);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.innovatrics.integrationsamples.testhelper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide normalizer of images before they are uploaded to DIS, e.g. of 12-megapixel phone photos.
+ * <p>
+ * An image whose longer edge exceeds the given maximum is downscaled to it and re-encoded as JPEG at the configured
+ * quality. Smaller images are returned as they are, their dimensions are read from the image header without decoding
+ * the image. Large images are decoded with source subsampling to at most twice the target size and then halved with
+ * bilinear interpolation until the target is reached, which keeps the downscaled image free of aliasing. The EXIF
+ * orientation of JPEG images is applied to the pixels, as the re-encoded image carries no EXIF metadata.
+ * <p>
+ * Images are normalized on a pool of CPU threads. The downscaled image is remembered for the identity of the source
+ * array as long as the source array is reachable, so images served from the {@link ImageCache} are downscaled once.
+ * Images returned as they are, because they are small enough or cannot be decoded, are not remembered, only their
+ * header is read again.
+ */
+public class ImageNormalizer {
+    private static final Logger log = LogManager.getLogger(ImageNormalizer.class);
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private static volatile ImageNormalizer instance;
+
+    private final ExecutorService executor;
+    private final float jpegQuality;
+    private final Map<byte[], Normalized> normalized = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder downscaled = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    private record Normalized(int maxEdge, byte[] image) {
+    }
+
+    /**
+     * Snapshot of the normalizer counters.
+     *
+     * @param downscaled number of images downscaled and re-encoded
+     * @param skipped    number of images already small enough
+     * @param failed     number of images that could not be normalized and were returned as they are
+     * @param bytesIn    total size of the downscaled images before normalization
+     * @param bytesOut   total size of the downscaled images after normalization
+     */
+    public record Statistics(long downscaled, long skipped, long failed, long bytesIn, long bytesOut) {
+    }
+
+    /**
+     * @param threads     the number of normalizer threads, 0 for the number of available processors
+     * @param jpegQuality the quality of the re-encoded JPEG images, from 0 to 1
+     */
+    public ImageNormalizer(final int threads, final float jpegQuality) {
+        if (jpegQuality < 0 || jpegQuality > 1) {
+            throw new IllegalArgumentException("JPEG quality must be between 0 and 1: " + jpegQuality);
+        }
+        this.executor = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().daemon().name("image-normalizer-", 0).factory());
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Returns the process-wide normalizer, creating it with the given settings on the first call.
+     *
+     * @param threads     the number of normalizer threads, 0 for the number of available processors
+     * @param jpegQuality the quality of the re-encoded JPEG images, from 0 to 1
+     * @return the process-wide normalizer
+     */
+    public static ImageNormalizer getInstance(final int threads, final float jpegQuality) {
+        ImageNormalizer normalizer = instance;
+        if (normalizer == null) {
+            synchronized (ImageNormalizer.class) {
+                normalizer = instance;
+                if (normalizer == null) {
+                    normalizer = new ImageNormalizer(threads, jpegQuality);
+                    instance = normalizer;
+                }
+            }
+        }
+        return normalizer;
+    }
+
+    /**
+     * Normalizes the image on the normalizer threads.
+     *
+     * @param image   the encoded image, must not be modified
+     * @param maxEdge the maximum length of the longer edge in pixels, 0 or less returns the image as it is
+     * @return the future completed with the normalized image, or with the given image if it is small enough or
+     * cannot be normalized
+     */
+    public CompletableFuture<byte[]> normalizeAsync(final byte[] image, final int maxEdge) {
+        if (maxEdge <= 0) {
+            return CompletableFuture.completedFuture(image);
+        }
+        final Normalized remembered = normalized.get(image);
+        if (remembered != null && remembered.maxEdge() == maxEdge) {
+            return CompletableFuture.completedFuture(remembered.image());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            final byte[] result = normalizeNow(image, maxEdge);
+            // an entry whose value is its own key would never be collected
+            if (result != image) {
+                normalized.put(image, new Normalized(maxEdge, result));
+            }
+            return result;
+        }, executor);
+    }
+
+    /**
+     * Normalizes the image on the normalizer threads and waits for the result.
+     *
+     * @param image   the encoded image, must not be modified
+     * @param maxEdge the maximum length of the longer edge in pixels, 0 or less returns the image as it is
+     * @return the normalized image, or the given image if it is small enough or cannot be normalized
+     */
+    public byte[] normalize(final byte[] image, final int maxEdge) {
+        return normalizeAsync(image, maxEdge).join();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(downscaled.sum(), skipped.sum(), failed.sum(), bytesIn.sum(), bytesOut.sum());
+    }
+
+    private byte[] normalizeNow(final byte[] image, final int maxEdge) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format.");
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final int width = reader.getWidth(0);
+                final int height = reader.getHeight(0);
+                final int edge = Math.max(width, height);
+                if (edge <= maxEdge) {
+                    skipped.increment();
+                    return image;
+                }
+
+                final ImageReadParam param = reader.getDefaultReadParam();
+                final int subsampling = Math.max(1, edge / (2 * maxEdge));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                final BufferedImage decoded = reader.read(0, param);
+                final BufferedImage scaled = scale(decoded, maxEdge, exifOrientation(image));
+                final byte[] encoded = encodeJpeg(scaled);
+
+                downscaled.increment();
+                bytesIn.add(image.length);
+                bytesOut.add(encoded.length);
+                log.debug("Image normalized from {}x{} to {}x{}, {} to {} bytes", width, height, scaled.getWidth(), scaled.getHeight(), image.length, encoded.length);
+                return encoded;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Image cannot be normalized, uploading it as it is: {}", e.toString());
+            return image;
+        }
+    }
+
+    /**
+     * Halves the image until the next halving would undershoot the target, then scales it to the target. The EXIF
+     * orientation is applied in the last step.
+     */
+    private static BufferedImage scale(final BufferedImage image, final int maxEdge, final int orientation) {
+        BufferedImage current = image;
+        int width = current.getWidth();
+        int height = current.getHeight();
+        final double ratio = (double) maxEdge / Math.max(width, height);
+        final int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        final int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height, width, height, new AffineTransform());
+        }
+
+        final boolean transposed = orientation >= 5 && orientation <= 8;
+        final int outWidth = transposed ? targetHeight : targetWidth;
+        final int outHeight = transposed ? targetWidth : targetHeight;
+        return draw(current, targetWidth, targetHeight, outWidth, outHeight, orientationTransform(orientation, targetWidth, targetHeight));
+    }
+
+    private static BufferedImage draw(final BufferedImage source, final int width, final int height, final int outWidth, final int outHeight,
+                                      final AffineTransform transform) {
+        final BufferedImage target = new BufferedImage(outWidth, outHeight, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.transform(transform);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Maps the image of the given size to its displayed orientation, see the EXIF orientation tag.
+     */
+    private static AffineTransform orientationTransform(final int orientation, final int width, final int height) {
+        final AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> transform.setTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> transform.setTransform(-1, 0, 0, -1, width, height);
+            case 4 -> transform.setTransform(1, 0, 0, -1, 0, height);
+            case 5 -> transform.setTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> transform.setTransform(0, 1, -1, 0, height, 0);
+            case 7 -> transform.setTransform(0, -1, -1, 0, height, width);
+            case 8 -> transform.setTransform(0, -1, 1, 0, 0, width);
+            default -> {
+            }
+        }
+        return transform;
+    }
+
+    private byte[] encodeJpeg(final BufferedImage image) throws IOException {
+        final javax.imageio.ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the EXIF orientation of a JPEG image from the APP1 segment.
+     *
+     * @return the orientation from 1 to 8, 1 if the image is not a JPEG image or has no orientation
+     */
+    static int exifOrientation(final byte[] image) {
+        if (ImageWriter.Format.sniff(image) != ImageWriter.Format.JPEG) {
+            return 1;
+        }
+        int offset = 2;
+        while (offset + 4 <= image.length && (image[offset] & 0xFF) == 0xFF) {
+            final int marker = image[offset + 1] & 0xFF;
+            final int length = readUnsignedShort(image, offset + 2, true);
+            if (marker == 0xDA || length < 2) {
+                return 1;
+            }
+            final int segment = offset + 4;
+            if (marker == 0xE1 && segment + 14 <= image.length && image[segment] == 'E' && image[segment + 1] == 'x'
+                    && image[segment + 2] == 'i' && image[segment + 3] == 'f') {
+                return tiffOrientation(image, segment + 6, Math.min(offset + 2 + length, image.length));
+            }
+            offset += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int tiffOrientation(final byte[] image, final int tiff, final int end) {
+        final boolean bigEndian = image[tiff] == 'M';
+        final int ifd = tiff + readInt(image, tiff + 4, bigEndian);
+        if (ifd < tiff || ifd + 2 > end) {
+            return 1;
+        }
+        final int entries = readUnsignedShort(image, ifd, bigEndian);
+        for (int i = 0; i < entries; i++) {
+            final int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (readUnsignedShort(image, entry, bigEndian) == EXIF_ORIENTATION_TAG) {
+                final int orientation = readUnsignedShort(image, entry + 8, bigEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readUnsignedShort(final byte[] bytes, final int offset, final boolean bigEndian) {
+        final int first = bytes[offset] & 0xFF;
+        final int second = bytes[offset + 1] & 0xFF;
+        return bigEndian ? first << 8 | second : second << 8 | first;
+    }
+
+    private static int readInt(final byte[] bytes, final int offset, final boolean bigEndian) {
+        final int first = readUnsignedShort(bytes, offset, bigEndian);
+        final int second = readUnsignedShort(bytes, offset + 2, bigEndian);
+        return bigEndian ? first << 16 | second : second << 16 | first;
+    }
+}
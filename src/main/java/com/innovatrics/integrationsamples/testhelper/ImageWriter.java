@@ -0,0 +1,272 @@
+package com.innovatrics.integrationsamples.testhelper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide writer of images returned by DIS, such as face crops, document pages and portraits.
+ * <p>
+ * DIS returns encoded images, so the writer sniffs their format from the magic bytes and writes the bytes to the file
+ * as they are, without decoding them. An image is decoded and re-encoded only if its format differs from the one
+ * requested by the file extension and converting is enabled; otherwise the extension is replaced by the one of the
+ * actual format.
+ * <p>
+ * Writes run on a small pool of writer threads, so the calling flow does not wait for the disk. The number of
+ * queued writes is bounded, a caller submitting a write to a full queue waits until a write completes. The process-wide
+ * writer completes queued writes on exit of the JVM.
+ */
+public class ImageWriter {
+    private static final Logger log = LogManager.getLogger(ImageWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static volatile ImageWriter instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore capacity;
+    private final boolean convert;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder converted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Encoded image formats recognized by their magic bytes.
+     */
+    public enum Format {
+        PNG("png"),
+        JPEG("jpg"),
+        WEBP("webp"),
+        UNKNOWN(null);
+
+        private final String extension;
+
+        Format(final String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Detects the format of the encoded image from its first bytes.
+         *
+         * @param image the encoded image
+         * @return the format, {@link #UNKNOWN} if not recognized
+         */
+        public static Format sniff(final byte[] image) {
+            if (startsWith(image, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return PNG;
+            }
+            if (startsWith(image, 0, 0xFF, 0xD8, 0xFF)) {
+                return JPEG;
+            }
+            if (startsWith(image, 0, 'R', 'I', 'F', 'F') && startsWith(image, 8, 'W', 'E', 'B', 'P')) {
+                return WEBP;
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * Resolves the format requested by the extension of the file name.
+         *
+         * @param fileName the file name
+         * @return the format, {@link #UNKNOWN} if the file name has no recognized extension
+         */
+        public static Format fromFileName(final String fileName) {
+            final int dot = fileName.lastIndexOf('.');
+            final String extension = dot >= 0 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+            return switch (extension) {
+                case "png" -> PNG;
+                case "jpg", "jpeg" -> JPEG;
+                case "webp" -> WEBP;
+                default -> UNKNOWN;
+            };
+        }
+
+        private static boolean startsWith(final byte[] image, final int offset, final int... magic) {
+            if (image.length < offset + magic.length) {
+                return false;
+            }
+            for (int i = 0; i < magic.length; i++) {
+                if ((image[offset + i] & 0xFF) != magic[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Snapshot of the writer counters.
+     *
+     * @param written   number of images written
+     * @param converted number of written images that were decoded and re-encoded
+     * @param failed    number of images that could not be written
+     * @param queued    number of writes queued or running
+     */
+    public record Statistics(long written, long converted, long failed, int queued) {
+    }
+
+    /**
+     * @param threads       the number of writer threads
+     * @param queueCapacity the maximum number of writes queued or running before callers wait
+     * @param convert       whether images should be converted to the format requested by the file extension
+     */
+    public ImageWriter(final int threads, final int queueCapacity, final boolean convert) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon().name("image-writer-", 0).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.capacity = new Semaphore(Math.max(queueCapacity, threads));
+        this.convert = convert;
+    }
+
+    /**
+     * Returns the process-wide writer, creating it with the given settings on the first call.
+     *
+     * @param threads       the number of writer threads
+     * @param queueCapacity the maximum number of writes queued or running before callers wait
+     * @param convert       whether images should be converted to the format requested by the file extension
+     * @return the process-wide writer
+     */
+    public static ImageWriter getInstance(final int threads, final int queueCapacity, final boolean convert) {
+        ImageWriter writer = instance;
+        if (writer == null) {
+            synchronized (ImageWriter.class) {
+                writer = instance;
+                if (writer == null) {
+                    writer = new ImageWriter(threads, queueCapacity, convert);
+                    Runtime.getRuntime().addShutdownHook(new Thread(writer::shutdown, "image-writer-shutdown"));
+                    instance = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Queues the image to be written to the file, waiting only if the queue is full. Failures are logged and
+     * complete the returned future exceptionally.
+     *
+     * @param image the encoded image, must not be modified until the write completes
+     * @param file  the file to write, its extension names the requested format
+     * @return the future completed with the path actually written, which differs from the given one if the
+     * extension was replaced by the one of the actual format
+     * @throws InterruptedIOException if interrupted while waiting for the queue
+     */
+    public CompletableFuture<Path> write(final byte[] image, final Path file) throws InterruptedIOException {
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the image writer queue.");
+        }
+
+        final CompletableFuture<Path> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(writeNow(image, file));
+                    written.increment();
+                } catch (IOException | RuntimeException e) {
+                    failed.increment();
+                    log.error("Failed to write image {}", file, e);
+                    future.completeExceptionally(e);
+                } finally {
+                    capacity.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        return future;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(written.sum(), converted.sum(), failed.sum(), executor.getQueue().size() + executor.getActiveCount());
+    }
+
+    /**
+     * Completes the queued writes and stops the writer threads.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Image writes did not complete in {} s, {} images were not written.", SHUTDOWN_TIMEOUT_SECONDS, executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path writeNow(final byte[] image, final Path file) throws IOException {
+        final Format actual = Format.sniff(image);
+        final Format requested = Format.fromFileName(file.getFileName().toString());
+
+        Path target = file;
+        byte[] bytes = image;
+        if (actual != requested && actual != Format.UNKNOWN && requested != Format.UNKNOWN) {
+            if (convert && requested != Format.WEBP) {
+                bytes = reencode(image, requested);
+                converted.increment();
+            } else {
+                target = withExtension(file, actual.getExtension());
+            }
+        }
+
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        log.debug("Image {} written as {}, {} bytes", target, actual, bytes.length);
+        return target;
+    }
+
+    private static byte[] reencode(final byte[] image, final Format format) throws IOException {
+        final BufferedImage decoded;
+        try (ByteArrayInputStream in = new ByteArrayInputStream(image)) {
+            decoded = ImageIO.read(in);
+        }
+        if (decoded == null) {
+            throw new IOException("Image cannot be decoded.");
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(image.length);
+        if (!ImageIO.write(decoded, format.getExtension(), out)) {
+            throw new IOException("No image writer for format " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private static Path withExtension(final Path file, final String extension) {
+        final String name = file.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        return file.resolveSibling((dot >= 0 ? name.substring(0, dot) : name) + "." + extension);
+    }
+}